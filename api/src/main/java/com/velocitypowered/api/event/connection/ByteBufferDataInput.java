@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.event.connection;
+
+import com.google.common.io.ByteArrayDataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A {@link ByteArrayDataInput} reading directly from a {@link ByteBuffer}, so that plugin message
+ * payloads can be read without copying them into an array first. Like the implementation returned
+ * by {@link com.google.common.io.ByteStreams#newDataInput(byte[])}, reading past the end of the
+ * buffer throws an {@link IllegalStateException} caused by an {@link EOFException}.
+ *
+ * <p>As the buffer may be backed by memory that Velocity releases once the plugin message has been
+ * handled, every read first checks that the memory was not released, and throws an
+ * {@link IllegalStateException} otherwise.
+ */
+final class ByteBufferDataInput implements ByteArrayDataInput {
+
+  static final BooleanSupplier NEVER_RELEASED = () -> false;
+
+  private final ByteBuffer buffer;
+  private final BooleanSupplier released;
+
+  ByteBufferDataInput(ByteBuffer buffer, BooleanSupplier released) {
+    this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    this.released = released;
+  }
+
+  static void checkNotReleased(BooleanSupplier released) {
+    if (released.getAsBoolean()) {
+      throw new IllegalStateException("The plugin message payload was released after the event "
+          + "finished firing; copy it with PluginMessageEvent#getData() to keep it around");
+    }
+  }
+
+  private ByteBuffer buffer() {
+    checkNotReleased(released);
+    return buffer;
+  }
+
+  private static IllegalStateException endOfInput() {
+    return new IllegalStateException(new EOFException());
+  }
+
+  @Override
+  public void readFully(byte[] b) {
+    readFully(b, 0, b.length);
+  }
+
+  @Override
+  public void readFully(byte[] b, int off, int len) {
+    try {
+      buffer().get(b, off, len);
+    } catch (BufferUnderflowException e) {
+      throw endOfInput();
+    }
+  }
+
+  @Override
+  public int skipBytes(int n) {
+    ByteBuffer buffer = buffer();
+    int skipped = Math.max(0, Math.min(n, buffer.remaining()));
+    buffer.position(buffer.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public boolean readBoolean() {
+    return readByte() != 0;
+  }
+
+  @Override
+  public byte readByte() {
+    try {
+      return buffer().get();
+    } catch (BufferUnderflowException e) {
+      throw endOfInput();
+    }
+  }
+
+  @Override
+  public int readUnsignedByte() {
+    return readByte() & 0xFF;
+  }
+
+  @Override
+  public short readShort() {
+    try {
+      return buffer().getShort();
+    } catch (BufferUnderflowException e) {
+      throw endOfInput();
+    }
+  }
+
+  @Override
+  public int readUnsignedShort() {
+    return readShort() & 0xFFFF;
+  }
+
+  @Override
+  public char readChar() {
+    return (char) readShort();
+  }
+
+  @Override
+  public int readInt() {
+    try {
+      return buffer().getInt();
+    } catch (BufferUnderflowException e) {
+      throw endOfInput();
+    }
+  }
+
+  @Override
+  public long readLong() {
+    try {
+      return buffer().getLong();
+    } catch (BufferUnderflowException e) {
+      throw endOfInput();
+    }
+  }
+
+  @Override
+  public float readFloat() {
+    return Float.intBitsToFloat(readInt());
+  }
+
+  @Override
+  public double readDouble() {
+    return Double.longBitsToDouble(readLong());
+  }
+
+  @Override
+  public String readLine() {
+    ByteBuffer buffer = buffer();
+    if (!buffer.hasRemaining()) {
+      return null;
+    }
+    StringBuilder line = new StringBuilder();
+    while (buffer.hasRemaining()) {
+      char c = (char) (buffer.get() & 0xFF);
+      if (c == '\n') {
+        break;
+      }
+      if (c == '\r') {
+        if (buffer.hasRemaining() && buffer.get(buffer.position()) == '\n') {
+          buffer.get();
+        }
+        break;
+      }
+      line.append(c);
+    }
+    return line.toString();
+  }
+
+  @Override
+  public String readUTF() {
+    try {
+      return DataInputStream.readUTF(this);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -9,7 +9,6 @@ package com.velocitypowered.api.event.connection;
 
 import com.google.common.base.Preconditions;
 import com.google.common.io.ByteArrayDataInput;
-import com.google.common.io.ByteStreams;
 import com.velocitypowered.api.event.ResultedEvent;
 import com.velocitypowered.api.event.annotation.AwaitingEvent;
 import com.velocitypowered.api.proxy.Player;
@@ -18,12 +17,20 @@ import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
 import com.velocitypowered.api.proxy.messages.ChannelMessageSink;
 import com.velocitypowered.api.proxy.messages.ChannelMessageSource;
 import java.io.ByteArrayInputStream;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.util.function.BooleanSupplier;
 
 /**
  * This event is fired when a plugin message is sent to the proxy, either from a client ({@link
  * Player}) or a server ({@link ServerConnection}). Velocity will wait on this event to finish
  * firing before discarding the sent plugin message (if handled) or forwarding it to the server.
+ *
+ * <p>The payload of the message is not copied for this event. {@link #dataAsDataStream()} reads
+ * it in place, but only while the event is firing: once Velocity has released the message, reading
+ * from the stream throws an {@link IllegalStateException}. The other accessors copy the payload the
+ * first time one of them is called, and their results remain valid afterwards. Call one of them
+ * while the event is firing to keep the payload around, or to hand it to another thread that may
+ * outlive the event.
  */
 @AwaitingEvent
 public final class PluginMessageEvent implements ResultedEvent<PluginMessageEvent.ForwardResult> {
@@ -31,7 +38,9 @@ public final class PluginMessageEvent implements ResultedEvent<PluginMessageEven
   private final ChannelMessageSource source;
   private final ChannelMessageSink target;
   private final ChannelIdentifier identifier;
-  private final byte[] data;
+  private final ByteBuffer data;
+  private final BooleanSupplier released;
+  private volatile byte[] array;
   private ForwardResult result;
 
   /**
@@ -44,10 +53,30 @@ public final class PluginMessageEvent implements ResultedEvent<PluginMessageEven
    */
   public PluginMessageEvent(ChannelMessageSource source, ChannelMessageSink target,
       ChannelIdentifier identifier, byte[] data) {
+    this(source, target, identifier, ByteBuffer.wrap(Preconditions.checkNotNull(data, "data")),
+        ByteBufferDataInput.NEVER_RELEASED);
+    this.array = data;
+  }
+
+  /**
+   * Creates a new instance. The remaining bytes of {@code data} are used as the payload without
+   * being copied. Once {@code released} returns {@code true}, the buffer may be freed or reused,
+   * and the payload can no longer be read from it.
+   *
+   * @param source the source of the plugin message
+   * @param target the destination of the plugin message
+   * @param identifier the channel for this plugin message
+   * @param data the payload of the plugin message
+   * @param released whether the memory backing {@code data} was released
+   * @since 3.4.0
+   */
+  public PluginMessageEvent(ChannelMessageSource source, ChannelMessageSink target,
+      ChannelIdentifier identifier, ByteBuffer data, BooleanSupplier released) {
     this.source = Preconditions.checkNotNull(source, "source");
     this.target = Preconditions.checkNotNull(target, "target");
     this.identifier = Preconditions.checkNotNull(identifier, "identifier");
-    this.data = Preconditions.checkNotNull(data, "data");
+    this.data = Preconditions.checkNotNull(data, "data").slice().asReadOnlyBuffer();
+    this.released = Preconditions.checkNotNull(released, "released");
     this.result = ForwardResult.forward();
   }
 
@@ -73,16 +102,76 @@ public final class PluginMessageEvent implements ResultedEvent<PluginMessageEven
     return identifier;
   }
 
+  private byte[] array() {
+    byte[] array = this.array;
+    if (array == null) {
+      array = new byte[data.remaining()];
+      ByteBufferDataInput.checkNotReleased(released);
+      data.duplicate().get(array);
+      this.array = array;
+    }
+    return array;
+  }
+
+  /**
+   * Returns a copy of the payload of the plugin message.
+   *
+   * @return a copy of the payload
+   * @throws IllegalStateException if the payload was released before it was ever copied
+   */
   public byte[] getData() {
-    return Arrays.copyOf(data, data.length);
+    return array().clone();
   }
 
+  /**
+   * Returns the length of the payload of the plugin message.
+   *
+   * @return the length of the payload in bytes
+   * @since 3.4.0
+   */
+  public int getDataLength() {
+    return data.remaining();
+  }
+
+  /**
+   * Returns a read-only view of the payload of the plugin message. The payload is copied the first
+   * time it is accessed this way, and the copy is shared by every view. Each call returns a new
+   * view with its own position, so the views can be read independently of each other.
+   *
+   * @return a read-only view of the payload
+   * @throws IllegalStateException if the payload was released before it was ever copied
+   * @since 3.4.0
+   */
+  public ByteBuffer dataAsReadOnlyBuffer() {
+    return ByteBuffer.wrap(array()).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns a stream reading the payload of the plugin message.
+   *
+   * @return a stream reading the payload
+   * @throws IllegalStateException if the payload was released before it was ever copied
+   */
   public ByteArrayInputStream dataAsInputStream() {
-    return new ByteArrayInputStream(data);
+    return new ByteArrayInputStream(array());
   }
 
+  /**
+   * Returns a data input reading the payload of the plugin message. Unless the payload was
+   * already copied by one of the other accessors, it is read in place, so the data input must only
+   * be used while the event is firing.
+   *
+   * @return a data input reading the payload
+   * @throws IllegalStateException if the payload was released before it was ever copied, or when
+   *     reading from the data input once the payload was released
+   */
   public ByteArrayDataInput dataAsDataStream() {
-    return ByteStreams.newDataInput(data);
+    byte[] array = this.array;
+    if (array != null) {
+      return new ByteBufferDataInput(ByteBuffer.wrap(array), ByteBufferDataInput.NEVER_RELEASED);
+    }
+    ByteBufferDataInput.checkNotReleased(released);
+    return new ByteBufferDataInput(data, released);
   }
 
   @Override
@@ -91,7 +180,7 @@ public final class PluginMessageEvent implements ResultedEvent<PluginMessageEven
         + "source=" + source
         + ", target=" + target
         + ", identifier=" + identifier
-        + ", data=" + Arrays.toString(data)
+        + ", dataLength=" + data.remaining()
         + ", result=" + result
         + '}';
   }
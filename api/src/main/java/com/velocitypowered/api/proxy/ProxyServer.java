@@ -13,6 +13,7 @@ import com.velocitypowered.api.event.EventManager;
 import com.velocitypowered.api.plugin.PluginManager;
 import com.velocitypowered.api.proxy.config.ProxyConfig;
 import com.velocitypowered.api.proxy.messages.ChannelRegistrar;
+import com.velocitypowered.api.proxy.metrics.ProxyMetrics;
 import com.velocitypowered.api.proxy.player.ResourcePackInfo;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
@@ -201,6 +202,17 @@ public interface ProxyServer extends Audience {
    */
   ProxyVersion getVersion();
 
+  /**
+   * Gets the {@link ProxyMetrics} instance, which provides metrics about the network traffic
+   * handled by the proxy. Proxies that don't collect metrics return {@link ProxyMetrics#EMPTY}.
+   *
+   * @return the proxy metrics
+   * @since 3.4.0
+   */
+  default ProxyMetrics getMetrics() {
+    return ProxyMetrics.EMPTY;
+  }
+
   /**
    * Creates a builder to build a {@link ResourcePackInfo} instance for use with
    * {@link com.velocitypowered.api.proxy.Player#sendResourcePackOffer(ResourcePackInfo)}.
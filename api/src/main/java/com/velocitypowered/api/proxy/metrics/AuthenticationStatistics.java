@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.metrics;
+
+/**
+ * Statistics about the requests the proxy makes to the session server to authenticate players in
+ * online mode.
+ *
+ * @param requests the number of requests sent to the session server
+ * @param failures the number of requests that failed for a reason other than a timeout
+ * @param timeouts the number of requests that timed out, either while waiting to be sent or while
+ *                 waiting for a response
+ * @param rejected the number of requests rejected because too many requests were already waiting
+ *                 to be sent
+ * @param nanos the total time spent waiting for responses from the session server, in nanoseconds
+ * @param inFlight the number of requests currently waiting for a response
+ * @param queued the number of requests currently waiting to be sent
+ * @since 3.4.0
+ */
+public record AuthenticationStatistics(long requests, long failures, long timeouts, long rejected,
+                                       long nanos, int inFlight, int queued) {
+}
@@ -0,0 +1,20 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.metrics;
+
+/**
+ * Statistics about a cache kept by the proxy.
+ *
+ * @param hits the number of lookups that found a cached entry
+ * @param misses the number of lookups that did not find a cached entry
+ * @param entries the number of entries currently cached
+ * @param bytes the approximate memory used by the cached entries, in bytes
+ * @since 3.4.0
+ */
+public record CacheStatistics(long hits, long misses, long entries, long bytes) {
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.metrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metrics for proxies that don't collect any, with every value empty or zero.
+ */
+final class EmptyProxyMetrics implements ProxyMetrics {
+
+  static final EmptyProxyMetrics INSTANCE = new EmptyProxyMetrics();
+
+  private static final ProcessingStatistics PROCESSING = new ProcessingStatistics(0, 0, 0, 0);
+
+  private EmptyProxyMetrics() {
+  }
+
+  @Override
+  public Collection<PacketTraffic> getPacketTraffic() {
+    return List.of();
+  }
+
+  @Override
+  public Map<String, Traffic> getServerTraffic() {
+    return Map.of();
+  }
+
+  @Override
+  public ProcessingStatistics getCompression() {
+    return PROCESSING;
+  }
+
+  @Override
+  public ProcessingStatistics getDecompression() {
+    return PROCESSING;
+  }
+
+  @Override
+  public ProcessingStatistics getEncryption() {
+    return PROCESSING;
+  }
+
+  @Override
+  public ProcessingStatistics getDecryption() {
+    return PROCESSING;
+  }
+
+  @Override
+  public AuthenticationStatistics getAuthentication() {
+    return new AuthenticationStatistics(0, 0, 0, 0, 0, 0, 0);
+  }
+
+  @Override
+  public ExecutorStatistics getLoginCrypto() {
+    return new ExecutorStatistics(0, 0, 0, 0, 0, 0);
+  }
+
+  @Override
+  public CacheStatistics getConfigurationDataCache() {
+    return new CacheStatistics(0, 0, 0, 0);
+  }
+
+  @Override
+  public List<Integer> getEventLoopQueueDepths() {
+    return List.of();
+  }
+
+  @Override
+  public long getBackendFlushes() {
+    return 0;
+  }
+
+  @Override
+  public long getBackendBatchLimitFlushes() {
+    return 0;
+  }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.metrics;
+
+/**
+ * Statistics about a pool of threads the proxy hands work off to.
+ *
+ * @param completed the number of tasks that finished running
+ * @param rejected the number of tasks rejected because too many tasks were already waiting
+ * @param waitNanos the total time tasks spent waiting to run, in nanoseconds
+ * @param runNanos the total time spent running tasks, in nanoseconds
+ * @param queued the number of tasks currently waiting to run
+ * @param active the number of tasks currently running
+ * @since 3.4.0
+ */
+public record ExecutorStatistics(long completed, long rejected, long waitNanos, long runNanos,
+                                 int queued, int active) {
+}
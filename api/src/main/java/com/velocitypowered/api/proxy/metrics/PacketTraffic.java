@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.metrics;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.api.network.ProtocolState;
+
+/**
+ * The traffic of a single packet type. As packet IDs differ between protocol versions, the
+ * traffic of all protocol versions sharing a packet ID is combined.
+ *
+ * @param direction the direction the packet is bound to
+ * @param state the protocol state the packet belongs to
+ * @param packetId the ID of the packet
+ * @param traffic the traffic of the packet
+ * @since 3.4.0
+ */
+public record PacketTraffic(Direction direction, ProtocolState state, int packetId,
+                            Traffic traffic) {
+
+  /**
+   * Creates a new packet traffic entry.
+   */
+  public PacketTraffic {
+    Preconditions.checkNotNull(direction, "direction");
+    Preconditions.checkNotNull(state, "state");
+    Preconditions.checkNotNull(traffic, "traffic");
+  }
+
+  /**
+   * The direction a packet is bound to. Serverbound packets are received from players and sent to
+   * backend servers, while clientbound packets are received from backend servers and sent to
+   * players.
+   */
+  public enum Direction {
+    SERVERBOUND,
+    CLIENTBOUND
+  }
+}
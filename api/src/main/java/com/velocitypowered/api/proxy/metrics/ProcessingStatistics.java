@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.metrics;
+
+/**
+ * Statistics about an operation the proxy applies to the packets it handles, such as compression
+ * or encryption.
+ *
+ * @param operations the number of times the operation was performed
+ * @param bytesIn the combined size of the input of the operation
+ * @param bytesOut the combined size of the output of the operation
+ * @param nanos the total time spent performing the operation, in nanoseconds
+ * @since 3.4.0
+ */
+public record ProcessingStatistics(long operations, long bytesIn, long bytesOut, long nanos) {
+
+  /**
+   * Returns the ratio between the size of the output and the input of the operation. For
+   * compression, this is the compression ratio.
+   *
+   * @return the ratio between the output and input sizes, or {@code 0} if no input was processed
+   */
+  public double ratio() {
+    return bytesIn == 0 ? 0 : (double) bytesOut / bytesIn;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.metrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provides metrics about the network traffic handled by the proxy. All values are counted from
+ * the moment the proxy started, and each method returns a snapshot of the current values.
+ *
+ * @since 3.4.0
+ */
+public interface ProxyMetrics {
+
+  /**
+   * Metrics for proxies that don't collect any, with every value empty or zero.
+   */
+  ProxyMetrics EMPTY = EmptyProxyMetrics.INSTANCE;
+
+  /**
+   * Returns the traffic of every packet type the proxy has received or sent. Packets are only
+   * counted while traffic metrics are enabled in the proxy configuration.
+   *
+   * @return the traffic per packet type
+   */
+  Collection<PacketTraffic> getPacketTraffic();
+
+  /**
+   * Returns the traffic between the proxy and each backend server, keyed by the name of the
+   * server. Packets are only counted while traffic metrics are enabled in the proxy
+   * configuration.
+   *
+   * @return the traffic per backend server
+   */
+  Map<String, Traffic> getServerTraffic();
+
+  /**
+   * Returns statistics about the packets compressed by the proxy.
+   *
+   * @return the compression statistics
+   */
+  ProcessingStatistics getCompression();
+
+  /**
+   * Returns statistics about the packets decompressed by the proxy.
+   *
+   * @return the decompression statistics
+   */
+  ProcessingStatistics getDecompression();
+
+  /**
+   * Returns statistics about the data encrypted by the proxy.
+   *
+   * @return the encryption statistics
+   */
+  ProcessingStatistics getEncryption();
+
+  /**
+   * Returns statistics about the data decrypted by the proxy.
+   *
+   * @return the decryption statistics
+   */
+  ProcessingStatistics getDecryption();
+
+  /**
+   * Returns statistics about the requests made to the session server to authenticate players.
+   *
+   * @return the authentication statistics
+   */
+  AuthenticationStatistics getAuthentication();
+
+  /**
+   * Returns statistics about the threads decrypting the shared secrets sent by players logging in
+   * to online-mode proxies.
+   *
+   * @return the login cryptography statistics
+   */
+  ExecutorStatistics getLoginCrypto();
+
+  /**
+   * Returns statistics about the cache of compressed registry and tag data sent by backend servers
+   * to players entering the configuration phase.
+   *
+   * @return the configuration data cache statistics
+   */
+  CacheStatistics getConfigurationDataCache();
+
+  /**
+   * Returns the number of tasks waiting to be run by each of the proxy's network threads. A
+   * consistently high number indicates the thread is saturated.
+   *
+   * @return the number of pending tasks per network thread
+   */
+  List<Integer> getEventLoopQueueDepths();
+
+  /**
+   * Returns the number of times packets forwarded from backend servers to players were flushed.
+   *
+   * @return the number of flushes
+   */
+  long getBackendFlushes();
+
+  /**
+   * Returns the number of times packets forwarded from backend servers to players were flushed
+   * because the maximum number of packets per flush was reached, rather than because the backend
+   * server had no more data to read.
+   *
+   * @return the number of flushes caused by the maximum number of packets per flush
+   */
+  long getBackendBatchLimitFlushes();
+}
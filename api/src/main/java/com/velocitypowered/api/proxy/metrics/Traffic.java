@@ -0,0 +1,22 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.metrics;
+
+/**
+ * The number of packets, and their combined size, received and sent by the proxy. Sizes are
+ * measured before compression and encryption are applied.
+ *
+ * @param packetsReceived the number of packets received by the proxy
+ * @param bytesReceived the combined size of the packets received by the proxy
+ * @param packetsSent the number of packets sent by the proxy
+ * @param bytesSent the combined size of the packets sent by the proxy
+ * @since 3.4.0
+ */
+public record Traffic(long packetsReceived, long bytesReceived, long packetsSent,
+                      long bytesSent) {
+}
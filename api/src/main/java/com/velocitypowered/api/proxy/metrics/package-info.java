@@ -0,0 +1,11 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+/**
+ * Provides access to the network metrics collected by the proxy.
+ */
+package com.velocitypowered.api.proxy.metrics;
@@ -33,4 +33,15 @@ public interface ScheduledTask {
    * interrupted. If the task is not currently running, Velocity will terminate it safely.
    */
   void cancel();
+
+  /**
+   * Returns statistics about the runs of this task so far. Implementations that do not record
+   * statistics return {@link TaskStatistics#EMPTY}.
+   *
+   * @return the statistics of this task
+   * @since 3.4.0
+   */
+  default TaskStatistics statistics() {
+    return TaskStatistics.EMPTY;
+  }
 }
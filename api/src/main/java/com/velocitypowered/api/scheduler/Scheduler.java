@@ -45,6 +45,19 @@ public interface Scheduler {
    */
   @NotNull Collection<ScheduledTask> tasksByPlugin(@NotNull Object plugin);
 
+  /**
+   * Returns statistics about the runs of all tasks scheduled by a plugin, including the tasks
+   * that have already finished or were cancelled. Implementations that do not record statistics
+   * return {@link TaskStatistics#EMPTY}.
+   *
+   * @param plugin the plugin object
+   * @return the statistics of the tasks of the plugin
+   * @since 3.4.0
+   */
+  default @NotNull TaskStatistics statistics(@NotNull Object plugin) {
+    return TaskStatistics.EMPTY;
+  }
+
   /**
    * Represents a fluent interface to schedule tasks on the proxy.
    */
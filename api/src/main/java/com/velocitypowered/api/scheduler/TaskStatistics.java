@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.scheduler;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Statistics about the runs of scheduled tasks.
+ *
+ * <p>Run times are recorded in a histogram with exponentially growing buckets: bucket {@code 0}
+ * counts the runs that took less than a microsecond, and bucket {@code i} counts the runs that
+ * took at least 2<sup>i-1</sup> but less than 2<sup>i</sup> microseconds. The last bucket also
+ * counts all runs longer than that.
+ *
+ * @param runs the number of completed runs
+ * @param overruns the number of times a repeating task was still running when it was due to run
+ *     again, in which case that run was skipped
+ * @param totalRunTime the total time spent running the tasks
+ * @param maxRunTime the run time of the longest run
+ * @param runTimeHistogram the number of runs in each bucket of the run time histogram
+ * @since 3.4.0
+ */
+public record TaskStatistics(long runs, long overruns, Duration totalRunTime, Duration maxRunTime,
+    List<Long> runTimeHistogram) {
+
+  /**
+   * The number of buckets in the run time histogram.
+   */
+  public static final int HISTOGRAM_BUCKETS = 32;
+
+  /**
+   * Statistics for tasks that have not run yet.
+   */
+  public static final TaskStatistics EMPTY = new TaskStatistics(0, 0, Duration.ZERO,
+      Duration.ZERO, Collections.nCopies(HISTOGRAM_BUCKETS, 0L));
+
+  /**
+   * Creates new task statistics.
+   *
+   * @param runs the number of completed runs
+   * @param overruns the number of skipped runs of a repeating task
+   * @param totalRunTime the total time spent running the tasks
+   * @param maxRunTime the run time of the longest run
+   * @param runTimeHistogram the number of runs in each bucket of the run time histogram
+   */
+  public TaskStatistics {
+    runTimeHistogram = List.copyOf(runTimeHistogram);
+  }
+
+  /**
+   * Returns the average time a run took.
+   *
+   * @return the average run time
+   */
+  public Duration averageRunTime() {
+    return runs == 0 ? Duration.ZERO : totalRunTime.dividedBy(runs);
+  }
+
+  /**
+   * Estimates the run time at the given percentile from the histogram. The estimate is the upper
+   * bound of the bucket containing the percentile, so it may be up to twice the actual value.
+   * Empty buckets never contain a percentile, so the {@code 0} percentile is the bound of the
+   * fastest bucket with any runs.
+   *
+   * @param percentile the percentile, between {@code 0} and {@code 1}
+   * @return the estimated run time at the percentile
+   */
+  public Duration runTimePercentile(double percentile) {
+    if (percentile < 0 || percentile > 1) {
+      throw new IllegalArgumentException("percentile must be between 0 and 1");
+    }
+    long total = 0;
+    for (long count : runTimeHistogram) {
+      total += count;
+    }
+    if (total == 0) {
+      return Duration.ZERO;
+    }
+    long target = Math.max(1, (long) Math.ceil(percentile * total));
+    long seen = 0;
+    for (int i = 0; i < runTimeHistogram.size() - 1; i++) {
+      seen += runTimeHistogram.get(i);
+      if (seen >= target) {
+        return Duration.ofNanos(1000L << i);
+      }
+    }
+    return maxRunTime;
+  }
+}
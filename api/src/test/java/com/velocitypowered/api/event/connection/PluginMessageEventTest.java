@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.event.connection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
+import com.velocitypowered.api.proxy.messages.ChannelMessageSink;
+import com.velocitypowered.api.proxy.messages.ChannelMessageSource;
+import com.velocitypowered.api.proxy.messages.MinecraftChannelIdentifier;
+import com.velocitypowered.api.proxy.messages.PluginMessageEncoder;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class PluginMessageEventTest {
+
+  private static final ChannelIdentifier CHANNEL = MinecraftChannelIdentifier.create("test",
+      "channel");
+  private static final ChannelMessageSource SOURCE = new ChannelMessageSource() {
+  };
+  private static final ChannelMessageSink TARGET = new ChannelMessageSink() {
+    @Override
+    public boolean sendPluginMessage(ChannelIdentifier identifier, byte[] data) {
+      return false;
+    }
+
+    @Override
+    public boolean sendPluginMessage(ChannelIdentifier identifier,
+        PluginMessageEncoder dataEncoder) {
+      return false;
+    }
+  };
+
+  private static byte[] samplePayload() {
+    ByteArrayDataOutput output = ByteStreams.newDataOutput();
+    output.writeUTF("Connect");
+    output.writeBoolean(true);
+    output.writeShort(-2);
+    output.writeChar('v');
+    output.writeInt(25_565);
+    output.writeLong(Long.MIN_VALUE + 1);
+    output.writeFloat(1.5F);
+    output.writeDouble(-0.25);
+    output.writeBytes("first\r\nsecond");
+    return output.toByteArray();
+  }
+
+  @Test
+  void dataStreamMatchesGuava() {
+    byte[] payload = samplePayload();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(payload.length + 4);
+    buffer.putInt(0xCAFEBABE).put(payload).flip().position(4);
+    PluginMessageEvent event = new PluginMessageEvent(SOURCE, TARGET, CHANNEL, buffer,
+        () -> false);
+
+    ByteArrayDataInput expected = ByteStreams.newDataInput(payload);
+    ByteArrayDataInput actual = event.dataAsDataStream();
+    assertEquals(expected.readUTF(), actual.readUTF());
+    assertEquals(expected.readBoolean(), actual.readBoolean());
+    assertEquals(expected.readShort(), actual.readShort());
+    assertEquals(expected.readChar(), actual.readChar());
+    assertEquals(expected.readInt(), actual.readInt());
+    assertEquals(expected.readLong(), actual.readLong());
+    assertEquals(expected.readFloat(), actual.readFloat());
+    assertEquals(expected.readDouble(), actual.readDouble());
+    assertEquals("first", actual.readLine());
+    assertEquals("second", actual.readLine());
+    assertNull(actual.readLine());
+
+    IllegalStateException exception = assertThrows(IllegalStateException.class,
+        actual::readByte);
+    assertInstanceOf(EOFException.class, exception.getCause());
+  }
+
+  @Test
+  void readsPayloadInPlaceUntilReleased() {
+    byte[] payload = samplePayload();
+    ByteBuffer buffer = ByteBuffer.wrap(payload);
+    AtomicBoolean released = new AtomicBoolean();
+    PluginMessageEvent event = new PluginMessageEvent(SOURCE, TARGET, CHANNEL, buffer,
+        released::get);
+    assertEquals(payload.length, event.getDataLength());
+
+    ByteArrayDataInput stream = event.dataAsDataStream();
+    assertEquals("Connect", stream.readUTF());
+    // The stream reads the payload in place.
+    payload[buffer.position() + 9] = 0;
+    assertFalse(stream.readBoolean());
+
+    released.set(true);
+    assertThrows(IllegalStateException.class, stream::readShort);
+    assertThrows(IllegalStateException.class, event::dataAsDataStream);
+    assertThrows(IllegalStateException.class, event::getData);
+    assertThrows(IllegalStateException.class, event::dataAsReadOnlyBuffer);
+  }
+
+  @Test
+  void keepsCopiedPayloadAfterRelease() {
+    byte[] payload = samplePayload();
+    AtomicBoolean released = new AtomicBoolean();
+    PluginMessageEvent event = new PluginMessageEvent(SOURCE, TARGET, CHANNEL,
+        ByteBuffer.wrap(payload.clone()), released::get);
+
+    ByteBuffer view = event.dataAsReadOnlyBuffer();
+    assertTrue(view.isReadOnly());
+    assertThrows(ReadOnlyBufferException.class, () -> view.put(0, (byte) 1));
+    released.set(true);
+
+    // Views are independent of each other and remain readable once the payload was copied.
+    view.getInt();
+    assertEquals(0, event.dataAsReadOnlyBuffer().position());
+    assertArrayEquals(payload, event.getData());
+    assertEquals("Connect", event.dataAsDataStream().readUTF());
+  }
+
+  @Test
+  void copiesData() {
+    byte[] payload = samplePayload();
+    PluginMessageEvent event = new PluginMessageEvent(SOURCE, TARGET, CHANNEL, payload);
+    byte[] data = event.getData();
+    assertArrayEquals(payload, data);
+    data[0] = 42;
+    assertFalse(event.getData()[0] == 42);
+    assertArrayEquals(payload, event.dataAsInputStream().readAllBytes());
+  }
+}
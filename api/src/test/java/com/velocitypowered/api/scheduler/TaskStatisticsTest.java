@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+
+package com.velocitypowered.api.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TaskStatisticsTest {
+
+  @Test
+  void estimatesPercentilesFromNonEmptyBuckets() {
+    List<Long> histogram = new ArrayList<>(
+        Collections.nCopies(TaskStatistics.HISTOGRAM_BUCKETS, 0L));
+    histogram.set(3, 9L);
+    histogram.set(5, 1L);
+    TaskStatistics statistics = new TaskStatistics(10, 0, Duration.ofMillis(1),
+        Duration.ofNanos(30_000), histogram);
+
+    assertEquals(Duration.ofNanos(8_000), statistics.runTimePercentile(0));
+    assertEquals(Duration.ofNanos(8_000), statistics.runTimePercentile(0.9));
+    assertEquals(Duration.ofNanos(32_000), statistics.runTimePercentile(1));
+  }
+
+  @Test
+  void emptyStatisticsHaveNoRunTime() {
+    assertEquals(Duration.ZERO, TaskStatistics.EMPTY.runTimePercentile(0));
+    assertEquals(Duration.ZERO, TaskStatistics.EMPTY.runTimePercentile(0.99));
+  }
+}
@@ -0,0 +1,18 @@
+plugins {
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmhImplementation(project(":velocity-api"))
+    jmhImplementation(project(":velocity-native"))
+    jmhImplementation(project(":velocity-proxy"))
+    jmhImplementation(libs.netty.handler)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+
+    // Allow a subset of the benchmarks to be selected, i.e. -Pjmh.includes=Compression
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.benchmarks;
+
+import com.velocitypowered.natives.encryption.JavaVelocityCipher;
+import com.velocitypowered.natives.encryption.VelocityCipherFactory;
+import com.velocitypowered.natives.util.Natives;
+import com.velocitypowered.proxy.protocol.netty.MinecraftCipherDecoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftCipherEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.security.GeneralSecurityException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link MinecraftCipherEncoder} and {@link MinecraftCipherDecoder} with each available
+ * {@link com.velocitypowered.natives.encryption.VelocityCipher}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CipherBenchmark {
+
+  @Param({"java", "native"})
+  private String cipher;
+
+  @Param
+  private PacketCorpus corpus;
+
+  private ByteBuf frame;
+  private EmbeddedChannel encoder;
+  private EmbeddedChannel decoder;
+
+  /**
+   * Prepares the encoder, the decoder and their input.
+   *
+   * @throws GeneralSecurityException if the ciphers can not be created
+   */
+  @Setup
+  public void setup() throws GeneralSecurityException {
+    VelocityCipherFactory factory = switch (cipher) {
+      case "java" -> JavaVelocityCipher.FACTORY;
+      case "native" -> {
+        if (Natives.cipher.get() == JavaVelocityCipher.FACTORY) {
+          throw new IllegalStateException("Native encryption is not available on this system");
+        }
+        yield Natives.cipher.get();
+      }
+      default -> throw new IllegalArgumentException("Unknown cipher " + cipher);
+    };
+
+    byte[] secret = new byte[16];
+    new Random(1).nextBytes(secret);
+    SecretKey key = new SecretKeySpec(secret, "AES");
+
+    ByteBuf packet = corpus.create();
+    ByteBuf framed = PacketCorpus.frame(packet);
+    frame = Unpooled.directBuffer(framed.readableBytes()).writeBytes(framed);
+    packet.release();
+    framed.release();
+
+    encoder = new EmbeddedChannel(new MinecraftCipherEncoder(factory.forEncryption(key)));
+    decoder = new EmbeddedChannel(new MinecraftCipherDecoder(factory.forDecryption(key)));
+  }
+
+  /**
+   * Releases the input and shuts down the encoder and decoder.
+   */
+  @TearDown
+  public void tearDown() {
+    frame.release();
+    encoder.finishAndReleaseAll();
+    decoder.finishAndReleaseAll();
+  }
+
+  /**
+   * Encrypts a single frame. The cipher operates in place, so a copy of the frame is encrypted.
+   *
+   * @return the size of the encrypted frame
+   */
+  @Benchmark
+  public int encrypt() {
+    encoder.writeOutbound(frame.copy());
+    ByteBuf encrypted = encoder.readOutbound();
+    int size = encrypted.readableBytes();
+    encrypted.release();
+    return size;
+  }
+
+  /**
+   * Decrypts a single frame. The cipher operates in place, so a copy of the frame is decrypted.
+   *
+   * @return the size of the decrypted frame
+   */
+  @Benchmark
+  public int decrypt() {
+    decoder.writeInbound(frame.copy());
+    ByteBuf decrypted = decoder.readInbound();
+    int size = decrypted.readableBytes();
+    decrypted.release();
+    return size;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.benchmarks;
+
+import com.velocitypowered.natives.compression.JavaVelocityCompressor;
+import com.velocitypowered.natives.compression.VelocityCompressorFactory;
+import com.velocitypowered.natives.util.Natives;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.netty.MinecraftCompressDecoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftCompressorAndLengthEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link MinecraftCompressorAndLengthEncoder} and {@link MinecraftCompressDecoder} with
+ * each available {@link com.velocitypowered.natives.compression.VelocityCompressor}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+  // The default compression threshold in velocity.toml
+  private static final int THRESHOLD = 256;
+
+  @Param({"java", "native"})
+  private String compressor;
+
+  @Param({"1", "4", "6", "9"})
+  private int level;
+
+  @Param
+  private PacketCorpus corpus;
+
+  private ByteBuf packet;
+  private ByteBuf compressed;
+  private EmbeddedChannel encoder;
+  private EmbeddedChannel decoder;
+
+  /**
+   * Prepares the encoder, the decoder and their input.
+   */
+  @Setup
+  public void setup() {
+    VelocityCompressorFactory factory = switch (compressor) {
+      case "java" -> JavaVelocityCompressor.FACTORY;
+      case "native" -> {
+        if (Natives.compress.get() == JavaVelocityCompressor.FACTORY) {
+          throw new IllegalStateException("Native compression is not available on this system");
+        }
+        yield Natives.compress.get();
+      }
+      default -> throw new IllegalArgumentException("Unknown compressor " + compressor);
+    };
+
+    ByteBuf generated = corpus.create();
+    packet = Unpooled.directBuffer(generated.readableBytes()).writeBytes(generated);
+    generated.release();
+
+    encoder = new EmbeddedChannel(
+        new MinecraftCompressorAndLengthEncoder(THRESHOLD, factory.create(level)));
+    decoder = new EmbeddedChannel(
+        new MinecraftCompressDecoder(THRESHOLD, factory.create(level)));
+
+    // The decoder receives frames without their length prefix
+    encoder.writeOutbound(packet.retainedDuplicate());
+    ByteBuf frame = encoder.readOutbound();
+    ProtocolUtils.readVarInt(frame);
+    compressed = Unpooled.directBuffer(frame.readableBytes()).writeBytes(frame);
+    frame.release();
+  }
+
+  /**
+   * Releases the input and shuts down the encoder and decoder.
+   */
+  @TearDown
+  public void tearDown() {
+    packet.release();
+    compressed.release();
+    encoder.finishAndReleaseAll();
+    decoder.finishAndReleaseAll();
+  }
+
+  /**
+   * Compresses and frames a single packet.
+   *
+   * @return the size of the frame
+   */
+  @Benchmark
+  public int compress() {
+    encoder.writeOutbound(packet.retainedDuplicate());
+    ByteBuf frame = encoder.readOutbound();
+    int size = frame.readableBytes();
+    frame.release();
+    return size;
+  }
+
+  /**
+   * Decompresses a single frame.
+   *
+   * @return the size of the packet
+   */
+  @Benchmark
+  public int decompress() {
+    decoder.writeInbound(compressed.retainedDuplicate());
+    ByteBuf decompressed = decoder.readInbound();
+    int size = decompressed.readableBytes();
+    decompressed.release();
+    return size;
+  }
+}
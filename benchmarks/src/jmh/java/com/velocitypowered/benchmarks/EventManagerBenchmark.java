@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.benchmarks;
+
+import com.velocitypowered.api.event.EventTask;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.plugin.PluginContainer;
+import com.velocitypowered.api.plugin.PluginDescription;
+import com.velocitypowered.api.plugin.PluginManager;
+import com.velocitypowered.proxy.event.VelocityEventManager;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks firing an event through {@link VelocityEventManager}.
+ *
+ * <p>The {@code SYNCHRONOUS} listeners only have {@code void} handlers, which take the
+ * synchronous dispatch path. The {@code EVENT_TASK} listeners do the same work, but declare an
+ * {@link EventTask} return type, which forces every event through the general path that tracks a
+ * future and continuations. Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventManagerBenchmark {
+
+  /**
+   * The shapes of listener that can be registered.
+   */
+  public enum ListenerKind {
+    SYNCHRONOUS,
+    EVENT_TASK
+  }
+
+  @Param({"SYNCHRONOUS", "EVENT_TASK"})
+  private ListenerKind kind;
+
+  @Param({"1", "4"})
+  private int listeners;
+
+  private BenchmarkPluginManager pluginManager;
+  private VelocityEventManager eventManager;
+  private BenchmarkEvent event;
+
+  /**
+   * Registers the listeners.
+   */
+  @Setup
+  public void setup() {
+    pluginManager = new BenchmarkPluginManager();
+    eventManager = new VelocityEventManager(pluginManager);
+    for (int i = 0; i < listeners; i++) {
+      eventManager.register(BenchmarkPluginManager.PLUGIN,
+          kind == ListenerKind.SYNCHRONOUS ? new SynchronousListener() : new EventTaskListener());
+    }
+    event = new BenchmarkEvent();
+  }
+
+  /**
+   * Shuts down the executor of the plugin.
+   */
+  @TearDown
+  public void tearDown() {
+    pluginManager.executor.shutdownNow();
+  }
+
+  /**
+   * Fires the event.
+   *
+   * @return the future returned by the event manager
+   */
+  @Benchmark
+  public CompletableFuture<BenchmarkEvent> fire() {
+    return eventManager.fire(event);
+  }
+
+  /**
+   * Fires the event without waiting for a result.
+   *
+   * @param blackhole the blackhole to consume the event with
+   */
+  @Benchmark
+  public void fireAndForget(Blackhole blackhole) {
+    eventManager.fireAndForget(event);
+    blackhole.consume(event.handled);
+  }
+
+  /**
+   * The event that is fired.
+   */
+  public static final class BenchmarkEvent {
+
+    int handled;
+  }
+
+  /**
+   * A listener that can be dispatched without a future.
+   */
+  public static final class SynchronousListener {
+
+    @Subscribe
+    public void onEvent(BenchmarkEvent event) {
+      event.handled++;
+    }
+  }
+
+  /**
+   * A listener that does the same work as {@link SynchronousListener}, but could suspend the
+   * event.
+   */
+  public static final class EventTaskListener {
+
+    @Subscribe
+    public EventTask onEvent(BenchmarkEvent event) {
+      event.handled++;
+      return null;
+    }
+  }
+
+  private static final class BenchmarkPluginManager implements PluginManager {
+
+    static final Object PLUGIN = new Object();
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final PluginContainer container = new PluginContainer() {
+      @Override
+      public PluginDescription getDescription() {
+        return () -> "benchmark";
+      }
+
+      @Override
+      public Optional<?> getInstance() {
+        return Optional.of(PLUGIN);
+      }
+
+      @Override
+      public ExecutorService getExecutorService() {
+        return executor;
+      }
+    };
+
+    @Override
+    public Optional<PluginContainer> fromInstance(Object instance) {
+      return instance == PLUGIN ? Optional.of(container) : Optional.empty();
+    }
+
+    @Override
+    public Optional<PluginContainer> getPlugin(String id) {
+      return id.equals("benchmark") ? Optional.of(container) : Optional.empty();
+    }
+
+    @Override
+    public Collection<PluginContainer> getPlugins() {
+      return List.of(container);
+    }
+
+    @Override
+    public boolean isLoaded(String id) {
+      return id.equals("benchmark");
+    }
+
+    @Override
+    public void addToClasspath(Object plugin, Path path) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.benchmarks;
+
+import com.velocitypowered.proxy.protocol.netty.MinecraftVarintFrameDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks splitting a stream of packets into frames with {@link MinecraftVarintFrameDecoder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameDecoderBenchmark {
+
+  // The number of packets received in a single read
+  private static final int PACKETS_PER_READ = 64;
+
+  @Param
+  private PacketCorpus corpus;
+
+  private ByteBuf stream;
+  private EmbeddedChannel channel;
+
+  /**
+   * Prepares the decoder and the stream of packets.
+   */
+  @Setup
+  public void setup() {
+    ByteBuf packet = corpus.create();
+    ByteBuf frame = PacketCorpus.frame(packet);
+    stream = Unpooled.directBuffer(frame.readableBytes() * PACKETS_PER_READ);
+    for (int i = 0; i < PACKETS_PER_READ; i++) {
+      stream.writeBytes(frame, frame.readerIndex(), frame.readableBytes());
+    }
+    packet.release();
+    frame.release();
+
+    channel = new EmbeddedChannel(new MinecraftVarintFrameDecoder());
+  }
+
+  /**
+   * Releases the stream and shuts down the decoder.
+   */
+  @TearDown
+  public void tearDown() {
+    stream.release();
+    channel.finishAndReleaseAll();
+  }
+
+  /**
+   * Decodes a read containing {@link #PACKETS_PER_READ} packets.
+   *
+   * @return the number of frames decoded
+   */
+  @Benchmark
+  public int decode() {
+    channel.writeInbound(stream.retainedDuplicate());
+    int frames = 0;
+    Object frame;
+    while ((frame = channel.readInbound()) != null) {
+      ReferenceCountUtil.release(frame);
+      frames++;
+    }
+    return frames;
+  }
+}
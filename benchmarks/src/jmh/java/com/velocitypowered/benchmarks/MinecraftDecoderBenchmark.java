@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.benchmarks;
+
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks turning clientbound frames into packets with {@link MinecraftDecoder}. Packets which
+ * Velocity does not decode measure the cost of looking up the packet ID and forwarding the frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinecraftDecoderBenchmark {
+
+  @Param
+  private PacketCorpus corpus;
+
+  private ByteBuf packet;
+  private EmbeddedChannel channel;
+
+  /**
+   * Prepares the decoder and the packet.
+   */
+  @Setup
+  public void setup() {
+    ByteBuf generated = corpus.create();
+    packet = Unpooled.directBuffer(generated.readableBytes()).writeBytes(generated);
+    generated.release();
+
+    MinecraftDecoder decoder = new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND);
+    decoder.setState(StateRegistry.PLAY);
+    decoder.setProtocolVersion(PacketCorpus.VERSION);
+    channel = new EmbeddedChannel(decoder);
+  }
+
+  /**
+   * Releases the packet and shuts down the decoder.
+   */
+  @TearDown
+  public void tearDown() {
+    packet.release();
+    channel.finishAndReleaseAll();
+  }
+
+  /**
+   * Decodes a single packet.
+   *
+   * @return the decoded packet
+   */
+  @Benchmark
+  public Object decode() {
+    channel.writeInbound(packet.retainedDuplicate());
+    Object decoded = channel.readInbound();
+    ReferenceCountUtil.release(decoded);
+    return decoded;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.benchmarks;
+
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks turning clientbound packets into bytes with {@link MinecraftEncoder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinecraftEncoderBenchmark {
+
+  // Only the corpora Velocity has a packet class for can be encoded
+  @Param({"SYSTEM_CHAT", "BOSS_BAR"})
+  private PacketCorpus corpus;
+
+  private MinecraftPacket packet;
+  private EmbeddedChannel channel;
+
+  /**
+   * Prepares the encoder and the packet.
+   */
+  @Setup
+  public void setup() {
+    packet = corpus.packet();
+    if (packet == null) {
+      throw new IllegalArgumentException(corpus + " can not be encoded");
+    }
+
+    MinecraftEncoder encoder = new MinecraftEncoder(ProtocolUtils.Direction.CLIENTBOUND);
+    encoder.setState(StateRegistry.PLAY);
+    encoder.setProtocolVersion(PacketCorpus.VERSION);
+    channel = new EmbeddedChannel(encoder);
+  }
+
+  /**
+   * Shuts down the encoder.
+   */
+  @TearDown
+  public void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  /**
+   * Encodes a single packet.
+   *
+   * @return the size of the encoded packet
+   */
+  @Benchmark
+  public int encode() {
+    channel.writeOutbound(packet);
+    ByteBuf encoded = channel.readOutbound();
+    int size = encoded.readableBytes();
+    encoded.release();
+    return size;
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.benchmarks;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
+import com.velocitypowered.proxy.protocol.packet.chat.ChatType;
+import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import com.velocitypowered.proxy.protocol.packet.chat.SystemChatPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Clientbound PLAY packets used as input for the benchmarks. Each packet is returned as it would
+ * appear after the frame (and compression) decoders, starting with the packet ID.
+ *
+ * <p>By default the packets are generated to resemble what a vanilla server sends. Packets
+ * captured from a real server can be used instead by pointing the
+ * {@code velocity.benchmark.corpus} system property at a directory containing files named after
+ * the corpus (for instance {@code chunk_data.bin}).
+ */
+public enum PacketCorpus {
+  /**
+   * A chunk with terrain in the lower sections and sky light above it. Velocity forwards this
+   * packet without decoding it.
+   */
+  CHUNK_DATA {
+    @Override
+    ByteBuf generate() {
+      return generateChunkData(new Random(0xC0FFEE));
+    }
+  },
+  /**
+   * A relative entity move, by far the most common packet on busy servers. Velocity forwards
+   * this packet without decoding it.
+   */
+  ENTITY_MOVEMENT {
+    @Override
+    ByteBuf generate() {
+      ByteBuf buf = Unpooled.buffer();
+      ProtocolUtils.writeVarInt(buf, ENTITY_MOVEMENT_ID);
+      ProtocolUtils.writeVarInt(buf, 48_213);
+      buf.writeShort(-120);
+      buf.writeShort(0);
+      buf.writeShort(342);
+      buf.writeBoolean(true);
+      return buf;
+    }
+  },
+  /**
+   * A system chat message as sent by a typical chat formatting plugin. Velocity only encodes
+   * this packet, so it is forwarded without being decoded.
+   */
+  SYSTEM_CHAT {
+    @Override
+    @Nullable MinecraftPacket packet() {
+      Component message = Component.text()
+          .append(Component.text("[Lobby] ", NamedTextColor.GRAY))
+          .append(Component.text("Player1234", NamedTextColor.YELLOW))
+          .append(Component.text(": has anyone seen the new minigame? it's on the third "
+              + "floor next to the parkour course", NamedTextColor.WHITE))
+          .build();
+      return new SystemChatPacket(new ComponentHolder(VERSION, message), ChatType.SYSTEM);
+    }
+  },
+  /**
+   * A boss bar title update, which Velocity decodes to track the boss bars of each player.
+   */
+  BOSS_BAR {
+    @Override
+    @Nullable MinecraftPacket packet() {
+      BossBarPacket packet = new BossBarPacket();
+      packet.setUuid(new UUID(0x1234_5678_9ABCL, 0xDEF0_1234_5678L));
+      packet.setAction(BossBarPacket.UPDATE_NAME);
+      packet.setName(new ComponentHolder(VERSION, Component.text()
+          .append(Component.text("Event ends in ", NamedTextColor.GOLD))
+          .append(Component.text("04:59", NamedTextColor.RED))
+          .build()));
+      return packet;
+    }
+  };
+
+  /**
+   * The protocol version the packets are generated for.
+   */
+  public static final ProtocolVersion VERSION = ProtocolVersion.MINECRAFT_1_20_2;
+
+  private static final int CHUNK_DATA_ID = 0x25;
+  private static final int ENTITY_MOVEMENT_ID = 0x2C;
+  private static final int SECTIONS = 24;
+  private static final int LIT_SECTIONS = 14;
+
+  /**
+   * Creates a new buffer containing the packet, starting with its ID.
+   *
+   * @return the packet
+   */
+  public ByteBuf create() {
+    String corpusDir = System.getProperty("velocity.benchmark.corpus");
+    if (corpusDir != null) {
+      Path file = Path.of(corpusDir, name().toLowerCase(Locale.ROOT) + ".bin");
+      if (Files.exists(file)) {
+        try {
+          return Unpooled.wrappedBuffer(Files.readAllBytes(file));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+    return generate();
+  }
+
+  /**
+   * Returns the packet object for corpora Velocity has a packet class for.
+   *
+   * @return the packet, or {@code null} if Velocity has no packet class for this corpus
+   */
+  @Nullable MinecraftPacket packet() {
+    return null;
+  }
+
+  ByteBuf generate() {
+    MinecraftPacket packet = packet();
+    if (packet == null) {
+      throw new IllegalStateException("No packet to generate for " + this);
+    }
+    ByteBuf buf = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(buf, StateRegistry.PLAY
+        .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, VERSION)
+        .getPacketId(packet));
+    packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+    return buf;
+  }
+
+  /**
+   * Prefixes the {@code packet} with its length, as it would be sent without compression.
+   *
+   * @param packet the packet to frame
+   * @return the framed packet
+   */
+  public static ByteBuf frame(ByteBuf packet) {
+    ByteBuf framed = Unpooled.buffer(packet.readableBytes() + 5);
+    ProtocolUtils.writeVarInt(framed, packet.readableBytes());
+    framed.writeBytes(packet, packet.readerIndex(), packet.readableBytes());
+    return framed;
+  }
+
+  private static ByteBuf generateChunkData(Random random) {
+    ByteBuf buf = Unpooled.buffer(1 << 16);
+    ProtocolUtils.writeVarInt(buf, CHUNK_DATA_ID);
+    buf.writeInt(-12);
+    buf.writeInt(37);
+
+    // Heightmaps: a nameless compound holding the MOTION_BLOCKING long array
+    buf.writeByte(10);
+    buf.writeByte(12);
+    buf.writeShort("MOTION_BLOCKING".length());
+    buf.writeCharSequence("MOTION_BLOCKING", StandardCharsets.UTF_8);
+    buf.writeInt(37);
+    for (int i = 0; i < 37; i++) {
+      buf.writeLong(0x0100_8040_2010_0804L + random.nextInt(64));
+    }
+    buf.writeByte(0);
+
+    ByteBuf sections = Unpooled.buffer(1 << 15);
+    for (int section = 0; section < SECTIONS; section++) {
+      writeSection(sections, section, random);
+    }
+    ProtocolUtils.writeVarInt(buf, sections.readableBytes());
+    buf.writeBytes(sections);
+    sections.release();
+
+    // No block entities
+    ProtocolUtils.writeVarInt(buf, 0);
+
+    // Light: sky light is sent for the sections above the terrain, block light is empty
+    long skyMask = ((1L << LIT_SECTIONS) - 1) << (SECTIONS + 2 - LIT_SECTIONS);
+    writeBitSet(buf, skyMask);
+    writeBitSet(buf, 0);
+    writeBitSet(buf, ~skyMask & ((1L << (SECTIONS + 2)) - 1));
+    writeBitSet(buf, (1L << (SECTIONS + 2)) - 1);
+    ProtocolUtils.writeVarInt(buf, LIT_SECTIONS);
+    for (int i = 0; i < LIT_SECTIONS; i++) {
+      ProtocolUtils.writeVarInt(buf, 2048);
+      for (int j = 0; j < 2048; j++) {
+        // Fully lit, except for the odd shadow cast by trees and the like
+        buf.writeByte(i == 0 && random.nextInt(8) == 0 ? 0xDD : 0xFF);
+      }
+    }
+    ProtocolUtils.writeVarInt(buf, 0);
+    return buf;
+  }
+
+  private static void writeSection(ByteBuf buf, int section, Random random) {
+    // Sections 0-7 are solid stone with ores, 8 and 9 hold the surface and everything above is air
+    if (section >= 10) {
+      buf.writeShort(0);
+      buf.writeByte(0); // single valued palette
+      ProtocolUtils.writeVarInt(buf, 0); // air
+      ProtocolUtils.writeVarInt(buf, 0);
+    } else {
+      int[] palette = {1, 10, 11, 2108, 2109, 3802, 8595, 9, 0};
+      buf.writeShort(section < 8 ? 4096 : 2600);
+      buf.writeByte(4);
+      ProtocolUtils.writeVarInt(buf, palette.length);
+      for (int state : palette) {
+        ProtocolUtils.writeVarInt(buf, state);
+      }
+      ProtocolUtils.writeVarInt(buf, 256);
+      for (int i = 0; i < 256; i++) {
+        long value = 0;
+        for (int j = 0; j < 16; j++) {
+          int y = (i * 16 + j) >> 8;
+          int entry;
+          if (section == 9 && y > 5) {
+            entry = 8; // air
+          } else if (section == 9 && y == 5) {
+            entry = 7; // grass
+          } else if (section == 9 || (section == 8 && y > 12)) {
+            entry = 1 + random.nextInt(2); // dirt and coarse dirt
+          } else {
+            entry = random.nextInt(50) == 0 ? 3 + random.nextInt(4) : 0; // stone with ores
+          }
+          value |= (long) entry << (j * 4);
+        }
+        buf.writeLong(value);
+      }
+    }
+
+    // Biomes: plains everywhere
+    buf.writeByte(0);
+    ProtocolUtils.writeVarInt(buf, 1);
+    ProtocolUtils.writeVarInt(buf, 0);
+  }
+
+  private static void writeBitSet(ByteBuf buf, long bits) {
+    if (bits == 0) {
+      ProtocolUtils.writeVarInt(buf, 0);
+    } else {
+      ProtocolUtils.writeVarInt(buf, 1);
+      buf.writeLong(bits);
+    }
+  }
+}
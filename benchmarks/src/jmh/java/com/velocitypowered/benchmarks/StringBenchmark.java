@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.benchmarks;
+
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks reading strings with {@link ProtocolUtils}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringBenchmark {
+
+  // A channel name, a chat message and a JSON component
+  @Param({"16", "256", "4096"})
+  private int length;
+
+  @Param({"false", "true"})
+  private boolean ascii;
+
+  private ByteBuf encoded;
+
+  /**
+   * Prepares the buffer.
+   */
+  @Setup
+  public void setup() {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(ascii || i % 8 != 0 ? (char) ('a' + i % 26) : '\u00e9');
+    }
+    encoded = Unpooled.directBuffer();
+    ProtocolUtils.writeString(encoded, builder);
+  }
+
+  /**
+   * Releases the buffer.
+   */
+  @TearDown
+  public void tearDown() {
+    encoded.release();
+  }
+
+  /**
+   * Reads a string.
+   *
+   * @return the string read
+   */
+  @Benchmark
+  public String readString() {
+    encoded.readerIndex(0);
+    return ProtocolUtils.readString(encoded);
+  }
+}
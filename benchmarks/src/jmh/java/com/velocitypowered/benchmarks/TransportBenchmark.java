@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.benchmarks;
+
+import com.velocitypowered.proxy.network.TransportType;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks each {@link TransportType} by sending bursts of small packets to an echo server over
+ * the loopback interface and waiting for them to come back. This resembles a proxy flushing many
+ * small packets every tick, where the cost is dominated by system calls rather than by the
+ * packets themselves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransportBenchmark {
+
+  @Param({"NIO", "EPOLL", "IO_URING", "KQUEUE"})
+  private TransportType transport;
+
+  // The number of packets flushed at once
+  @Param({"1", "64"})
+  private int packets;
+
+  @Param({"32"})
+  private int packetSize;
+
+  private EventLoopGroup bossGroup;
+  private EventLoopGroup workerGroup;
+  private Channel server;
+  private Channel client;
+  private ReceiveHandler receiver;
+  private ByteBuf packet;
+
+  /**
+   * Starts the echo server and connects to it.
+   */
+  @Setup
+  public void setup() {
+    if (!transport.isAvailable()) {
+      throw new IllegalStateException(transport + " is not available on this system");
+    }
+    bossGroup = transport.createEventLoopGroup(TransportType.Type.BOSS);
+    workerGroup = transport.createEventLoopGroup(TransportType.Type.WORKER);
+    server = new ServerBootstrap()
+        .channelFactory(transport.getServerSocketChannelFactory())
+        .group(bossGroup, workerGroup)
+        .childOption(ChannelOption.TCP_NODELAY, true)
+        .childHandler(new ChannelInitializer<>() {
+          @Override
+          protected void initChannel(Channel ch) {
+            ch.pipeline().addLast(new EchoHandler());
+          }
+        })
+        .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+        .syncUninterruptibly()
+        .channel();
+
+    receiver = new ReceiveHandler();
+    client = new Bootstrap()
+        .channelFactory(transport.getSocketChannelFactory())
+        .group(workerGroup)
+        .option(ChannelOption.TCP_NODELAY, true)
+        .handler(receiver)
+        .connect(server.localAddress())
+        .syncUninterruptibly()
+        .channel();
+
+    packet = Unpooled.unreleasableBuffer(Unpooled.directBuffer(packetSize).writeZero(packetSize));
+  }
+
+  /**
+   * Closes the connection and the server.
+   */
+  @TearDown
+  public void tearDown() {
+    if (client != null) {
+      client.close().syncUninterruptibly();
+    }
+    if (server != null) {
+      server.close().syncUninterruptibly();
+    }
+    if (workerGroup != null) {
+      workerGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+    if (bossGroup != null) {
+      bossGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+  }
+
+  /**
+   * Flushes a burst of packets and waits for the echo server to send all of them back.
+   *
+   * @return the number of bytes received
+   */
+  @Benchmark
+  public long roundTrip() {
+    CompletableFuture<Long> received = new CompletableFuture<>();
+    client.eventLoop().execute(() -> {
+      receiver.expect((long) packets * packetSize, received);
+      for (int i = 0; i < packets; i++) {
+        client.write(packet.duplicate(), client.voidPromise());
+      }
+      client.flush();
+    });
+    return received.join();
+  }
+
+  private static final class EchoHandler extends ChannelInboundHandlerAdapter {
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+      ctx.write(msg, ctx.voidPromise());
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+      ctx.flush();
+    }
+  }
+
+  private static final class ReceiveHandler extends ChannelInboundHandlerAdapter {
+
+    private long expected;
+    private long received;
+    private CompletableFuture<Long> future;
+
+    void expect(long bytes, CompletableFuture<Long> future) {
+      this.expected = bytes;
+      this.received = 0;
+      this.future = future;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+      ByteBuf buf = (ByteBuf) msg;
+      received += buf.readableBytes();
+      buf.release();
+      if (future != null && received >= expected) {
+        CompletableFuture<Long> completed = future;
+        future = null;
+        completed.complete(received);
+      }
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.benchmarks;
+
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks reading and writing VarInts with {@link ProtocolUtils}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VarIntBenchmark {
+
+  // One value for each possible encoded length
+  @Param({"1", "300", "70000", "10000000", "2147483647"})
+  private int value;
+
+  private ByteBuf encoded;
+  private ByteBuf out;
+
+  /**
+   * Prepares the buffers.
+   */
+  @Setup
+  public void setup() {
+    encoded = Unpooled.directBuffer(5);
+    ProtocolUtils.writeVarInt(encoded, value);
+    out = Unpooled.directBuffer(5);
+  }
+
+  /**
+   * Releases the buffers.
+   */
+  @TearDown
+  public void tearDown() {
+    encoded.release();
+    out.release();
+  }
+
+  /**
+   * Reads a VarInt.
+   *
+   * @return the value read
+   */
+  @Benchmark
+  public int readVarInt() {
+    encoded.readerIndex(0);
+    return ProtocolUtils.readVarInt(encoded);
+  }
+
+  /**
+   * Writes a VarInt.
+   *
+   * @return the number of bytes written
+   */
+  @Benchmark
+  public int writeVarInt() {
+    out.clear();
+    ProtocolUtils.writeVarInt(out, value);
+    return out.writerIndex();
+  }
+}
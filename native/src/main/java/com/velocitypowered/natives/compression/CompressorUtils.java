@@ -17,6 +17,11 @@
 
 package com.velocitypowered.natives.compression;
 
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
 class CompressorUtils {
   /**
    * The default preferred output buffer size for zlib.
@@ -26,4 +31,31 @@ class CompressorUtils {
   private CompressorUtils() {
     throw new AssertionError();
   }
+
+  /**
+   * Inflates at most {@code maxBytes} bytes from the input already set on the {@code inflater}
+   * into {@code destination}. The inflater is not reset.
+   *
+   * @param inflater the inflater to use
+   * @param destination the buffer to write the inflated data to
+   * @param maxBytes the maximum number of bytes to inflate
+   * @return the number of bytes inflated
+   * @throws DataFormatException if the compressed data is invalid
+   */
+  static int inflatePartial(Inflater inflater, ByteBuf destination, int maxBytes)
+      throws DataFormatException {
+    destination.ensureWritable(maxBytes);
+    int writerIndex = destination.writerIndex();
+    ByteBuffer destNioBuf = destination.nioBuffer(writerIndex, maxBytes);
+    while (destNioBuf.hasRemaining() && !inflater.finished()) {
+      if (inflater.inflate(destNioBuf) == 0
+          && (inflater.needsInput() || inflater.needsDictionary())) {
+        break;
+      }
+    }
+
+    int produced = maxBytes - destNioBuf.remaining();
+    destination.writerIndex(writerIndex + produced);
+    return produced;
+  }
 }
@@ -78,6 +78,22 @@ public class JavaVelocityCompressor implements VelocityCompressor {
     }
   }
 
+  @Override
+  public int inflatePartial(ByteBuf source, ByteBuf destination, int maxBytes)
+      throws DataFormatException {
+    ensureNotDisposed();
+
+    checkArgument(source.nioBufferCount() == 1, "source has multiple backing buffers");
+    checkArgument(destination.nioBufferCount() == 1, "destination has multiple backing buffers");
+
+    inflater.setInput(source.nioBuffer());
+    try {
+      return CompressorUtils.inflatePartial(inflater, destination, maxBytes);
+    } finally {
+      inflater.reset();
+    }
+  }
+
   @Override
   public void deflate(ByteBuf source, ByteBuf destination) throws DataFormatException {
     ensureNotDisposed();
@@ -21,6 +21,8 @@ import com.google.common.base.Preconditions;
 import com.velocitypowered.natives.util.BufferPreference;
 import io.netty.buffer.ByteBuf;
 import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
 /**
  * Implements deflate compression using the {@code libdeflate} native C library.
@@ -31,6 +33,8 @@ public class LibdeflateVelocityCompressor implements VelocityCompressor {
 
   private final long inflateCtx;
   private final long deflateCtx;
+  // libdeflate can only inflate a stream in its entirety, so partial inflation is done with zlib.
+  private @MonotonicNonNull Inflater partialInflater;
   private boolean disposed = false;
 
   private LibdeflateVelocityCompressor(int level) {
@@ -61,6 +65,27 @@ public class LibdeflateVelocityCompressor implements VelocityCompressor {
     destination.writerIndex(destination.writerIndex() + uncompressedSize);
   }
 
+  @Override
+  public int inflatePartial(ByteBuf source, ByteBuf destination, int maxBytes)
+      throws DataFormatException {
+    ensureNotDisposed();
+
+    Preconditions.checkArgument(source.nioBufferCount() == 1,
+        "source has multiple backing buffers");
+    Preconditions.checkArgument(destination.nioBufferCount() == 1,
+        "destination has multiple backing buffers");
+
+    if (partialInflater == null) {
+      partialInflater = new Inflater();
+    }
+    partialInflater.setInput(source.nioBuffer());
+    try {
+      return CompressorUtils.inflatePartial(partialInflater, destination, maxBytes);
+    } finally {
+      partialInflater.reset();
+    }
+  }
+
   @Override
   public void deflate(ByteBuf source, ByteBuf destination) throws DataFormatException {
     ensureNotDisposed();
@@ -92,6 +117,9 @@ public class LibdeflateVelocityCompressor implements VelocityCompressor {
     if (!disposed) {
       NativeZlibInflate.free(inflateCtx);
       NativeZlibDeflate.free(deflateCtx);
+      if (partialInflater != null) {
+        partialInflater.end();
+      }
     }
     disposed = true;
   }
@@ -30,5 +30,21 @@ public interface VelocityCompressor extends Disposable, Native {
   void inflate(ByteBuf source, ByteBuf destination, int uncompressedSize)
       throws DataFormatException;
 
+  /**
+   * Inflates only the start of the compressed {@code source}, writing at most {@code maxBytes}
+   * bytes into {@code destination}. This is useful for inspecting the beginning of a packet (such
+   * as its ID) without paying the cost of inflating all of it. The reader index of {@code source}
+   * is not modified.
+   *
+   * @param source the compressed data
+   * @param destination the buffer to write the inflated data to
+   * @param maxBytes the maximum number of bytes to inflate
+   * @return the number of bytes inflated, which may be less than {@code maxBytes} if the stream
+   *         is shorter
+   * @throws DataFormatException if the compressed data is invalid
+   */
+  int inflatePartial(ByteBuf source, ByteBuf destination, int maxBytes)
+      throws DataFormatException;
+
   void deflate(ByteBuf source, ByteBuf destination) throws DataFormatException;
 }
@@ -17,6 +17,7 @@
 
 package com.velocitypowered.natives.compression;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -77,6 +78,54 @@ class VelocityCompressorTest {
     check(compressor, () -> Unpooled.buffer(TEST_DATA.length + 32));
   }
 
+  @Test
+  @EnabledOnOs({LINUX})
+  void nativePartialInflate() throws DataFormatException {
+    VelocityCompressor compressor = Natives.compress.get().create(Deflater.DEFAULT_COMPRESSION);
+    checkPartial(compressor, () -> Unpooled.directBuffer(TEST_DATA.length + 32));
+  }
+
+  @Test
+  void javaPartialInflateDirect() throws DataFormatException {
+    VelocityCompressor compressor = JavaVelocityCompressor.FACTORY
+        .create(Deflater.DEFAULT_COMPRESSION);
+    checkPartial(compressor, () -> Unpooled.directBuffer(TEST_DATA.length + 32));
+  }
+
+  @Test
+  void javaPartialInflateHeap() throws DataFormatException {
+    VelocityCompressor compressor = JavaVelocityCompressor.FACTORY
+        .create(Deflater.DEFAULT_COMPRESSION);
+    checkPartial(compressor, () -> Unpooled.buffer(TEST_DATA.length + 32));
+  }
+
+  private void checkPartial(VelocityCompressor compressor, Supplier<ByteBuf> bufSupplier)
+      throws DataFormatException {
+    ByteBuf source = bufSupplier.get();
+    ByteBuf dest = bufSupplier.get();
+    ByteBuf partial = bufSupplier.get();
+
+    source.writeBytes(TEST_DATA);
+
+    try {
+      compressor.deflate(source, dest);
+      int compressedIndex = dest.readerIndex();
+      assertEquals(5, compressor.inflatePartial(dest, partial, 5));
+      assertEquals(compressedIndex, dest.readerIndex());
+      assertTrue(ByteBufUtil.equals(source, 0, partial, 0, 5));
+
+      // The inflater must be reusable afterwards.
+      partial.clear();
+      assertEquals(5, compressor.inflatePartial(dest, partial, 5));
+      assertTrue(ByteBufUtil.equals(source, 0, partial, 0, 5));
+    } finally {
+      source.release();
+      dest.release();
+      partial.release();
+      compressor.close();
+    }
+  }
+
   private void check(VelocityCompressor compressor, Supplier<ByteBuf> bufSupplier)
       throws DataFormatException {
     ByteBuf source = bufSupplier.get();
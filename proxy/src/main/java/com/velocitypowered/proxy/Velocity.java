@@ -18,6 +18,7 @@
 package com.velocitypowered.proxy;
 
 import com.velocitypowered.proxy.util.VelocityProperties;
+import com.velocitypowered.proxy.util.concurrent.VirtualThreads;
 import io.netty.util.ResourceLeakDetector;
 import io.netty.util.ResourceLeakDetector.Level;
 import java.text.DecimalFormat;
@@ -47,6 +48,14 @@ public class Velocity {
       System.setProperty("io.netty.native.workdir", System.getProperty("velocity.natives-tmpdir"));
     }
 
+    // Let the JDK report virtual threads that block while pinned to their carrier thread, which
+    // starves every other virtual thread of that carrier.
+    if (VirtualThreads.isEnabled()
+        && VelocityProperties.readBoolean("velocity.virtual-threads.trace-pinning", false)
+        && !VelocityProperties.hasProperty("jdk.tracePinnedThreads")) {
+      System.setProperty("jdk.tracePinnedThreads", "short");
+    }
+
     // Disable the resource leak detector by default as it reduces performance. Allow the user to
     // override this if desired.
     if (!VelocityProperties.hasProperty("io.netty.leakDetection.level")) {
@@ -65,6 +74,11 @@ public class Velocity {
       return;
     }
 
+    if (VirtualThreads.REQUESTED && !VirtualThreads.isSupported()) {
+      logger.warn("Virtual threads were requested, but they require Java 21 or newer. Plugin "
+          + "tasks will run on platform threads instead.");
+    }
+
     long startTime = System.nanoTime();
 
     VelocityServer server = new VelocityServer(options);
@@ -38,6 +38,7 @@ import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.api.util.Favicon;
 import com.velocitypowered.api.util.GameProfile;
 import com.velocitypowered.api.util.ProxyVersion;
+import com.velocitypowered.proxy.adventure.BroadcastingAudience;
 import com.velocitypowered.proxy.command.VelocityCommandManager;
 import com.velocitypowered.proxy.command.builtin.CallbackCommand;
 import com.velocitypowered.proxy.command.builtin.GlistCommand;
@@ -46,12 +47,17 @@ import com.velocitypowered.proxy.command.builtin.ServerCommand;
 import com.velocitypowered.proxy.command.builtin.ShutdownCommand;
 import com.velocitypowered.proxy.command.builtin.VelocityCommand;
 import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.connection.backend.AvailableCommandsCache;
+import com.velocitypowered.proxy.connection.backend.ConfigurationDataCache;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.connection.player.resourcepack.VelocityResourcePackInfo;
 import com.velocitypowered.proxy.connection.util.ServerListPingHandler;
 import com.velocitypowered.proxy.console.VelocityConsole;
 import com.velocitypowered.proxy.crypto.EncryptionUtils;
+import com.velocitypowered.proxy.crypto.LoginCryptoExecutor;
 import com.velocitypowered.proxy.event.VelocityEventManager;
+import com.velocitypowered.proxy.metrics.VelocityProxyMetrics;
+import com.velocitypowered.proxy.network.AuthenticationClient;
 import com.velocitypowered.proxy.network.ConnectionManager;
 import com.velocitypowered.proxy.plugin.VelocityPluginManager;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
@@ -66,6 +72,8 @@ import com.velocitypowered.proxy.util.AddressUtil;
 import com.velocitypowered.proxy.util.ClosestLocaleMatcher;
 import com.velocitypowered.proxy.util.ResourceUtils;
 import com.velocitypowered.proxy.util.VelocityChannelRegistrar;
+import com.velocitypowered.proxy.util.collect.PrefixLookup;
+import com.velocitypowered.proxy.util.ratelimit.ConnectionThrottle;
 import com.velocitypowered.proxy.util.ratelimit.Ratelimiter;
 import com.velocitypowered.proxy.util.ratelimit.Ratelimiters;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -90,16 +98,16 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.IntFunction;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.kyori.adventure.audience.Audience;
-import net.kyori.adventure.audience.ForwardingAudience;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.translation.GlobalTranslator;
@@ -115,7 +123,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 /**
  * Implementation of {@link ProxyServer}.
  */
-public class VelocityServer implements ProxyServer, ForwardingAudience {
+public class VelocityServer implements ProxyServer, BroadcastingAudience {
 
   public static final String VELOCITY_URL = "https://velocitypowered.com";
 
@@ -150,6 +158,8 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       .create();
 
   private final ConnectionManager cm;
+  private final LoginCryptoExecutor loginCryptoExecutor;
+  private final VelocityProxyMetrics metrics;
   private final ProxyOptions options;
   private @MonotonicNonNull VelocityConfiguration configuration;
   private @MonotonicNonNull KeyPair serverKeyPair;
@@ -160,13 +170,17 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
   private final VelocityPluginManager pluginManager;
 
   private final Map<UUID, ConnectedPlayer> connectionsByUuid = new ConcurrentHashMap<>();
-  private final Map<String, ConnectedPlayer> connectionsByName = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<String, ConnectedPlayer> connectionsByName =
+      new ConcurrentSkipListMap<>();
   private final VelocityConsole console;
   private @MonotonicNonNull Ratelimiter ipAttemptLimiter;
   private final VelocityEventManager eventManager;
   private final VelocityScheduler scheduler;
   private final VelocityChannelRegistrar channelRegistrar = new VelocityChannelRegistrar();
   private final ServerListPingHandler serverListPingHandler;
+  private final AvailableCommandsCache availableCommandsCache = new AvailableCommandsCache();
+  private final ConfigurationDataCache configurationDataCache = new ConfigurationDataCache();
+  private @MonotonicNonNull ConnectionThrottle connectionThrottle;
 
   VelocityServer(final ProxyOptions options) {
     pluginManager = new VelocityPluginManager(this);
@@ -175,6 +189,8 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     scheduler = new VelocityScheduler(pluginManager);
     console = new VelocityConsole(this);
     cm = new ConnectionManager(this);
+    loginCryptoExecutor = new LoginCryptoExecutor();
+    metrics = new VelocityProxyMetrics(cm, loginCryptoExecutor, configurationDataCache);
     servers = new ServerMap(this);
     serverListPingHandler = new ServerListPingHandler(this);
     this.options = options;
@@ -189,6 +205,20 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return this.configuration;
   }
 
+  @Override
+  public VelocityProxyMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Returns the metrics to record every packet to, if traffic metrics are enabled.
+   *
+   * @return the metrics to record packets to, or {@code null} if traffic metrics are disabled
+   */
+  public @Nullable VelocityProxyMetrics getTrafficMetrics() {
+    return configuration.isTrafficMetrics() ? metrics : null;
+  }
+
   @Override
   public ProxyVersion getVersion() {
     Package pkg = VelocityServer.class.getPackage();
@@ -286,6 +316,7 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     }
 
     ipAttemptLimiter = Ratelimiters.createWithMilliseconds(configuration.getLoginRatelimit());
+    connectionThrottle = createConnectionThrottle(configuration);
     loadPlugins();
 
     // Go ahead and fire the proxy initialization event. We block since plugins should have a chance
@@ -313,6 +344,11 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       this.cm.queryBind(configuration.getBind().getHostString(), configuration.getQueryPort());
     }
 
+    final InetSocketAddress prometheusBind = configuration.getPrometheusBind();
+    if (prometheusBind != null) {
+      this.cm.metricsBind(prometheusBind);
+    }
+
     final String defaultPackage = new String(
         new byte[] { 'o', 'r', 'g', '.', 'b', 's', 't', 'a', 't', 's' });
     if (!MetricsBase.class.getPackage().getName().startsWith(defaultPackage)) {
@@ -534,8 +570,21 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
           newConfiguration.getQueryPort());
     }
 
+    final InetSocketAddress oldPrometheusBind = configuration.getPrometheusBind();
+    final InetSocketAddress newPrometheusBind = newConfiguration.getPrometheusBind();
+    if (!Objects.equals(oldPrometheusBind, newPrometheusBind)) {
+      if (oldPrometheusBind != null) {
+        this.cm.close(oldPrometheusBind);
+      }
+      if (newPrometheusBind != null) {
+        this.cm.metricsBind(newPrometheusBind);
+      }
+    }
+
     commandManager.setAnnounceProxyCommands(newConfiguration.isAnnounceProxyCommands());
+    serverListPingHandler.invalidateCaches();
     ipAttemptLimiter = Ratelimiters.createWithMilliseconds(newConfiguration.getLoginRatelimit());
+    connectionThrottle = createConnectionThrottle(newConfiguration);
     this.configuration = newConfiguration;
     eventManager.fireAndForget(new ProxyReloadEvent());
     return true;
@@ -562,6 +611,7 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       // Shutdown the connection manager, this should be
       // done first to refuse new connections
       cm.shutdown();
+      loginCryptoExecutor.shutdown();
 
       ImmutableList<ConnectedPlayer> players = ImmutableList.copyOf(connectionsByUuid.values());
       for (ConnectedPlayer player : players) {
@@ -586,6 +636,7 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
           timedOut = true;
           logger.error("Exception while tearing down player connections", e);
         }
+        configurationDataCache.shutdown();
 
         eventManager.fire(new ProxyShutdownEvent()).join();
 
@@ -645,10 +696,36 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return cm.createHttpClient();
   }
 
+  public AuthenticationClient getAuthenticationClient() {
+    return cm.getAuthenticationClient();
+  }
+
+  public AvailableCommandsCache getAvailableCommandsCache() {
+    return availableCommandsCache;
+  }
+
+  public ConfigurationDataCache getConfigurationDataCache() {
+    return configurationDataCache;
+  }
+
+  public LoginCryptoExecutor getLoginCryptoExecutor() {
+    return loginCryptoExecutor;
+  }
+
   public Ratelimiter getIpAttemptLimiter() {
     return ipAttemptLimiter;
   }
 
+  public ConnectionThrottle getConnectionThrottle() {
+    return connectionThrottle;
+  }
+
+  private static ConnectionThrottle createConnectionThrottle(VelocityConfiguration configuration) {
+    return new ConnectionThrottle(configuration.isConnectionThrottle(),
+        configuration.getLoginRatelimit(), configuration.getConnectionThrottleExempt(),
+        configuration.isPlayerAddressLoggingEnabled());
+  }
+
   /**
    * Checks if the {@code connection} can be registered with the proxy.
    *
@@ -721,18 +798,14 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
   public Collection<Player> matchPlayer(String partialName) {
     Objects.requireNonNull(partialName);
 
-    return getAllPlayers().stream().filter(p -> p.getUsername()
-            .regionMatches(true, 0, partialName, 0, partialName.length()))
-        .collect(Collectors.toList());
+    return PrefixLookup.valuesWithPrefix(connectionsByName, partialName);
   }
 
   @Override
   public Collection<RegisteredServer> matchServer(String partialName) {
     Objects.requireNonNull(partialName);
 
-    return getAllServers().stream().filter(s -> s.getServerInfo().getName()
-            .regionMatches(true, 0, partialName, 0, partialName.length()))
-        .collect(Collectors.toList());
+    return servers.matchServer(partialName);
   }
 
   @Override
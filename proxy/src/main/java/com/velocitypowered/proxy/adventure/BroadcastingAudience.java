@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.adventure;
+
+import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identified;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import net.kyori.adventure.title.TitlePart;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A {@link ForwardingAudience} which sends chat messages, action bars and titles through the
+ * {@link ComponentBroadcaster}, rather than to each audience in turn.
+ */
+public interface BroadcastingAudience extends ForwardingAudience {
+
+  @Override
+  default void sendMessage(@NonNull Component message) {
+    this.sendMessage(Identity.nil(), message);
+  }
+
+  @Override
+  default void sendMessage(@NonNull Identified source, @NonNull Component message) {
+    this.sendMessage(source.identity(), message);
+  }
+
+  @Override
+  default void sendMessage(@NonNull Identity source, @NonNull Component message) {
+    ComponentBroadcaster.sendMessage(this.audiences(), source, message, null);
+  }
+
+  @Override
+  default void sendMessage(@NonNull Identified source, @NonNull Component message,
+      @NonNull MessageType type) {
+    this.sendMessage(source.identity(), message, type);
+  }
+
+  @Override
+  default void sendMessage(@NonNull Identity source, @NonNull Component message,
+      @NonNull MessageType type) {
+    ComponentBroadcaster.sendMessage(this.audiences(), source, message, type);
+  }
+
+  @Override
+  default void sendActionBar(@NonNull Component message) {
+    ComponentBroadcaster.sendActionBar(this.audiences(), message);
+  }
+
+  @Override
+  default void showTitle(@NonNull Title title) {
+    ComponentBroadcaster.showTitle(this.audiences(), title);
+  }
+
+  @Override
+  default <T> void sendTitlePart(@NonNull TitlePart<T> part, @NonNull T value) {
+    ComponentBroadcaster.sendTitlePart(this.audiences(), part, value);
+  }
+}
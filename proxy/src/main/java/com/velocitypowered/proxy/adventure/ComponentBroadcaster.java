@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.adventure;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import net.kyori.adventure.title.TitlePart;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Sends components to many audiences at once. Players are grouped by their protocol version and
+ * the locale messages are translated into, so that each component only has to be rendered and
+ * encoded once per group instead of once per player. Every player in a group is then sent a
+ * duplicate of the same buffer.
+ *
+ * <p>Audiences which are not players are sent the component as usual.
+ */
+public final class ComponentBroadcaster {
+
+  private ComponentBroadcaster() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Sends a chat message to the {@code audiences}.
+   *
+   * @param audiences the audiences to send the message to
+   * @param source the identity of the sender
+   * @param message the message to send
+   * @param type the type of the message, or {@code null} to use the default type
+   */
+  public static void sendMessage(Iterable<? extends Audience> audiences, Identity source,
+      Component message, @Nullable MessageType type) {
+    broadcast(audiences, audience -> {
+      if (type == null) {
+        audience.sendMessage(source, message);
+      } else {
+        audience.sendMessage(source, message, type);
+      }
+    }, (player, locale) -> List.of(
+        player.createChatPacket(source, GlobalTranslator.render(message, locale), type)));
+  }
+
+  /**
+   * Sends an action bar message to the {@code audiences}.
+   *
+   * @param audiences the audiences to send the message to
+   * @param message the message to send
+   */
+  public static void sendActionBar(Iterable<? extends Audience> audiences, Component message) {
+    broadcast(audiences, audience -> audience.sendActionBar(message),
+        (player, locale) -> List.of(ConnectedPlayer.createActionBarPacket(
+            player.getProtocolVersion(), GlobalTranslator.render(message, locale))));
+  }
+
+  /**
+   * Shows a title to the {@code audiences}.
+   *
+   * @param audiences the audiences to show the title to
+   * @param title the title to show
+   */
+  public static void showTitle(Iterable<? extends Audience> audiences, Title title) {
+    broadcast(audiences, audience -> audience.showTitle(title),
+        (player, locale) -> ConnectedPlayer.createTitlePackets(
+            player.getProtocolVersion(), title, translator(locale)));
+  }
+
+  /**
+   * Sends a part of a title to the {@code audiences}.
+   *
+   * @param audiences the audiences to send the title part to
+   * @param part the part of the title to send
+   * @param value the value of the part
+   * @param <T> the type of the part
+   */
+  public static <T> void sendTitlePart(Iterable<? extends Audience> audiences, TitlePart<T> part,
+      T value) {
+    broadcast(audiences, audience -> audience.sendTitlePart(part, value), (player, locale) -> {
+      MinecraftPacket packet = ConnectedPlayer.createTitlePartPacket(
+          player.getProtocolVersion(), part, value, translator(locale));
+      return packet == null ? List.of() : List.of(packet);
+    });
+  }
+
+  private static UnaryOperator<Component> translator(Locale locale) {
+    return component -> GlobalTranslator.render(component, locale);
+  }
+
+  /**
+   * Sends packets to the {@code players}, encoding them once per protocol version and, if the
+   * packets are {@code localized}, once per locale.
+   *
+   * @param players the players to send the packets to
+   * @param localized whether the packets depend on the locale of the players
+   * @param factory creates the packets for each group of players
+   */
+  static void broadcast(Iterable<ConnectedPlayer> players, boolean localized,
+      PacketFactory factory) {
+    broadcast(players, audience -> {
+    }, localized, factory);
+  }
+
+  private static void broadcast(Iterable<? extends Audience> audiences,
+      Consumer<Audience> fallback, PacketFactory factory) {
+    broadcast(audiences, fallback, true, factory);
+  }
+
+  private static void broadcast(Iterable<? extends Audience> audiences,
+      Consumer<Audience> fallback, boolean localized, PacketFactory factory) {
+    Map<GroupKey, List<ConnectedPlayer>> groups = new HashMap<>();
+    for (Audience audience : audiences) {
+      if (audience instanceof ConnectedPlayer player) {
+        GroupKey key = new GroupKey(player.getProtocolVersion(),
+            localized ? player.getTranslationLocale() : null);
+        groups.computeIfAbsent(key, k -> new ArrayList<>()).add(player);
+      } else {
+        fallback.accept(audience);
+      }
+    }
+
+    for (Map.Entry<GroupKey, List<ConnectedPlayer>> entry : groups.entrySet()) {
+      List<ConnectedPlayer> players = entry.getValue();
+      ConnectedPlayer representative = players.get(0);
+      List<? extends MinecraftPacket> packets =
+          factory.create(representative, entry.getKey().locale());
+      if (packets.isEmpty()) {
+        continue;
+      }
+
+      ByteBuf[] encoded = new ByteBuf[packets.size()];
+      try {
+        for (int i = 0; i < encoded.length; i++) {
+          encoded[i] = encode(representative.getConnection(), packets.get(i),
+              entry.getKey().version());
+        }
+        for (ConnectedPlayer player : players) {
+          write(player.getConnection(), packets, encoded);
+        }
+      } finally {
+        for (ByteBuf buf : encoded) {
+          if (buf != null) {
+            buf.release();
+          }
+        }
+      }
+    }
+  }
+
+  private static ByteBuf encode(MinecraftConnection connection, MinecraftPacket packet,
+      ProtocolVersion version) {
+    ByteBuf buf = connection.getChannel().alloc().buffer();
+    try {
+      ProtocolUtils.writeVarInt(buf, StateRegistry.PLAY
+          .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, version)
+          .getPacketId(packet));
+      packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+      return buf;
+    } catch (RuntimeException e) {
+      buf.release();
+      throw e;
+    }
+  }
+
+  private static void write(MinecraftConnection connection, List<? extends MinecraftPacket> packets,
+      ByteBuf[] encoded) {
+    if (connection.isClosed()) {
+      return;
+    }
+
+    ByteBuf[] duplicates = new ByteBuf[encoded.length];
+    for (int i = 0; i < encoded.length; i++) {
+      duplicates[i] = encoded[i].retainedDuplicate();
+    }
+
+    EventLoop eventLoop = connection.getChannel().eventLoop();
+    if (eventLoop.inEventLoop()) {
+      write0(connection, packets, duplicates);
+    } else {
+      eventLoop.execute(() -> write0(connection, packets, duplicates));
+    }
+  }
+
+  private static void write0(MinecraftConnection connection,
+      List<? extends MinecraftPacket> packets, ByteBuf[] duplicates) {
+    // The encoded packets are only valid in the PLAY state. The state is checked on the event
+    // loop, as players switching servers may have entered the CONFIG state in the meantime, in
+    // which case the packets need to be queued until they return to PLAY.
+    if (connection.getState() == StateRegistry.PLAY) {
+      for (ByteBuf duplicate : duplicates) {
+        connection.delayedWrite(duplicate);
+      }
+    } else {
+      for (ByteBuf duplicate : duplicates) {
+        duplicate.release();
+      }
+      for (MinecraftPacket packet : packets) {
+        connection.delayedWrite(packet);
+      }
+    }
+    connection.flush();
+  }
+
+  /**
+   * Creates the packets sent to a group of players.
+   */
+  @FunctionalInterface
+  interface PacketFactory {
+
+    /**
+     * Creates the packets for a group of players.
+     *
+     * @param representative one of the players in the group
+     * @param locale the locale of the group, or {@code null} if the packets are not localized
+     * @return the packets to send, in order
+     */
+    List<? extends MinecraftPacket> create(ConnectedPlayer representative,
+        @Nullable Locale locale);
+  }
+
+  private record GroupKey(ProtocolVersion version, @Nullable Locale locale) {
+  }
+}
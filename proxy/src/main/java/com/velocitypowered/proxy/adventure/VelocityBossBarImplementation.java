@@ -22,11 +22,16 @@ import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.bossbar.BossBarImplementation;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.translation.GlobalTranslator;
 
 /**
  * Implementation of a {@link BossBarImplementation}.
@@ -37,6 +42,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
   private final Set<ConnectedPlayer> viewers = Collections.newSetFromMap(
       new MapMaker().weakKeys().makeMap());
   private final UUID id = UUID.randomUUID();
+  private final AtomicBoolean progressUpdatePending = new AtomicBoolean();
   private final BossBar bar;
 
   public static VelocityBossBarImplementation get(final BossBar bar) {
@@ -77,15 +83,13 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final Component oldName,
       final Component newName
   ) {
-    for (final ConnectedPlayer viewer : this.viewers) {
-      final Component translated = viewer.translateMessage(newName);
-      final BossBarPacket packet = BossBarPacket.createUpdateNamePacket(
-          this.id,
-          this.bar,
-          new ComponentHolder(viewer.getProtocolVersion(), translated)
-      );
-      viewer.getConnection().write(packet);
-    }
+    ComponentBroadcaster.broadcast(this.viewers, true, (viewer, locale) -> List.of(
+        BossBarPacket.createUpdateNamePacket(
+            this.id,
+            this.bar,
+            new ComponentHolder(viewer.getProtocolVersion(),
+                GlobalTranslator.render(newName, locale))
+        )));
   }
 
   @Override
@@ -94,22 +98,36 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final float oldProgress,
       final float newProgress
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateProgressPacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
+    // Animated boss bars may change their progress many times in quick succession, so only the
+    // latest progress is sent once the previous update has been sent out.
+    if (this.progressUpdatePending.compareAndSet(false, true)) {
+      final Iterator<ConnectedPlayer> it = this.viewers.iterator();
+      if (!it.hasNext()) {
+        this.progressUpdatePending.set(false);
+        return;
+      }
+      try {
+        it.next().getConnection().getChannel().eventLoop().execute(this::flushProgress);
+      } catch (RejectedExecutionException e) {
+        // Nothing will send the update, so let the next change schedule one again.
+        this.progressUpdatePending.set(false);
+        throw e;
+      }
     }
   }
 
+  private void flushProgress() {
+    this.progressUpdatePending.set(false);
+    this.broadcast(BossBarPacket.createUpdateProgressPacket(this.id, this.bar));
+  }
+
   @Override
   public void bossBarColorChanged(
       final BossBar bar,
       final BossBar.Color oldColor,
       final BossBar.Color newColor
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateStylePacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
-    }
+    this.broadcast(BossBarPacket.createUpdateStylePacket(this.id, this.bar));
   }
 
   @Override
@@ -118,10 +136,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final BossBar.Overlay oldOverlay,
       final BossBar.Overlay newOverlay
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateStylePacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
-    }
+    this.broadcast(BossBarPacket.createUpdateStylePacket(this.id, this.bar));
   }
 
   @Override
@@ -130,9 +145,10 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final Set<BossBar.Flag> flagsAdded,
       final Set<BossBar.Flag> flagsRemoved
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdatePropertiesPacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
-    }
+    this.broadcast(BossBarPacket.createUpdatePropertiesPacket(this.id, this.bar));
+  }
+
+  private void broadcast(final BossBarPacket packet) {
+    ComponentBroadcaster.broadcast(this.viewers, false, (viewer, locale) -> List.of(packet));
   }
 }
@@ -17,19 +17,26 @@
 
 package com.velocitypowered.proxy.command;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.StringReader;
 import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContextBuilder;
 import com.mojang.brigadier.context.StringRange;
 import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.mojang.brigadier.tree.RootCommandNode;
-import com.velocitypowered.proxy.command.brigadier.VelocityArgumentCommandNode;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
 import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -37,21 +44,57 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * Copies the nodes of a {@link RootCommandNode} to a possibly non-empty destination
  * {@link RootCommandNode}, respecting the requirements satisfied by a given command source.
  *
+ * <p>The injector works on a snapshot of the dispatcher's root node, taken the first time nodes
+ * are injected after a command was registered or unregistered, so that injecting nodes does not
+ * need to hold the dispatcher lock. The nodes filtered for a set of satisfied requirements are
+ * cached, and each source is given its own copy of them, since listeners of
+ * {@link com.velocitypowered.api.event.command.PlayerAvailableCommandsEvent} may modify them.
+ *
  * @param <S> the type of the source to inject the nodes for
  */
 public final class CommandGraphInjector<S> {
 
   private static final StringRange ALIAS_RANGE = StringRange.at(0);
   private static final StringReader ALIAS_READER = new StringReader("");
+  private static final Predicate<?> DEFAULT_REQUIREMENT =
+      LiteralArgumentBuilder.literal("").getRequirement();
 
   private final @GuardedBy("lock") CommandDispatcher<S> dispatcher;
   private final Lock lock;
+  private final AtomicInteger version = new AtomicInteger();
+  private volatile @Nullable Snapshot<S> snapshot;
 
   CommandGraphInjector(final CommandDispatcher<S> dispatcher, final Lock lock) {
     this.dispatcher = Preconditions.checkNotNull(dispatcher, "dispatcher");
     this.lock = Preconditions.checkNotNull(lock, "lock");
   }
 
+  /**
+   * Discards the snapshot of the dispatcher's root node. This must be called after the commands
+   * registered to the dispatcher change.
+   */
+  void invalidate() {
+    this.version.incrementAndGet();
+  }
+
+  private Snapshot<S> getSnapshot() {
+    final Snapshot<S> current = this.snapshot;
+    final int currentVersion = this.version.get();
+    if (current != null && current.version == currentVersion) {
+      return current;
+    }
+
+    final Snapshot<S> created;
+    lock.lock();
+    try {
+      created = new Snapshot<>(this.dispatcher, currentVersion);
+    } finally {
+      lock.unlock();
+    }
+    this.snapshot = created;
+    return created;
+  }
+
   // The term "source" is ambiguous here. We use "origin" when referring to
   // the root node we are copying nodes from to the destination node.
 
@@ -66,82 +109,278 @@ public final class CommandGraphInjector<S> {
    * @param source the command source to inject the nodes for
    */
   public void inject(final RootCommandNode<S> dest, final S source) {
-    lock.lock();
-    try {
-      final Map<CommandNode<S>, CommandNode<S>> done = new IdentityHashMap<>();
-      final RootCommandNode<S> origin = this.dispatcher.getRoot();
-      final CommandContextBuilder<S> rootContext =
-          new CommandContextBuilder<>(this.dispatcher, source, origin, 0);
+    this.inject(dest, this.getRequirements(source));
+  }
 
-      // Filter alias nodes
-      for (final CommandNode<S> node : origin.getChildren()) {
-        if (!node.canUse(source)) {
-          continue;
-        }
+  /**
+   * Determines which requirements of the nodes of this injector are satisfied by the given source.
+   * Sources satisfying the same requirements get the same nodes injected, so the result can be used
+   * to cache anything derived from the injected nodes.
+   *
+   * @param source the command source to check the requirements for
+   * @return the requirements satisfied by the source
+   */
+  public SatisfiedRequirements getRequirements(final S source) {
+    final Snapshot<S> snapshot = this.getSnapshot();
+    return new SatisfiedRequirements(snapshot, snapshot.test(source));
+  }
 
-        final CommandContextBuilder<S> context = rootContext.copy()
-            .withNode(node, ALIAS_RANGE);
-        if (!node.canUse(context, ALIAS_READER)) {
-          continue;
-        }
+  /**
+   * Adds the node from the root node of this injector to the given root node, respecting the
+   * given requirements.
+   *
+   * @param dest         the root node to add the permissible nodes to
+   * @param requirements the requirements satisfied by the command source to inject the nodes for
+   * @see #inject(RootCommandNode, Object)
+   */
+  @SuppressWarnings("unchecked")
+  public void inject(final RootCommandNode<S> dest, final SatisfiedRequirements requirements) {
+    final Snapshot<S> snapshot = (Snapshot<S>) requirements.snapshot;
+    final List<FilteredAlias<S>> aliases =
+        snapshot.filtered.get(requirements.satisfied, snapshot::filter);
+    final Map<CommandNode<S>, CommandNode<S>> copies = new IdentityHashMap<>();
+    for (final FilteredAlias<S> alias : aliases) {
+      // The alias keeps its redirect as is, the filtered descendants only redirect to each other.
+      final LiteralCommandNode<S> copy = alias.node().createBuilder().build();
+      for (final CommandNode<S> child : alias.node().getChildren()) {
+        copy.addChild(this.copy(child, copies));
+      }
+      for (final CommandNode<S> child : alias.sharedChildren()) {
+        copy.addChild(child);
+      }
+      this.addAlias(copy, dest);
+    }
+  }
+
+  private CommandNode<S> copy(final CommandNode<S> node,
+      final Map<CommandNode<S>, CommandNode<S>> copies) {
+    final CommandNode<S> existing = copies.get(node);
+    if (existing != null) {
+      return existing;
+    }
+    final ArgumentBuilder<S, ?> builder = node.createBuilder();
+    if (node.getRedirect() != null) {
+      builder.forward(this.copy(node.getRedirect(), copies), builder.getRedirectModifier(),
+          builder.isFork());
+    }
+    final CommandNode<S> result = builder.build();
+    copies.put(node, result);
+    for (final CommandNode<S> child : node.getChildren()) {
+      result.addChild(this.copy(child, copies));
+    }
+    return result;
+  }
+
+  private void addAlias(final LiteralCommandNode<S> node, final RootCommandNode<S> dest) {
+    dest.removeChildByName(node.getName());
+    dest.addChild(node);
+  }
 
+  /**
+   * An immutable copy of the structure of the dispatcher's root node. Every distinct requirement
+   * found in the graph is assigned an index, so that the requirements satisfied by a source can be
+   * represented as a {@link BitSet}.
+   */
+  private static final class Snapshot<S> {
+
+    private final int version;
+    private final CommandDispatcher<S> dispatcher;
+    private final RootCommandNode<S> origin;
+    private final List<Alias<S>> aliases = new ArrayList<>();
+    private final List<Predicate<S>> requirements = new ArrayList<>();
+    private final Map<Predicate<S>, Integer> requirementIndices = new IdentityHashMap<>();
+    private final Cache<BitSet, List<FilteredAlias<S>>> filtered = Caffeine.newBuilder()
+        .maximumSize(256)
+        .build();
+
+    // Must be called while holding the dispatcher lock.
+    Snapshot(final CommandDispatcher<S> dispatcher, final int version) {
+      this.version = version;
+      this.dispatcher = dispatcher;
+      this.origin = dispatcher.getRoot();
+      final Map<CommandNode<S>, Node<S>> nodes = new IdentityHashMap<>();
+      for (final CommandNode<S> node : origin.getChildren()) {
         final LiteralCommandNode<S> asLiteral = (LiteralCommandNode<S>) node;
-        final LiteralCommandNode<S> copy = asLiteral.createBuilder().build();
-        final VelocityArgumentCommandNode<S, ?> argsNode =
-            VelocityCommands.getArgumentsNode(asLiteral);
-        if (argsNode == null) {
+        final int requirement = this.indexRequirement(asLiteral);
+        // The context-aware requirement is only checked if the other one is satisfied.
+        final int contextRequirement = this.requirements.size();
+        this.requirements.add(source -> {
+          if (!asLiteral.canUse(source)) {
+            return false;
+          }
+          final CommandContextBuilder<S> context =
+              new CommandContextBuilder<>(this.dispatcher, source, this.origin, 0)
+                  .withNode(asLiteral, ALIAS_RANGE);
+          return asLiteral.canUse(context, ALIAS_READER);
+        });
+
+        if (VelocityCommands.getArgumentsNode(asLiteral) == null) {
           // This literal is associated to a BrigadierCommand, filter normally.
-          this.copyChildren(node, copy, source, done);
+          final List<Node<S>> children = new ArrayList<>();
+          for (final CommandNode<S> child : asLiteral.getChildren()) {
+            children.add(this.snapshot(child, nodes));
+          }
+          this.aliases.add(new Alias<>(asLiteral, requirement, contextRequirement, children,
+              List.of()));
         } else {
           // Copy all children nodes (arguments node and hints)
-          for (final CommandNode<S> child : node.getChildren()) {
-            copy.addChild(child);
-          }
+          this.aliases.add(new Alias<>(asLiteral, requirement, contextRequirement, List.of(),
+              List.copyOf(asLiteral.getChildren())));
         }
-        this.addAlias(copy, dest);
       }
-    } finally {
-      lock.unlock();
     }
-  }
 
-  private @Nullable CommandNode<S> filterNode(final CommandNode<S> node, final S source, final Map<CommandNode<S>, CommandNode<S>> done) {
-    if (done.containsKey(node)) {
-      return done.get(node);
+    private int indexRequirement(final CommandNode<S> node) {
+      final Predicate<S> requirement = node.getRequirement();
+      if (requirement == DEFAULT_REQUIREMENT) {
+        return -1;
+      }
+      return this.requirementIndices.computeIfAbsent(requirement, key -> {
+        this.requirements.add(node::canUse);
+        return this.requirements.size() - 1;
+      });
     }
-    // We only check the non-context requirement when filtering alias nodes.
-    // Otherwise, we would need to manually craft context builder and reader instances,
-    // which is both incorrect and inefficient. The reason why we can do so for alias
-    // literals is due to the empty string being a valid and expected input by
-    // the context-aware requirement (when suggesting the literal name).
-    if (!node.canUse(source)) {
-      return null;
+
+    private Node<S> snapshot(final CommandNode<S> node, final Map<CommandNode<S>, Node<S>> nodes) {
+      final Node<S> existing = nodes.get(node);
+      if (existing != null) {
+        return existing;
+      }
+      final Node<S> result = new Node<>(node, this.indexRequirement(node));
+      nodes.put(node, result);
+      if (node.getRedirect() != null) {
+        result.redirect = this.snapshot(node.getRedirect(), nodes);
+      }
+      for (final CommandNode<S> child : node.getChildren()) {
+        result.children.add(this.snapshot(child, nodes));
+      }
+      return result;
     }
-    final ArgumentBuilder<S, ?> builder = node.createBuilder();
-    if (node.getRedirect() != null) {
-      // Redirects to non-Brigadier commands are not supported. Luckily,
-      // we don't expose the root node to API users, so they can't access
-      // nodes associated to other commands.
-      final CommandNode<S> target = this.filterNode(node.getRedirect(), source, done);
-      builder.forward(target, builder.getRedirectModifier(), builder.isFork());
+
+    BitSet test(final S source) {
+      final BitSet satisfied = new BitSet(this.requirements.size());
+      for (int i = 0; i < this.requirements.size(); i++) {
+        if (this.requirements.get(i).test(source)) {
+          satisfied.set(i);
+        }
+      }
+      return satisfied;
+    }
+
+    List<FilteredAlias<S>> filter(final BitSet satisfied) {
+      final Map<Node<S>, CommandNode<S>> done = new IdentityHashMap<>();
+      final List<FilteredAlias<S>> result = new ArrayList<>(this.aliases.size());
+      // Filter alias nodes
+      for (final Alias<S> alias : this.aliases) {
+        if (!satisfies(satisfied, alias.requirement())
+            || !satisfied.get(alias.contextRequirement())) {
+          continue;
+        }
+
+        final LiteralCommandNode<S> copy = alias.node().createBuilder().build();
+        for (final Node<S> child : alias.children()) {
+          final CommandNode<S> filteredChild = this.filterNode(child, satisfied, done);
+          if (filteredChild != null) {
+            copy.addChild(filteredChild);
+          }
+        }
+        result.add(new FilteredAlias<>(copy, alias.sharedChildren()));
+      }
+      return List.copyOf(result);
+    }
+
+    private @Nullable CommandNode<S> filterNode(final Node<S> node, final BitSet satisfied,
+        final Map<Node<S>, CommandNode<S>> done) {
+      if (done.containsKey(node)) {
+        return done.get(node);
+      }
+      // We only check the non-context requirement when filtering alias nodes.
+      // Otherwise, we would need to manually craft context builder and reader instances,
+      // which is both incorrect and inefficient. The reason why we can do so for alias
+      // literals is due to the empty string being a valid and expected input by
+      // the context-aware requirement (when suggesting the literal name).
+      if (!satisfies(satisfied, node.requirement)) {
+        return null;
+      }
+      final ArgumentBuilder<S, ?> builder = node.original.createBuilder();
+      if (node.redirect != null) {
+        // Redirects to non-Brigadier commands are not supported. Luckily,
+        // we don't expose the root node to API users, so they can't access
+        // nodes associated to other commands.
+        final CommandNode<S> target = this.filterNode(node.redirect, satisfied, done);
+        builder.forward(target, builder.getRedirectModifier(), builder.isFork());
+      }
+      final CommandNode<S> result = builder.build();
+      done.put(node, result);
+      for (final Node<S> child : node.children) {
+        final CommandNode<S> filtered = this.filterNode(child, satisfied, done);
+        if (filtered != null) {
+          result.addChild(filtered);
+        }
+      }
+      return result;
+    }
+
+    private static boolean satisfies(final BitSet satisfied, final int requirement) {
+      return requirement < 0 || satisfied.get(requirement);
     }
-    final CommandNode<S> result = builder.build();
-    done.put(node, result);
-    this.copyChildren(node, result, source, done);
-    return result;
   }
 
-  private void copyChildren(final CommandNode<S> parent, final CommandNode<S> dest, final S source, final Map<CommandNode<S>, CommandNode<S>> done) {
-    for (final CommandNode<S> child : parent.getChildren()) {
-      final CommandNode<S> filtered = this.filterNode(child, source, done);
-      if (filtered != null) {
-        dest.addChild(filtered);
+  /**
+   * The requirements of the nodes of an injector satisfied by a command source. Two instances are
+   * equal if they were obtained from the same command graph and have the same requirements
+   * satisfied.
+   */
+  public static final class SatisfiedRequirements {
+
+    private final Snapshot<?> snapshot;
+    private final BitSet satisfied;
+
+    private SatisfiedRequirements(final Snapshot<?> snapshot, final BitSet satisfied) {
+      this.snapshot = snapshot;
+      this.satisfied = satisfied;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof SatisfiedRequirements that)) {
+        return false;
       }
+      return this.snapshot == that.snapshot && this.satisfied.equals(that.satisfied);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(this.snapshot) + this.satisfied.hashCode();
     }
   }
 
-  private void addAlias(final LiteralCommandNode<S> node, final RootCommandNode<S> dest) {
-    dest.removeChildByName(node.getName());
-    dest.addChild(node);
+  private record Alias<S>(LiteralCommandNode<S> node, int requirement, int contextRequirement,
+                          List<Node<S>> children, List<CommandNode<S>> sharedChildren) {
+  }
+
+  /**
+   * An alias literal with its descendants filtered. The filtered descendants are templates that
+   * are copied for every source, while the shared children (the arguments node and hints of
+   * non-Brigadier commands) are injected as is.
+   */
+  private record FilteredAlias<S>(LiteralCommandNode<S> node,
+                                  List<CommandNode<S>> sharedChildren) {
+  }
+
+  private static final class Node<S> {
+
+    private final CommandNode<S> original;
+    private final int requirement;
+    private final List<Node<S>> children = new ArrayList<>();
+    private @Nullable Node<S> redirect;
+
+    Node(final CommandNode<S> original, final int requirement) {
+      this.original = original;
+      this.requirement = requirement;
+    }
   }
 }
@@ -159,6 +159,7 @@ public class VelocityCommandManager implements CommandManager {
       final Command command, final CommandMeta meta) {
     final Class<T> superInterface = registrar.registrableSuperInterface();
     registrar.register(meta, superInterface.cast(command));
+    injector.invalidate();
     for (String alias : meta.getAliases()) {
       commandMetas.put(alias, meta);
     }
@@ -184,6 +185,7 @@ public class VelocityCommandManager implements CommandManager {
       // the removed literal in the graph.
       dispatcher.getRoot().removeChildByName(alias.toLowerCase(Locale.ENGLISH));
       commandMetas.remove(alias);
+      injector.invalidate();
     } finally {
       lock.writeLock().unlock();
     }
@@ -202,6 +204,7 @@ public class VelocityCommandManager implements CommandManager {
           dispatcher.getRoot().removeChildByName(lowercased);
         }
       }
+      injector.invalidate();
     } finally {
       lock.writeLock().unlock();
     }
@@ -63,11 +63,8 @@ public class SendCommand {
           final String argument = context.getArguments().containsKey(PLAYER_ARG)
               ? context.getArgument(PLAYER_ARG, String.class)
               : "";
-          for (final Player player : server.getAllPlayers()) {
-            final String playerName = player.getUsername();
-            if (playerName.regionMatches(true, 0, argument, 0, argument.length())) {
-              builder.suggest(playerName);
-            }
+          for (final Player player : server.matchPlayer(argument)) {
+            builder.suggest(player.getUsername());
           }
           if ("all".regionMatches(true, 0, argument, 0, argument.length())) {
             builder.suggest("all");
@@ -85,11 +82,8 @@ public class SendCommand {
           final String argument = context.getArguments().containsKey(SERVER_ARG)
               ? context.getArgument(SERVER_ARG, String.class)
               : "";
-          for (final RegisteredServer server : server.getAllServers()) {
-            final String serverName = server.getServerInfo().getName();
-            if (serverName.regionMatches(true, 0, argument, 0, argument.length())) {
-              builder.suggest(server.getServerInfo().getName());
-            }
+          for (final RegisteredServer server : server.matchServer(argument)) {
+            builder.suggest(server.getServerInfo().getName());
           }
           return builder.buildFuture();
         })
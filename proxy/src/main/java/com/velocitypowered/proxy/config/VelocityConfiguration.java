@@ -32,6 +32,7 @@ import com.velocitypowered.proxy.config.migration.KeyAuthenticationMigration;
 import com.velocitypowered.proxy.config.migration.MotdMigration;
 import com.velocitypowered.proxy.config.migration.TransferIntegrationMigration;
 import com.velocitypowered.proxy.util.AddressUtil;
+import com.velocitypowered.proxy.util.ratelimit.ConnectionThrottle;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -146,6 +147,15 @@ public class VelocityConfiguration implements ProxyConfig {
       }
     }
 
+    if (!advanced.getPrometheusBind().isEmpty()) {
+      try {
+        AddressUtil.parseAddress(advanced.getPrometheusBind());
+      } catch (IllegalArgumentException e) {
+        logger.error("'prometheus-bind' option does not specify a valid IP address.", e);
+        valid = false;
+      }
+    }
+
     if (!onlineMode) {
       logger.warn("The proxy is running in offline mode! This is a security risk and you will NOT "
           + "receive any support!");
@@ -230,6 +240,16 @@ public class VelocityConfiguration implements ProxyConfig {
       valid = false;
     }
 
+    for (String exemption : advanced.getConnectionThrottleExempt()) {
+      try {
+        ConnectionThrottle.checkExemption(exemption);
+      } catch (IllegalArgumentException e) {
+        logger.error("'connection-throttle-exempt' entry '{}' is not a valid IP address or subnet",
+            exemption, e);
+        valid = false;
+      }
+    }
+
     loadFavicon();
 
     return valid;
@@ -270,6 +290,10 @@ public class VelocityConfiguration implements ProxyConfig {
     return query.shouldQueryShowPlugins();
   }
 
+  public int getQueryCacheTtl() {
+    return query.getCacheTtl();
+  }
+
   @Override
   public net.kyori.adventure.text.Component getMotd() {
     if (motdAsComponent == null) {
@@ -331,6 +355,14 @@ public class VelocityConfiguration implements ProxyConfig {
     return advanced.getLoginRatelimit();
   }
 
+  public boolean isConnectionThrottle() {
+    return advanced.isConnectionThrottle();
+  }
+
+  public List<String> getConnectionThrottleExempt() {
+    return advanced.getConnectionThrottleExempt();
+  }
+
   @Override
   public Optional<Favicon> getFavicon() {
     return Optional.ofNullable(favicon);
@@ -367,10 +399,32 @@ public class VelocityConfiguration implements ProxyConfig {
     return metrics;
   }
 
+  /**
+   * Returns the address to serve the Prometheus metrics endpoint on.
+   *
+   * @return the address of the metrics endpoint, or {@code null} if it is disabled
+   */
+  public @Nullable InetSocketAddress getPrometheusBind() {
+    String prometheusBind = advanced.getPrometheusBind();
+    return prometheusBind.isEmpty() ? null : AddressUtil.parseAndResolveAddress(prometheusBind);
+  }
+
+  public boolean isTrafficMetrics() {
+    return advanced.isTrafficMetrics();
+  }
+
   public PingPassthroughMode getPingPassthrough() {
     return pingPassthrough;
   }
 
+  public int getPingPassthroughCacheTtl() {
+    return advanced.getPingPassthroughCacheTtl();
+  }
+
+  public int getListenerSockets() {
+    return advanced.getListenerSockets();
+  }
+
   public boolean isPlayerAddressLoggingEnabled() {
     return enablePlayerAddressLogging;
   }
@@ -695,6 +749,10 @@ public class VelocityConfiguration implements ProxyConfig {
     @Expose
     private int loginRatelimit = 3000;
     @Expose
+    private boolean connectionThrottle = true;
+    @Expose
+    private List<String> connectionThrottleExempt = ImmutableList.of();
+    @Expose
     private int connectionTimeout = 5000;
     @Expose
     private int readTimeout = 30000;
@@ -716,6 +774,14 @@ public class VelocityConfiguration implements ProxyConfig {
     private boolean logPlayerConnections = true;
     @Expose
     private boolean acceptTransfers = false;
+    @Expose
+    private String prometheusBind = "";
+    @Expose
+    private boolean trafficMetrics = false;
+    @Expose
+    private int pingPassthroughCacheTtl = 1000;
+    @Expose
+    private int listenerSockets = 1;
 
     private Advanced() {
     }
@@ -725,6 +791,9 @@ public class VelocityConfiguration implements ProxyConfig {
         this.compressionThreshold = config.getIntOrElse("compression-threshold", 256);
         this.compressionLevel = config.getIntOrElse("compression-level", -1);
         this.loginRatelimit = config.getIntOrElse("login-ratelimit", 3000);
+        this.connectionThrottle = config.getOrElse("connection-throttle", true);
+        this.connectionThrottleExempt = ImmutableList.copyOf(
+            config.<List<String>>getOrElse("connection-throttle-exempt", ImmutableList.of()));
         this.connectionTimeout = config.getIntOrElse("connection-timeout", 5000);
         this.readTimeout = config.getIntOrElse("read-timeout", 30000);
         if (config.contains("haproxy-protocol")) {
@@ -741,6 +810,10 @@ public class VelocityConfiguration implements ProxyConfig {
         this.logCommandExecutions = config.getOrElse("log-command-executions", false);
         this.logPlayerConnections = config.getOrElse("log-player-connections", true);
         this.acceptTransfers = config.getOrElse("accepts-transfers", false);
+        this.prometheusBind = config.getOrElse("prometheus-bind", "");
+        this.trafficMetrics = config.getOrElse("traffic-metrics", false);
+        this.pingPassthroughCacheTtl = config.getIntOrElse("ping-passthrough-cache-ttl", 1000);
+        this.listenerSockets = config.getIntOrElse("listener-sockets", 1);
       }
     }
 
@@ -756,6 +829,14 @@ public class VelocityConfiguration implements ProxyConfig {
       return loginRatelimit;
     }
 
+    public boolean isConnectionThrottle() {
+      return connectionThrottle;
+    }
+
+    public List<String> getConnectionThrottleExempt() {
+      return connectionThrottleExempt;
+    }
+
     public int getConnectionTimeout() {
       return connectionTimeout;
     }
@@ -804,12 +885,30 @@ public class VelocityConfiguration implements ProxyConfig {
       return this.acceptTransfers;
     }
 
+    public String getPrometheusBind() {
+      return prometheusBind;
+    }
+
+    public boolean isTrafficMetrics() {
+      return trafficMetrics;
+    }
+
+    public int getPingPassthroughCacheTtl() {
+      return pingPassthroughCacheTtl;
+    }
+
+    public int getListenerSockets() {
+      return listenerSockets;
+    }
+
     @Override
     public String toString() {
       return "Advanced{"
           + "compressionThreshold=" + compressionThreshold
           + ", compressionLevel=" + compressionLevel
           + ", loginRatelimit=" + loginRatelimit
+          + ", connectionThrottle=" + connectionThrottle
+          + ", connectionThrottleExempt=" + connectionThrottleExempt
           + ", connectionTimeout=" + connectionTimeout
           + ", readTimeout=" + readTimeout
           + ", proxyProtocol=" + proxyProtocol
@@ -821,6 +920,10 @@ public class VelocityConfiguration implements ProxyConfig {
           + ", logCommandExecutions=" + logCommandExecutions
           + ", logPlayerConnections=" + logPlayerConnections
           + ", acceptTransfers=" + acceptTransfers
+          + ", prometheusBind='" + prometheusBind + '\''
+          + ", trafficMetrics=" + trafficMetrics
+          + ", pingPassthroughCacheTtl=" + pingPassthroughCacheTtl
+          + ", listenerSockets=" + listenerSockets
           + '}';
     }
   }
@@ -835,6 +938,8 @@ public class VelocityConfiguration implements ProxyConfig {
     private String queryMap = "Velocity";
     @Expose
     private boolean showPlugins = false;
+    @Expose
+    private int cacheTtl = 1000;
 
     private Query() {
     }
@@ -852,6 +957,7 @@ public class VelocityConfiguration implements ProxyConfig {
         this.queryPort = config.getIntOrElse("port", 25565);
         this.queryMap = config.getOrElse("map", "Velocity");
         this.showPlugins = config.getOrElse("show-plugins", false);
+        this.cacheTtl = config.getIntOrElse("cache-ttl", 1000);
       }
     }
 
@@ -871,6 +977,10 @@ public class VelocityConfiguration implements ProxyConfig {
       return showPlugins;
     }
 
+    public int getCacheTtl() {
+      return cacheTtl;
+    }
+
     @Override
     public String toString() {
       return "Query{"
@@ -878,6 +988,7 @@ public class VelocityConfiguration implements ProxyConfig {
           + ", queryPort=" + queryPort
           + ", queryMap='" + queryMap + '\''
           + ", showPlugins=" + showPlugins
+          + ", cacheTtl=" + cacheTtl
           + '}';
     }
   }
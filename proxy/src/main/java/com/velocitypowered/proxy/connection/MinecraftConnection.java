@@ -36,10 +36,13 @@ import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.connection.client.HandshakeSessionHandler;
 import com.velocitypowered.proxy.connection.client.InitialLoginSessionHandler;
 import com.velocitypowered.proxy.connection.client.StatusSessionHandler;
+import com.velocitypowered.proxy.metrics.TrafficCounter;
+import com.velocitypowered.proxy.metrics.VelocityProxyMetrics;
 import com.velocitypowered.proxy.network.Connections;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.VelocityConnectionEvent;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCipherDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCipherEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCompressDecoder;
@@ -161,6 +164,8 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
             proxyMessage.sourcePort());
       } else if (msg instanceof ByteBuf) {
         activeSessionHandler.handleUnknown((ByteBuf) msg);
+      } else if (msg instanceof CompressedFrame frame) {
+        activeSessionHandler.handleUnknown(frame);
       }
     } finally {
       ReferenceCountUtil.release(msg);
@@ -414,6 +419,25 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
     return protocolVersion;
   }
 
+  /**
+   * Sets the counter the packets sent and received over this connection are recorded to, in
+   * addition to the proxy-wide metrics.
+   *
+   * @param traffic the counter to record packets to
+   */
+  public void setTrafficCounter(TrafficCounter traffic) {
+    ensureInEventLoop();
+
+    final MinecraftEncoder minecraftEncoder = this.channel.pipeline().get(MinecraftEncoder.class);
+    if (minecraftEncoder != null) {
+      minecraftEncoder.setTrafficCounter(traffic);
+    }
+    final MinecraftDecoder minecraftDecoder = this.channel.pipeline().get(MinecraftDecoder.class);
+    if (minecraftDecoder != null) {
+      minecraftDecoder.setTrafficCounter(traffic);
+    }
+  }
+
   public BungeeHandshakeData getBungeeHandshakeData() {
     return bungeeHandshakeData;
   }
@@ -554,8 +578,11 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
         int level = server.getConfiguration().getCompressionLevel();
         VelocityCompressor compressor = Natives.compress.get().create(level);
 
-        encoder = new MinecraftCompressorAndLengthEncoder(threshold, compressor);
-        decoder = new MinecraftCompressDecoder(threshold, compressor);
+        VelocityProxyMetrics metrics = server.getMetrics();
+        encoder = new MinecraftCompressorAndLengthEncoder(threshold, compressor,
+            metrics.getCompressionCounter());
+        decoder = new MinecraftCompressDecoder(threshold, compressor,
+            metrics.getDecompressionCounter());
 
         channel.pipeline().remove(FRAME_ENCODER);
         channel.pipeline().addBefore(MINECRAFT_DECODER, COMPRESSION_DECODER, decoder);
@@ -581,10 +608,11 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
     VelocityCipherFactory factory = Natives.cipher.get();
     VelocityCipher decryptionCipher = factory.forDecryption(key);
     VelocityCipher encryptionCipher = factory.forEncryption(key);
-    channel.pipeline()
-        .addBefore(FRAME_DECODER, CIPHER_DECODER, new MinecraftCipherDecoder(decryptionCipher));
-    channel.pipeline()
-        .addBefore(FRAME_ENCODER, CIPHER_ENCODER, new MinecraftCipherEncoder(encryptionCipher));
+    VelocityProxyMetrics metrics = server.getMetrics();
+    channel.pipeline().addBefore(FRAME_DECODER, CIPHER_DECODER,
+        new MinecraftCipherDecoder(decryptionCipher, metrics.getDecryptionCounter()));
+    channel.pipeline().addBefore(FRAME_ENCODER, CIPHER_ENCODER,
+        new MinecraftCipherEncoder(encryptionCipher, metrics.getEncryptionCounter()));
 
     channel.pipeline().fireUserEventTriggered(VelocityConnectionEvent.ENCRYPTION_ENABLED);
   }
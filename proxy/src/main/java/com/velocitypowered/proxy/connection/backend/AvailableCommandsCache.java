@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.command.CommandGraphInjector;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.AvailableCommandsPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches the {@link AvailableCommandsPacket}s sent to players, once the commands of the proxy were
+ * injected into them. Backend servers tend to send the same commands to every player with the
+ * same permissions, and deserializing, merging and serializing the command graph again for each
+ * of them is expensive on servers with many commands.
+ *
+ * <p>Cached packets may only be reused if no listener can modify the commands sent to a player.
+ */
+public final class AvailableCommandsCache {
+
+  private static final long MAXIMUM_WEIGHT =
+      Long.getLong("velocity.available-commands-cache-size", 32L * 1024 * 1024);
+
+  private final Cache<Key, ByteBuf> packets = Caffeine.newBuilder()
+      .maximumWeight(MAXIMUM_WEIGHT)
+      .<Key, ByteBuf>weigher((key, packet) -> key.graph().capacity() + packet.capacity())
+      .expireAfterAccess(10, TimeUnit.MINUTES)
+      .build();
+
+  /**
+   * Returns the cached packet for the specified {@code key}. The returned buffer starts with the
+   * packet ID and must be released by the caller, usually by writing it to the connection.
+   *
+   * @param key the key of the packet
+   * @return the encoded packet, or {@code null} if it is not cached
+   */
+  public @Nullable ByteBuf get(Key key) {
+    ByteBuf packet = packets.getIfPresent(key);
+    return packet == null ? null : packet.retainedDuplicate();
+  }
+
+  /**
+   * Encodes the {@code packet} and caches it under the specified {@code key}.
+   *
+   * @param key the key of the packet
+   * @param packet the packet to encode, with the commands of the proxy already injected
+   * @return the encoded packet, which must be released by the caller
+   */
+  public ByteBuf put(Key key, AvailableCommandsPacket packet) {
+    ByteBuf buf = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(buf, StateRegistry.PLAY
+        .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, key.version())
+        .getPacketId(packet));
+    packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, key.version());
+    // The cache may evict the buffer while it is still being written, leave it to the GC.
+    ByteBuf unreleasable = Unpooled.unreleasableBuffer(buf);
+    packets.put(key, unreleasable);
+    return unreleasable.retainedDuplicate();
+  }
+
+  /**
+   * Identifies a cached packet.
+   *
+   * @param graph the command graph as it was sent by the backend server
+   * @param requirements the requirements of the proxy's commands satisfied by the player
+   * @param version the protocol version of the player
+   */
+  public record Key(ByteBuffer graph,
+                    CommandGraphInjector.SatisfiedRequirements requirements,
+                    ProtocolVersion version) {
+  }
+}
@@ -46,6 +46,7 @@ import com.velocitypowered.proxy.connection.player.resourcepack.handler.Resource
 import com.velocitypowered.proxy.connection.util.ConnectionMessages;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
 import com.velocitypowered.proxy.protocol.packet.AvailableCommandsPacket;
 import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
@@ -70,10 +71,11 @@ import com.velocitypowered.proxy.protocol.packet.config.StartUpdatePacket;
 import com.velocitypowered.proxy.protocol.util.PluginMessageUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.handler.timeout.ReadTimeoutException;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import net.kyori.adventure.key.Key;
 import org.apache.logging.log4j.LogManager;
@@ -311,17 +313,23 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
       return false;
     }
 
-    byte[] copy = ByteBufUtil.getBytes(packet.content());
-    PluginMessageEvent event = new PluginMessageEvent(serverConn, serverConn.getPlayer(), id, copy);
+    // The event reads the payload straight from the packet, which is kept alive until the event is
+    // done. Reads fail once the event is done, unless the payload was copied. The reference count
+    // of the payload can't tell, as Netty recycles released slices.
+    AtomicBoolean released = new AtomicBoolean();
+    PluginMessageEvent event = new PluginMessageEvent(serverConn, serverConn.getPlayer(), id,
+        packet.content().nioBuffer(), released::get);
+    packet.retain();
     server.getEventManager().fire(event).thenAcceptAsync(pme -> {
       if (pme.getResult().isAllowed() && !playerConnection.isClosed()) {
-        PluginMessagePacket copied = new PluginMessagePacket(
-                packet.getChannel(), Unpooled.wrappedBuffer(copy));
-        playerConnection.write(copied);
+        playerConnection.write(packet.retain());
       }
-    }, playerConnection.eventLoop()).exceptionally((ex) -> {
-      logger.error("Exception while handling plugin message {}", packet, ex);
-      return null;
+    }, playerConnection.eventLoop()).whenComplete((ignored, ex) -> {
+      if (ex != null) {
+        logger.error("Exception while handling plugin message {}", packet, ex);
+      }
+      released.set(true);
+      packet.release();
     });
     return true;
   }
@@ -352,6 +360,30 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
 
   @Override
   public boolean handle(AvailableCommandsPacket commands) {
+    final ByteBuffer graph = commands.getEncodedGraph();
+    if (graph != null
+        && !server.getEventManager().hasSubscribers(PlayerAvailableCommandsEvent.class)) {
+      // Nobody can modify the commands sent, so players that would be sent the same commands can
+      // share the same encoded packet.
+      if (!server.getConfiguration().isAnnounceProxyCommands()) {
+        playerConnection.write(commands);
+        return true;
+      }
+
+      final CommandGraphInjector<CommandSource> injector = server.getCommandManager().getInjector();
+      final AvailableCommandsCache.Key key = new AvailableCommandsCache.Key(graph,
+          injector.getRequirements(serverConn.getPlayer()), playerConnection.getProtocolVersion());
+      ByteBuf encoded = server.getAvailableCommandsCache().get(key);
+      if (encoded == null) {
+        RootCommandNode<CommandSource> rootNode = commands.getRootNode();
+        injector.inject(rootNode, key.requirements());
+        rootNode.removeChildByName("velocity:callback");
+        encoded = server.getAvailableCommandsCache().put(key, commands);
+      }
+      playerConnection.write(encoded);
+      return true;
+    }
+
     RootCommandNode<CommandSource> rootNode = commands.getRootNode();
     if (server.getConfiguration().isAnnounceProxyCommands()) {
       // Inject commands from the proxy.
@@ -447,18 +479,26 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
       ((PluginMessagePacket) packet).retain();
     }
     playerConnection.delayedWrite(packet);
-    if (++packetsFlushed >= MAXIMUM_PACKETS_TO_FLUSH) {
-      playerConnection.flush();
-      packetsFlushed = 0;
-    }
+    flushIfBatchFull();
   }
 
   @Override
   public void handleUnknown(ByteBuf buf) {
     playerConnection.delayedWrite(buf.retain());
+    flushIfBatchFull();
+  }
+
+  @Override
+  public void handleUnknown(CompressedFrame frame) {
+    playerConnection.delayedWrite(frame.retain());
+    flushIfBatchFull();
+  }
+
+  private void flushIfBatchFull() {
     if (++packetsFlushed >= MAXIMUM_PACKETS_TO_FLUSH) {
       playerConnection.flush();
       packetsFlushed = 0;
+      server.getMetrics().recordBackendFlush(true);
     }
   }
 
@@ -466,6 +506,7 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
   public void readCompleted() {
     playerConnection.flush();
     packetsFlushed = 0;
+    server.getMetrics().recordBackendFlush(false);
   }
 
   @Override
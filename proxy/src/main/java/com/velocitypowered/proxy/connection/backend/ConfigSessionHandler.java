@@ -37,6 +37,7 @@ import com.velocitypowered.proxy.connection.util.ConnectionRequestResults;
 import com.velocitypowered.proxy.connection.util.ConnectionRequestResults.Impl;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
 import com.velocitypowered.proxy.protocol.packet.ClientboundCookieRequestPacket;
 import com.velocitypowered.proxy.protocol.packet.ClientboundStoreCookiePacket;
@@ -57,6 +58,7 @@ import com.velocitypowered.proxy.protocol.util.PluginMessageUtil;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.DataFormatException;
 import net.kyori.adventure.key.Key;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -117,7 +119,9 @@ public class ConfigSessionHandler implements MinecraftSessionHandler {
 
   @Override
   public boolean handle(TagsUpdatePacket packet) {
-    serverConn.getPlayer().getConnection().write(packet);
+    if (!writeCachedConfigurationData(packet)) {
+      serverConn.getPlayer().getConnection().write(packet);
+    }
     return true;
   }
 
@@ -268,7 +272,27 @@ public class ConfigSessionHandler implements MinecraftSessionHandler {
 
   @Override
   public boolean handle(RegistrySyncPacket packet) {
-    serverConn.getPlayer().getConnection().write(packet.retain());
+    if (!writeCachedConfigurationData(packet)) {
+      serverConn.getPlayer().getConnection().write(packet.retain());
+    }
+    return true;
+  }
+
+  private boolean writeCachedConfigurationData(MinecraftPacket packet) {
+    MinecraftConnection connection = serverConn.getPlayer().getConnection();
+    CompressedFrame frame;
+    try {
+      frame = server.getConfigurationDataCache().get(connection, packet,
+          server.getConfiguration().getCompressionLevel());
+    } catch (DataFormatException e) {
+      logger.error("Unable to compress configuration data sent by {}",
+          serverConn.getServerInfo().getName(), e);
+      return false;
+    }
+    if (frame == null) {
+      return false;
+    }
+    connection.write(frame);
     return true;
   }
 
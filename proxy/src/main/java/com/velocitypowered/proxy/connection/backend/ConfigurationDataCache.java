@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.metrics.CacheStatistics;
+import com.velocitypowered.natives.compression.VelocityCompressor;
+import com.velocitypowered.natives.util.MoreByteBufUtils;
+import com.velocitypowered.natives.util.Natives;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.network.Connections;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
+import com.velocitypowered.proxy.protocol.netty.MinecraftCompressorAndLengthEncoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelPipeline;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches the compressed registry and tag data backend servers send to players in the
+ * configuration phase. This data is often several hundred kilobytes large and identical for every
+ * player joining the same server, so compressing it again for every player is wasteful.
+ *
+ * <p>The data is identified by a hash of its contents, so servers sending the same data share the
+ * cached entries. The cached frames carry no compressor of their own: a connection that has to
+ * inflate one again uses its own compressor.
+ */
+public final class ConfigurationDataCache {
+
+  private static final long MAXIMUM_WEIGHT =
+      Long.getLong("velocity.configuration-data-cache-size", 32L * 1024 * 1024);
+
+  private final Cache<Key, ByteBuf> frames = Caffeine.newBuilder()
+      .maximumWeight(MAXIMUM_WEIGHT)
+      .<Key, ByteBuf>weigher((key, frame) -> frame.capacity())
+      .expireAfterAccess(10, TimeUnit.MINUTES)
+      .recordStats()
+      .build();
+
+  /**
+   * Returns the {@code packet} in its compressed form, ready to be written to the
+   * {@code connection}. The packet is compressed and cached if it was not cached before.
+   *
+   * <p>No frame is returned if the connection would not compress the packet, in which case the
+   * packet should be written as usual.
+   *
+   * @param connection the connection the packet will be written to
+   * @param packet the packet to write
+   * @param compressionLevel the compression level to compress the packet with
+   * @return the compressed packet, or {@code null} if the packet should be written as usual
+   * @throws DataFormatException if the packet could not be compressed
+   */
+  public @Nullable CompressedFrame get(MinecraftConnection connection, MinecraftPacket packet,
+      int compressionLevel) throws DataFormatException {
+    ChannelPipeline pipeline = connection.getChannel().pipeline();
+    MinecraftCompressorAndLengthEncoder encoder = (MinecraftCompressorAndLengthEncoder)
+        pipeline.get(Connections.COMPRESSION_ENCODER);
+    // Frames skip the encoder, so make sure the packet would have been encoded for this state.
+    if (encoder == null
+        || pipeline.get(MinecraftEncoder.class).getState() != StateRegistry.CONFIG) {
+      return null;
+    }
+
+    ProtocolVersion version = connection.getProtocolVersion();
+    int packetId = StateRegistry.CONFIG
+        .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, version)
+        .getPacketId(packet);
+    ByteBuf uncompressed = Unpooled.buffer();
+    try {
+      ProtocolUtils.writeVarInt(uncompressed, packetId);
+      packet.encode(uncompressed, ProtocolUtils.Direction.CLIENTBOUND, version);
+      int uncompressedSize = uncompressed.readableBytes();
+      // Frames below the threshold would have to be inflated again before they can be sent.
+      if (uncompressedSize < encoder.getThreshold()) {
+        return null;
+      }
+
+      Key key = new Key(Hashing.murmur3_128().hashBytes(uncompressed.nioBuffer()),
+          uncompressedSize, version, compressionLevel);
+      ByteBuf compressed = frames.getIfPresent(key);
+      if (compressed == null) {
+        compressed = compress(uncompressed, compressionLevel);
+        frames.put(key, compressed);
+      }
+      return new CompressedFrame(compressed.retainedDuplicate(), packetId, uncompressedSize,
+          null);
+    } finally {
+      uncompressed.release();
+    }
+  }
+
+  private static ByteBuf compress(ByteBuf uncompressed, int compressionLevel)
+      throws DataFormatException {
+    // Misses are rare and the data is large, so creating a compressor for each miss costs little
+    // next to the deflating itself, and it is never shared between threads.
+    try (VelocityCompressor compressor = Natives.compress.get().create(compressionLevel)) {
+      ByteBufAllocator alloc = ByteBufAllocator.DEFAULT;
+      ByteBuf compatibleIn = MoreByteBufUtils.ensureCompatible(alloc, compressor,
+          uncompressed.duplicate());
+      ByteBuf out = MoreByteBufUtils.preferredBuffer(alloc, compressor,
+          uncompressed.readableBytes());
+      try {
+        compressor.deflate(compatibleIn, out);
+        // The cache may evict the frame while it is still being written, leave it to the GC.
+        return Unpooled.unreleasableBuffer(Unpooled.copiedBuffer(out));
+      } finally {
+        compatibleIn.release();
+        out.release();
+      }
+    }
+  }
+
+  /**
+   * Returns statistics about the cache.
+   *
+   * @return the cache statistics
+   */
+  public CacheStatistics snapshot() {
+    CacheStats stats = frames.stats();
+    long bytes = frames.policy().eviction()
+        .map(eviction -> eviction.weightedSize().orElse(0))
+        .orElse(0L);
+    return new CacheStatistics(stats.hitCount(), stats.missCount(), frames.estimatedSize(),
+        bytes);
+  }
+
+  /**
+   * Discards the cached frames. Frames that are still queued to be written stay valid.
+   */
+  public void shutdown() {
+    frames.invalidateAll();
+  }
+
+  private record Key(HashCode hash, int uncompressedSize, ProtocolVersion version,
+      int compressionLevel) {
+  }
+}
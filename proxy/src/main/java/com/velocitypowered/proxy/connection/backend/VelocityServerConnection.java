@@ -39,6 +39,7 @@ import com.velocitypowered.proxy.connection.PlayerDataForwarding;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.connection.forge.modern.ModernForgeConnectionType;
 import com.velocitypowered.proxy.connection.util.ConnectionRequestResults.Impl;
+import com.velocitypowered.proxy.metrics.VelocityProxyMetrics;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.packet.HandshakePacket;
 import com.velocitypowered.proxy.protocol.packet.JoinGamePacket;
@@ -106,6 +107,11 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
           if (future.isSuccess()) {
             connection = new MinecraftConnection(future.channel(), server);
             connection.setAssociation(VelocityServerConnection.this);
+            VelocityProxyMetrics metrics = server.getTrafficMetrics();
+            if (metrics != null) {
+              connection.setTrafficCounter(
+                  metrics.getServerTrafficCounter(registeredServer.getServerInfo().getName()));
+            }
             future.channel().pipeline().addLast(HANDLER, connection);
 
             // Kick off the connection process
@@ -43,6 +43,7 @@ import com.velocitypowered.proxy.connection.forge.legacy.LegacyForgeConstants;
 import com.velocitypowered.proxy.connection.player.resourcepack.ResourcePackResponseBundle;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
 import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
 import com.velocitypowered.proxy.protocol.packet.ClientSettingsPacket;
 import com.velocitypowered.proxy.protocol.packet.JoinGamePacket;
@@ -75,8 +76,6 @@ import com.velocitypowered.proxy.protocol.packet.title.GenericTitlePacket;
 import com.velocitypowered.proxy.protocol.util.PluginMessageUtil;
 import com.velocitypowered.proxy.util.CharacterUtil;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.Unpooled;
 import io.netty.util.ReferenceCountUtil;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -86,6 +85,7 @@ import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -358,23 +358,29 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
               backendConn.write(packet.retain());
             }
           } else {
-            byte[] copy = ByteBufUtil.getBytes(packet.content());
-            PluginMessageEvent event = new PluginMessageEvent(player, serverConn, id, copy);
+            // The event reads the payload straight from the packet, which is kept alive until the
+            // event is done. Reads fail once the event is done, unless the payload was copied. The
+            // reference count of the payload can't tell, as Netty recycles released slices.
+            AtomicBoolean released = new AtomicBoolean();
+            PluginMessageEvent event = new PluginMessageEvent(player, serverConn, id,
+                packet.content().nioBuffer(), released::get);
+            packet.retain();
             server.getEventManager().fire(event).thenAcceptAsync(pme -> {
               if (pme.getResult().isAllowed()) {
-                PluginMessagePacket message = new PluginMessagePacket(packet.getChannel(),
-                    Unpooled.wrappedBuffer(copy));
                 if (!player.getPhase().consideredComplete() || !serverConn.getPhase()
                     .consideredComplete()) {
                   // We're still processing the connection (see above), enqueue the packet for now.
-                  loginPluginMessages.add(message.retain());
+                  loginPluginMessages.add(packet.retain());
                 } else {
-                  backendConn.write(message);
+                  backendConn.write(packet.retain());
                 }
               }
-            }, backendConn.eventLoop()).exceptionally((ex) -> {
-              logger.error("Exception while handling plugin message packet for {}", player, ex);
-              return null;
+            }, backendConn.eventLoop()).whenComplete((ignored, ex) -> {
+              if (ex != null) {
+                logger.error("Exception while handling plugin message packet for {}", player, ex);
+              }
+              released.set(true);
+              packet.release();
             });
           }
         }
@@ -475,6 +481,20 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
     }
   }
 
+  @Override
+  public void handleUnknown(CompressedFrame frame) {
+    VelocityServerConnection serverConnection = player.getConnectedServer();
+    if (serverConnection == null) {
+      // No server connection yet, probably transitioning.
+      return;
+    }
+
+    MinecraftConnection smc = serverConnection.getConnection();
+    if (smc != null && !smc.isClosed() && serverConnection.getPhase().consideredComplete()) {
+      smc.write(frame.retain());
+    }
+  }
+
   @Override
   public void disconnected() {
     player.teardown();
@@ -67,6 +67,7 @@ import com.velocitypowered.proxy.connection.player.resourcepack.handler.Resource
 import com.velocitypowered.proxy.connection.util.ConnectionMessages;
 import com.velocitypowered.proxy.connection.util.ConnectionRequestResults.Impl;
 import com.velocitypowered.proxy.connection.util.VelocityInboundConnection;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
 import com.velocitypowered.proxy.protocol.packet.BundleDelimiterPacket;
@@ -114,6 +115,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.identity.Identity;
@@ -388,6 +390,17 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
     return connection.getProtocolVersion();
   }
 
+  /**
+   * Returns the locale messages sent to this player are translated into.
+   *
+   * @return the locale to translate messages into
+   */
+  public Locale getTranslationLocale() {
+    Locale locale = getEffectiveLocale();
+    return ClosestLocaleMatcher.INSTANCE
+        .lookupClosest(locale == null ? Locale.getDefault() : locale);
+  }
+
   /**
    * Translates the message in the user's locale.
    *
@@ -395,17 +408,12 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
    * @return the translated message
    */
   public Component translateMessage(Component message) {
-    Locale locale = ClosestLocaleMatcher.INSTANCE
-        .lookupClosest(getEffectiveLocale() == null ? Locale.getDefault() : getEffectiveLocale());
-    return GlobalTranslator.render(message, locale);
+    return GlobalTranslator.render(message, getTranslationLocale());
   }
 
   @Override
   public void sendMessage(@NonNull Identity identity, @NonNull Component message) {
-    final Component translated = translateMessage(message);
-
-    connection.write(getChatBuilderFactory().builder()
-        .component(translated).forIdentity(identity).toClient());
+    connection.write(createChatPacket(identity, translateMessage(message), null));
   }
 
   @Override
@@ -414,25 +422,47 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
     Preconditions.checkNotNull(message, "message");
     Preconditions.checkNotNull(type, "type");
 
-    Component translated = translateMessage(message);
+    connection.write(createChatPacket(identity, translateMessage(message), type));
+  }
 
-    connection.write(getChatBuilderFactory().builder()
-        .component(translated).forIdentity(identity)
-        .setType(type == MessageType.CHAT ? ChatType.CHAT : ChatType.SYSTEM)
-        .toClient());
+  /**
+   * Creates the packet used to send an already translated chat message to this player.
+   *
+   * @param identity the identity of the sender
+   * @param translated the translated message
+   * @param type the type of the message, or {@code null} to use the default type
+   * @return the chat packet
+   */
+  public MinecraftPacket createChatPacket(Identity identity, Component translated,
+      @Nullable MessageType type) {
+    ChatBuilderV2 builder = getChatBuilderFactory().builder()
+        .component(translated).forIdentity(identity);
+    if (type != null) {
+      builder.setType(type == MessageType.CHAT ? ChatType.CHAT : ChatType.SYSTEM);
+    }
+    return builder.toClient();
   }
 
   @Override
   public void sendActionBar(net.kyori.adventure.text.@NonNull Component message) {
-    Component translated = translateMessage(message);
+    connection.write(createActionBarPacket(getProtocolVersion(), translateMessage(message)));
+  }
 
-    ProtocolVersion playerVersion = getProtocolVersion();
-    if (playerVersion.noLessThan(ProtocolVersion.MINECRAFT_1_11)) {
+  /**
+   * Creates the packet used to show an already translated action bar message.
+   *
+   * @param version the protocol version of the recipient
+   * @param translated the translated message
+   * @return the action bar packet
+   */
+  public static MinecraftPacket createActionBarPacket(ProtocolVersion version,
+      Component translated) {
+    if (version.noLessThan(ProtocolVersion.MINECRAFT_1_11)) {
       // Use the title packet instead.
       GenericTitlePacket pkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_ACTION_BAR, playerVersion);
-      pkt.setComponent(new ComponentHolder(playerVersion, translated));
-      connection.write(pkt);
+          GenericTitlePacket.ActionType.SET_ACTION_BAR, version);
+      pkt.setComponent(new ComponentHolder(version, translated));
+      return pkt;
     } else {
       // Due to issues with action bar packets, we'll need to convert the text message into a
       // legacy message and then inject the legacy text into a component... yuck!
@@ -442,7 +472,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
       LegacyChatPacket legacyChat = new LegacyChatPacket();
       legacyChat.setMessage(object.toString());
       legacyChat.setType(LegacyChatPacket.GAME_INFO_TYPE);
-      connection.write(legacyChat);
+      return legacyChat;
     }
   }
 
@@ -481,36 +511,70 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
 
   @Override
   public void showTitle(net.kyori.adventure.title.@NonNull Title title) {
-    if (this.getProtocolVersion().noLessThan(ProtocolVersion.MINECRAFT_1_8)) {
-      GenericTitlePacket timesPkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_TIMES, this.getProtocolVersion());
-      net.kyori.adventure.title.Title.Times times = title.times();
-      if (times != null) {
-        timesPkt.setFadeIn((int) DurationUtils.toTicks(times.fadeIn()));
-        timesPkt.setStay((int) DurationUtils.toTicks(times.stay()));
-        timesPkt.setFadeOut((int) DurationUtils.toTicks(times.fadeOut()));
-      }
-      connection.delayedWrite(timesPkt);
-
-      GenericTitlePacket subtitlePkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_SUBTITLE, this.getProtocolVersion());
-      subtitlePkt.setComponent(new ComponentHolder(
-          this.getProtocolVersion(), translateMessage(title.subtitle())));
-      connection.delayedWrite(subtitlePkt);
+    for (GenericTitlePacket packet : createTitlePackets(
+        this.getProtocolVersion(), title, this::translateMessage)) {
+      connection.delayedWrite(packet);
+    }
+    connection.flush();
+  }
 
-      GenericTitlePacket titlePkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_TITLE, this.getProtocolVersion());
-      titlePkt.setComponent(new ComponentHolder(
-          this.getProtocolVersion(), translateMessage(title.title())));
-      connection.delayedWrite(titlePkt);
+  /**
+   * Creates the packets used to show a title. Titles are not supported before Minecraft 1.8, in
+   * which case no packets are returned.
+   *
+   * @param version the protocol version of the recipient
+   * @param title the title to show
+   * @param translator translates the components of the title
+   * @return the title packets, in the order they should be sent
+   */
+  public static List<GenericTitlePacket> createTitlePackets(ProtocolVersion version,
+      net.kyori.adventure.title.Title title, UnaryOperator<Component> translator) {
+    if (version.lessThan(ProtocolVersion.MINECRAFT_1_8)) {
+      return List.of();
+    }
 
-      connection.flush();
+    GenericTitlePacket timesPkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_TIMES, version);
+    net.kyori.adventure.title.Title.Times times = title.times();
+    if (times != null) {
+      timesPkt.setFadeIn((int) DurationUtils.toTicks(times.fadeIn()));
+      timesPkt.setStay((int) DurationUtils.toTicks(times.stay()));
+      timesPkt.setFadeOut((int) DurationUtils.toTicks(times.fadeOut()));
     }
+
+    GenericTitlePacket subtitlePkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_SUBTITLE, version);
+    subtitlePkt.setComponent(new ComponentHolder(version, translator.apply(title.subtitle())));
+
+    GenericTitlePacket titlePkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_TITLE, version);
+    titlePkt.setComponent(new ComponentHolder(version, translator.apply(title.title())));
+
+    return List.of(timesPkt, subtitlePkt, titlePkt);
   }
 
-  @SuppressWarnings("ConstantValue")
   @Override
   public <T> void sendTitlePart(@NotNull TitlePart<T> part, @NotNull T value) {
+    GenericTitlePacket packet = createTitlePartPacket(
+        this.getProtocolVersion(), part, value, this::translateMessage);
+    if (packet != null) {
+      connection.write(packet);
+    }
+  }
+
+  /**
+   * Creates the packet used to send a part of a title.
+   *
+   * @param version the protocol version of the recipient
+   * @param part the part of the title to send
+   * @param value the value of the part
+   * @param translator translates the component of the part, if it has one
+   * @param <T> the type of the part
+   * @return the title packet, or {@code null} if titles are not supported by {@code version}
+   */
+  @SuppressWarnings("ConstantValue")
+  public static <T> @Nullable GenericTitlePacket createTitlePartPacket(ProtocolVersion version,
+      TitlePart<T> part, T value, UnaryOperator<Component> translator) {
     if (part == null) {
       throw new NullPointerException("part");
     }
@@ -518,30 +582,28 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
       throw new NullPointerException("value");
     }
 
-    if (this.getProtocolVersion().lessThan(ProtocolVersion.MINECRAFT_1_8)) {
-      return;
+    if (version.lessThan(ProtocolVersion.MINECRAFT_1_8)) {
+      return null;
     }
 
     if (part == TitlePart.TITLE) {
       GenericTitlePacket titlePkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_TITLE, this.getProtocolVersion());
-      titlePkt.setComponent(new ComponentHolder(
-          this.getProtocolVersion(), translateMessage((Component) value)));
-      connection.write(titlePkt);
+          GenericTitlePacket.ActionType.SET_TITLE, version);
+      titlePkt.setComponent(new ComponentHolder(version, translator.apply((Component) value)));
+      return titlePkt;
     } else if (part == TitlePart.SUBTITLE) {
       GenericTitlePacket titlePkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_SUBTITLE, this.getProtocolVersion());
-      titlePkt.setComponent(new ComponentHolder(
-          this.getProtocolVersion(), translateMessage((Component) value)));
-      connection.write(titlePkt);
+          GenericTitlePacket.ActionType.SET_SUBTITLE, version);
+      titlePkt.setComponent(new ComponentHolder(version, translator.apply((Component) value)));
+      return titlePkt;
     } else if (part == TitlePart.TIMES) {
       Times times = (Times) value;
       GenericTitlePacket timesPkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_TIMES, this.getProtocolVersion());
+          GenericTitlePacket.ActionType.SET_TIMES, version);
       timesPkt.setFadeIn((int) DurationUtils.toTicks(times.fadeIn()));
       timesPkt.setStay((int) DurationUtils.toTicks(times.stay()));
       timesPkt.setFadeOut((int) DurationUtils.toTicks(times.fadeOut()));
-      connection.write(timesPkt);
+      return timesPkt;
     } else {
       throw new IllegalArgumentException("Title part " + part + " is not valid");
     }
@@ -39,6 +39,7 @@ import com.velocitypowered.proxy.protocol.packet.HandshakePacket;
 import com.velocitypowered.proxy.protocol.packet.LegacyDisconnect;
 import com.velocitypowered.proxy.protocol.packet.LegacyHandshakePacket;
 import com.velocitypowered.proxy.protocol.packet.LegacyPingPacket;
+import com.velocitypowered.proxy.util.ratelimit.ConnectionThrottle;
 import io.netty.buffer.ByteBuf;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -68,6 +69,10 @@ public class HandshakeSessionHandler implements MinecraftSessionHandler {
 
   @Override
   public boolean handle(LegacyPingPacket packet) {
+    if (isThrottled(ConnectionThrottle.Action.STATUS)) {
+      connection.close(true);
+      return true;
+    }
     connection.setProtocolVersion(ProtocolVersion.LEGACY);
     final StatusSessionHandler handler =
         new StatusSessionHandler(server, new LegacyInboundConnection(connection, packet));
@@ -91,6 +96,10 @@ public class HandshakeSessionHandler implements MinecraftSessionHandler {
     if (nextState == null) {
       LOGGER.error("{} provided invalid protocol {}", this, handshake.getNextStatus());
       connection.close(true);
+    } else if (nextState == StateRegistry.STATUS
+        && isThrottled(ConnectionThrottle.Action.STATUS)) {
+      // Close throttled pings right away, before any more work is done for them
+      connection.close(true);
     } else {
       final InitialInboundConnection ic = new InitialInboundConnection(connection,
               cleanVhost(handshake.getServerAddress()), handshake);
@@ -120,6 +129,21 @@ public class HandshakeSessionHandler implements MinecraftSessionHandler {
     return true;
   }
 
+  private boolean isThrottled(ConnectionThrottle.Action action) {
+    if (!(connection.getRemoteAddress() instanceof InetSocketAddress remote)) {
+      return false;
+    }
+    final InetAddress address = remote.getAddress();
+    final ConnectionThrottle throttle = server.getConnectionThrottle();
+    // With the PROXY protocol, new connections could not be throttled when they were accepted
+    // as we did not know the real address of the client yet.
+    if (server.getConfiguration().isProxyProtocol()
+        && !throttle.attempt(ConnectionThrottle.Action.CONNECT, address)) {
+      return true;
+    }
+    return !throttle.attempt(action, address);
+  }
+
   private static @Nullable StateRegistry getStateForProtocol(int status) {
     return switch (status) {
       case StateRegistry.STATUS_ID -> StateRegistry.STATUS;
@@ -140,7 +164,10 @@ public class HandshakeSessionHandler implements MinecraftSessionHandler {
     }
 
     final InetAddress address = ((InetSocketAddress) connection.getRemoteAddress()).getAddress();
-    if (!server.getIpAttemptLimiter().attempt(address)) {
+    final ConnectionThrottle.Action throttleAction =
+        handshake.getIntent() == HandshakeIntent.TRANSFER
+            ? ConnectionThrottle.Action.TRANSFER : ConnectionThrottle.Action.LOGIN;
+    if (isThrottled(throttleAction) || !server.getIpAttemptLimiter().attempt(address)) {
       // Bump connection into correct protocol state so that we can send the disconnect packet.
       connection.setState(StateRegistry.LOGIN);
       ic.disconnectQuietly(Component.translatable("velocity.error.logging-in-too-fast"));
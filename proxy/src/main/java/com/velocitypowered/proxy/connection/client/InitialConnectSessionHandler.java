@@ -24,8 +24,7 @@ import com.velocitypowered.proxy.connection.MinecraftSessionHandler;
 import com.velocitypowered.proxy.connection.backend.BungeeCordMessageResponder;
 import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
 import com.velocitypowered.proxy.protocol.packet.PluginMessagePacket;
-import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.Unpooled;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -64,20 +63,25 @@ public class InitialConnectSessionHandler implements MinecraftSessionHandler {
         return true;
       }
 
-      byte[] copy = ByteBufUtil.getBytes(packet.content());
+      // The event reads the payload straight from the packet, which is kept alive until the event
+      // is done. Reads fail once the event is done, unless the payload was copied. The reference
+      // count of the payload can't tell, as Netty recycles released slices.
+      AtomicBoolean released = new AtomicBoolean();
       PluginMessageEvent event = new PluginMessageEvent(serverConn, serverConn.getPlayer(), id,
-          copy);
+          packet.content().nioBuffer(), released::get);
+      packet.retain();
       server.getEventManager().fire(event)
           .thenAcceptAsync(pme -> {
             if (pme.getResult().isAllowed() && serverConn.isActive()) {
-              PluginMessagePacket copied = new PluginMessagePacket(packet.getChannel(),
-                  Unpooled.wrappedBuffer(copy));
-              serverConn.ensureConnected().write(copied);
+              serverConn.ensureConnected().write(packet.retain());
             }
           }, player.getConnection().eventLoop())
-          .exceptionally((ex) -> {
-            logger.error("Exception while handling plugin message {}", packet, ex);
-            return null;
+          .whenComplete((ignored, ex) -> {
+            if (ex != null) {
+              logger.error("Exception while handling plugin message {}", packet, ex);
+            }
+            released.set(true);
+            packet.release();
           });
     }
     return true;
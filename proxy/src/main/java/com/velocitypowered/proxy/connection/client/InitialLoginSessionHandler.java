@@ -17,7 +17,6 @@
 
 package com.velocitypowered.proxy.connection.client;
 
-import static com.google.common.net.UrlEscapers.urlFormParameterEscaper;
 import static com.velocitypowered.proxy.VelocityServer.GENERAL_GSON;
 import static com.velocitypowered.proxy.connection.VelocityConstants.EMPTY_BYTE_ARRAY;
 import static com.velocitypowered.proxy.crypto.EncryptionUtils.decryptRsa;
@@ -43,21 +42,21 @@ import com.velocitypowered.proxy.protocol.packet.ServerLoginPacket;
 import com.velocitypowered.proxy.util.VelocityProperties;
 import io.netty.buffer.ByteBuf;
 import java.net.InetSocketAddress;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Handles authenticating the player to Mojang's servers.
@@ -65,10 +64,6 @@ import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 public class InitialLoginSessionHandler implements MinecraftSessionHandler {
 
   private static final Logger logger = LogManager.getLogger(InitialLoginSessionHandler.class);
-  private static final String MOJANG_HASJOINED_URL =
-      System.getProperty("mojang.sessionserver",
-              "https://sessionserver.mojang.com/session/minecraft/hasJoined")
-          .concat("?username=%s&serverId=%s");
 
   private final VelocityServer server;
   private final MinecraftConnection mcConnection;
@@ -77,6 +72,7 @@ public class InitialLoginSessionHandler implements MinecraftSessionHandler {
   private byte[] verify = EMPTY_BYTE_ARRAY;
   private LoginState currentState = LoginState.LOGIN_PACKET_EXPECTED;
   private final boolean forceKeyAuthentication;
+  private @Nullable CompletableFuture<HttpResponse<String>> authentication;
 
   InitialLoginSessionHandler(VelocityServer server, MinecraftConnection mcConnection,
                              LoginInboundConnection inbound) {
@@ -183,10 +179,16 @@ public class InitialLoginSessionHandler implements MinecraftSessionHandler {
       throw new IllegalStateException("No EncryptionRequest packet sent yet.");
     }
 
-    try {
-      KeyPair serverKeyPair = server.getServerKeyPair();
-      if (inbound.getIdentifiedKey() != null) {
-        IdentifiedKey playerKey = inbound.getIdentifiedKey();
+    // Decrypting the shared secret is expensive, so keep it off the event loop.
+    final KeyPair serverKeyPair = server.getServerKeyPair();
+    final IdentifiedKey playerKey = inbound.getIdentifiedKey();
+    final byte[] verify = this.verify;
+    server.getLoginCryptoExecutor().submit(() -> {
+      if (mcConnection.isClosed()) {
+        return null;
+      }
+
+      if (playerKey != null) {
         if (!playerKey.verifyDataSignature(packet.getVerifyToken(), verify,
             Longs.toByteArray(packet.getSalt()))) {
           throw new IllegalStateException("Invalid client public signature.");
@@ -200,89 +202,94 @@ public class InitialLoginSessionHandler implements MinecraftSessionHandler {
 
       byte[] decryptedSharedSecret = decryptRsa(serverKeyPair, packet.getSharedSecret());
       String serverId = generateServerId(decryptedSharedSecret, serverKeyPair.getPublic());
+      return new SharedSecret(decryptedSharedSecret, serverId);
+    }).whenCompleteAsync((secret, throwable) -> {
+      if (mcConnection.isClosed()) {
+        // The player disconnected while we were decrypting the shared secret.
+        return;
+      }
 
-      String playerIp = ((InetSocketAddress) mcConnection.getRemoteAddress()).getHostString();
-      String url = String.format(MOJANG_HASJOINED_URL,
-          urlFormParameterEscaper().escape(login.getUsername()), serverId);
-
-      if (server.getConfiguration().shouldPreventClientProxyConnections()) {
-        url += "&ip=" + urlFormParameterEscaper().escape(playerIp);
+      if (throwable instanceof RejectedExecutionException) {
+        logger.warn("Too many players are logging in, disconnecting {}", login.getUsername());
+        inbound.disconnect(Component.translatable("multiplayer.disconnect.authservers_down"));
+      } else if (throwable instanceof GeneralSecurityException) {
+        logger.error("Unable to enable encryption", throwable);
+        mcConnection.close(true);
+      } else if (throwable != null) {
+        logger.error("Unable to verify the encryption response of {}", login.getUsername(),
+            throwable);
+        mcConnection.close(true);
+      } else {
+        authenticate(login, secret);
       }
+    }, mcConnection.eventLoop());
+    return true;
+  }
 
-      final HttpRequest httpRequest = HttpRequest.newBuilder()
-              .setHeader("User-Agent",
-                      server.getVersion().getName() + "/" + server.getVersion().getVersion())
-              .uri(URI.create(url))
-              .build();
-      final HttpClient httpClient = server.createHttpClient();
-      httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
-          .whenCompleteAsync((response, throwable) -> {
-            if (mcConnection.isClosed()) {
-              // The player disconnected after we authenticated them.
-              return;
-            }
+  private void authenticate(ServerLoginPacket login, SharedSecret secret) {
+    final byte[] decryptedSharedSecret = secret.decryptedSharedSecret();
+    final String serverId = secret.serverId();
+    String playerIp = ((InetSocketAddress) mcConnection.getRemoteAddress()).getHostString();
+    authentication = server.getAuthenticationClient().hasJoined(login.getUsername(), serverId,
+        server.getConfiguration().shouldPreventClientProxyConnections() ? playerIp : null);
+    authentication
+        .whenCompleteAsync((response, throwable) -> {
+          if (mcConnection.isClosed()) {
+            // The player disconnected after we authenticated them.
+            return;
+          }
 
-            if (throwable != null) {
-              logger.error("Unable to authenticate player", throwable);
-              inbound.disconnect(Component.translatable("multiplayer.disconnect.authservers_down"));
-              return;
-            }
+          if (throwable instanceof RejectedExecutionException) {
+            logger.warn("Too many players are being authenticated, disconnecting {}",
+                login.getUsername());
+            inbound.disconnect(Component.translatable("multiplayer.disconnect.authservers_down"));
+            return;
+          }
+          if (throwable != null) {
+            logger.error("Unable to authenticate player", throwable);
+            inbound.disconnect(Component.translatable("multiplayer.disconnect.authservers_down"));
+            return;
+          }
 
-            // Go ahead and enable encryption. Once the client sends EncryptionResponse, encryption
-            // is enabled.
-            try {
-              mcConnection.enableEncryption(decryptedSharedSecret);
-            } catch (GeneralSecurityException e) {
-              logger.error("Unable to enable encryption for connection", e);
-              // At this point, the connection is encrypted, but something's wrong on our side and
-              // we can't do anything about it.
-              mcConnection.close(true);
-              return;
-            }
+          // Go ahead and enable encryption. Once the client sends EncryptionResponse, encryption
+          // is enabled.
+          try {
+            mcConnection.enableEncryption(decryptedSharedSecret);
+          } catch (GeneralSecurityException e) {
+            logger.error("Unable to enable encryption for connection", e);
+            // At this point, the connection is encrypted, but something's wrong on our side and
+            // we can't do anything about it.
+            mcConnection.close(true);
+            return;
+          }
 
-            if (response.statusCode() == 200) {
-              final GameProfile profile = GENERAL_GSON.fromJson(response.body(),
-                  GameProfile.class);
-              // Not so fast, now we verify the public key for 1.19.1+
-              if (inbound.getIdentifiedKey() != null
-                  && inbound.getIdentifiedKey().getKeyRevision() == IdentifiedKey.Revision.LINKED_V2
-                  && inbound.getIdentifiedKey() instanceof final IdentifiedKeyImpl key) {
-                if (!key.internalAddHolder(profile.getId())) {
-                  inbound.disconnect(
-                      Component.translatable("multiplayer.disconnect.invalid_public_key"));
-                }
+          if (response.statusCode() == 200) {
+            final GameProfile profile = GENERAL_GSON.fromJson(response.body(),
+                GameProfile.class);
+            // Not so fast, now we verify the public key for 1.19.1+
+            if (inbound.getIdentifiedKey() != null
+                && inbound.getIdentifiedKey().getKeyRevision() == IdentifiedKey.Revision.LINKED_V2
+                && inbound.getIdentifiedKey() instanceof final IdentifiedKeyImpl key) {
+              if (!key.internalAddHolder(profile.getId())) {
+                inbound.disconnect(
+                    Component.translatable("multiplayer.disconnect.invalid_public_key"));
               }
-              // All went well, initialize the session.
-              mcConnection.setActiveSessionHandler(StateRegistry.LOGIN,
-                  new AuthSessionHandler(server, inbound, profile, true));
-            } else if (response.statusCode() == 204) {
-              // Apparently an offline-mode user logged onto this online-mode proxy.
-              inbound.disconnect(
-                  Component.translatable("velocity.error.online-mode-only", NamedTextColor.RED));
-            } else {
-              // Something else went wrong
-              logger.error(
-                  "Got an unexpected error code {} whilst contacting Mojang to log in {} ({})",
-                  response.statusCode(), login.getUsername(), playerIp);
-              inbound.disconnect(Component.translatable("multiplayer.disconnect.authservers_down"));
             }
-          }, mcConnection.eventLoop())
-          .thenRun(() -> {
-            if (httpClient instanceof final AutoCloseable closeable) {
-              try {
-                closeable.close();
-              } catch (Exception e) {
-                // In Java 21, the HttpClient does not throw any Exception
-                // when trying to clean its resources, so this should not happen
-                logger.error("An unknown error occurred while trying to close an HttpClient", e);
-              }
-            }
-          });
-    } catch (GeneralSecurityException e) {
-      logger.error("Unable to enable encryption", e);
-      mcConnection.close(true);
-    }
-    return true;
+            // All went well, initialize the session.
+            mcConnection.setActiveSessionHandler(StateRegistry.LOGIN,
+                new AuthSessionHandler(server, inbound, profile, true));
+          } else if (response.statusCode() == 204) {
+            // Apparently an offline-mode user logged onto this online-mode proxy.
+            inbound.disconnect(
+                Component.translatable("velocity.error.online-mode-only", NamedTextColor.RED));
+          } else {
+            // Something else went wrong
+            logger.error(
+                "Got an unexpected error code {} whilst contacting Mojang to log in {} ({})",
+                response.statusCode(), login.getUsername(), playerIp);
+            inbound.disconnect(Component.translatable("multiplayer.disconnect.authservers_down"));
+          }
+        }, mcConnection.eventLoop());
   }
 
   private EncryptionRequestPacket generateEncryptionRequest() {
@@ -302,6 +309,10 @@ public class InitialLoginSessionHandler implements MinecraftSessionHandler {
 
   @Override
   public void disconnected() {
+    if (this.authentication != null) {
+      // Don't hold up other logins waiting for a player that has already left.
+      this.authentication.cancel(false);
+    }
     this.inbound.cleanup();
   }
 
@@ -316,6 +327,9 @@ public class InitialLoginSessionHandler implements MinecraftSessionHandler {
     }
   }
 
+  private record SharedSecret(byte[] decryptedSharedSecret, String serverId) {
+  }
+
   private enum LoginState {
     LOGIN_PACKET_EXPECTED,
     LOGIN_PACKET_RECEIVED,
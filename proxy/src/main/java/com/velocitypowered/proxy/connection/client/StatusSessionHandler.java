@@ -26,7 +26,6 @@ import com.velocitypowered.proxy.protocol.packet.LegacyDisconnect;
 import com.velocitypowered.proxy.protocol.packet.LegacyPingPacket;
 import com.velocitypowered.proxy.protocol.packet.StatusPingPacket;
 import com.velocitypowered.proxy.protocol.packet.StatusRequestPacket;
-import com.velocitypowered.proxy.protocol.packet.StatusResponsePacket;
 import com.velocitypowered.proxy.util.except.QuietRuntimeException;
 import io.netty.buffer.ByteBuf;
 import org.apache.logging.log4j.LogManager;
@@ -100,10 +99,8 @@ public class StatusSessionHandler implements MinecraftSessionHandler {
         .thenAcceptAsync(
             (event) -> {
               if (event.getResult().isAllowed()) {
-                final StringBuilder json = new StringBuilder();
-                VelocityServer.getPingGsonInstance(connection.getProtocolVersion())
-                        .toJson(event.getPing(), json);
-                connection.write(new StatusResponsePacket(json));
+                connection.write(server.getServerListPingHandler()
+                    .encodeStatusResponse(event.getPing(), connection.getProtocolVersion()));
               } else {
                 connection.close();
               }
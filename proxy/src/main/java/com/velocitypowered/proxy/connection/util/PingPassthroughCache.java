@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches the responses of the backend servers pinged to pass their server list ping through, so
+ * that a flood of status requests does not turn into a flood of connections to the backend
+ * servers.
+ *
+ * <p>Only one ping per key is in flight at any time, and requests made while it is are given the
+ * same result. Once a result is older than the TTL it is still served while a new one is fetched
+ * in the background, unless it is more than twice as old as the TTL, in which case requests wait
+ * for the fresh result instead.
+ */
+final class PingPassthroughCache {
+
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the cached responses for the specified {@code key}, pinging the servers using the
+   * {@code loader} if they are missing or stale.
+   *
+   * @param key the servers to ping and the protocol version to ping them with
+   * @param ttlNanos how long the responses are considered fresh, in nanoseconds
+   * @param loader pings the servers, with a {@code null} response for servers that failed
+   * @return a future with the responses of the servers
+   */
+  CompletableFuture<List<@Nullable ServerPing>> get(Key key, long ttlNanos,
+      Supplier<CompletableFuture<List<@Nullable ServerPing>>> loader) {
+    if (ttlNanos <= 0) {
+      return loader.get();
+    }
+
+    Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+    List<@Nullable ServerPing> responses = entry.responses;
+    if (responses != null) {
+      long age = System.nanoTime() - entry.loadedAt;
+      if (age < ttlNanos) {
+        return CompletableFuture.completedFuture(responses);
+      }
+      CompletableFuture<List<@Nullable ServerPing>> refresh = entry.refresh(loader);
+      if (age < ttlNanos * 2) {
+        return CompletableFuture.completedFuture(responses);
+      }
+      return refresh;
+    }
+    return entry.refresh(loader);
+  }
+
+  void invalidate() {
+    entries.clear();
+  }
+
+  /**
+   * Identifies a set of cached responses.
+   *
+   * @param servers the servers pinged, in the order they are tried
+   * @param version the protocol version the servers are pinged with
+   */
+  record Key(List<String> servers, ProtocolVersion version) {
+  }
+
+  private static final class Entry {
+
+    private volatile @Nullable List<@Nullable ServerPing> responses;
+    private volatile long loadedAt;
+    private @Nullable CompletableFuture<List<@Nullable ServerPing>> refresh;
+
+    synchronized CompletableFuture<List<@Nullable ServerPing>> refresh(
+        Supplier<CompletableFuture<List<@Nullable ServerPing>>> loader) {
+      if (refresh != null) {
+        return refresh;
+      }
+
+      CompletableFuture<List<@Nullable ServerPing>> future = loader.get();
+      refresh = future;
+      future.whenComplete((result, throwable) -> {
+        synchronized (this) {
+          if (result != null) {
+            loadedAt = System.nanoTime();
+            responses = result;
+          }
+          refresh = null;
+        }
+      });
+      return future;
+    }
+  }
+}
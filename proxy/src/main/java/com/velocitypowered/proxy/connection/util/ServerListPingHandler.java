@@ -28,12 +28,15 @@ import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.config.PingPassthroughMode;
 import com.velocitypowered.proxy.config.VelocityConfiguration;
 import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import io.netty.buffer.ByteBuf;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Common utilities for handling server list ping results.
@@ -41,6 +44,8 @@ import java.util.concurrent.CompletableFuture;
 public class ServerListPingHandler {
 
   private final VelocityServer server;
+  private final PingPassthroughCache passthroughCache = new PingPassthroughCache();
+  private final StatusResponseCache statusResponseCache = new StatusResponseCache();
 
   public ServerListPingHandler(VelocityServer server) {
     this.server = server;
@@ -65,28 +70,17 @@ public class ServerListPingHandler {
   private CompletableFuture<ServerPing> attemptPingPassthrough(VelocityInboundConnection connection,
       PingPassthroughMode mode, List<String> servers, ProtocolVersion responseProtocolVersion) {
     ServerPing fallback = constructLocalPing(connection.getProtocolVersion());
-    List<CompletableFuture<ServerPing>> pings = new ArrayList<>();
-    for (String s : servers) {
-      Optional<RegisteredServer> rs = server.getServer(s);
-      if (rs.isEmpty()) {
-        continue;
-      }
-      VelocityRegisteredServer vrs = (VelocityRegisteredServer) rs.get();
-      pings.add(vrs.ping(connection.getConnection().eventLoop(), PingOptions.builder()
-              .version(responseProtocolVersion).build()));
-    }
-    if (pings.isEmpty()) {
-      return CompletableFuture.completedFuture(fallback);
-    }
-
-    CompletableFuture<List<ServerPing>> pingResponses = CompletableFutures.successfulAsList(pings,
-        (ex) -> fallback);
+    long ttlNanos = TimeUnit.MILLISECONDS.toNanos(
+        server.getConfiguration().getPingPassthroughCacheTtl());
+    CompletableFuture<List<@Nullable ServerPing>> pingResponses = passthroughCache.get(
+        new PingPassthroughCache.Key(servers, responseProtocolVersion), ttlNanos,
+        () -> pingServers(connection, servers, responseProtocolVersion));
     switch (mode) {
       case ALL:
         return pingResponses.thenApply(responses -> {
           // Find the first non-fallback
           for (ServerPing response : responses) {
-            if (response == fallback) {
+            if (response == null) {
               continue;
             }
             return response;
@@ -97,7 +91,7 @@ public class ServerListPingHandler {
         return pingResponses.thenApply(responses -> {
           // Find the first non-fallback that contains a mod list
           for (ServerPing response : responses) {
-            if (response == fallback) {
+            if (response == null) {
               continue;
             }
             Optional<ModInfo> modInfo = response.getModinfo();
@@ -111,7 +105,7 @@ public class ServerListPingHandler {
         return pingResponses.thenApply(responses -> {
           // Find the first non-fallback. If it includes a modlist, add it too.
           for (ServerPing response : responses) {
-            if (response == fallback) {
+            if (response == null) {
               continue;
             }
 
@@ -135,6 +129,45 @@ public class ServerListPingHandler {
     }
   }
 
+  private CompletableFuture<List<@Nullable ServerPing>> pingServers(
+      VelocityInboundConnection connection, List<String> servers,
+      ProtocolVersion responseProtocolVersion) {
+    List<CompletableFuture<ServerPing>> pings = new ArrayList<>();
+    for (String s : servers) {
+      Optional<RegisteredServer> rs = server.getServer(s);
+      if (rs.isEmpty()) {
+        continue;
+      }
+      VelocityRegisteredServer vrs = (VelocityRegisteredServer) rs.get();
+      pings.add(vrs.ping(connection.getConnection().eventLoop(), PingOptions.builder()
+              .version(responseProtocolVersion).build()));
+    }
+    // Servers that could not be pinged are left as null, so they are skipped below
+    return CompletableFutures.successfulAsList(pings, (ex) -> null);
+  }
+
+  /**
+   * Encodes the status response sent to a client for the specified {@code ping}. The returned
+   * buffer starts with the packet ID and must be released by the caller, usually by writing it to
+   * the connection.
+   *
+   * @param ping the ping to send
+   * @param version the protocol version of the client
+   * @return the encoded status response
+   */
+  public ByteBuf encodeStatusResponse(ServerPing ping, ProtocolVersion version) {
+    return statusResponseCache.encode(ping, version);
+  }
+
+  /**
+   * Discards the cached backend server pings and status responses, for instance after the
+   * configuration was reloaded.
+   */
+  public void invalidateCaches() {
+    passthroughCache.invalidate();
+    statusResponseCache.invalidate();
+  }
+
   /**
    * Fetches the "default" server ping for a player.
    *
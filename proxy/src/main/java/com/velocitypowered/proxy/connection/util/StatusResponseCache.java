@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.Gson;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.StatusResponsePacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the encoded {@link StatusResponsePacket}s sent in response to server list pings.
+ * Serializing a ping to JSON, its favicon in particular, is by far the most expensive part of
+ * answering a status request, and the pings sent to clients rarely change between requests.
+ *
+ * <p>Responses are looked up by the final ping, after {@code ProxyPingEvent} listeners have had a
+ * chance to modify it, so a response is only reused if it is identical to what would have been
+ * serialized anyway. Any change to the ping, such as a different player count, simply produces a
+ * new entry.
+ */
+final class StatusResponseCache {
+
+  private static final StatusResponsePacket TEMPLATE = new StatusResponsePacket();
+
+  private final Cache<Key, ByteBuf> responses = Caffeine.newBuilder()
+      .maximumSize(256)
+      .expireAfterAccess(1, TimeUnit.MINUTES)
+      .build();
+
+  /**
+   * Returns the {@link StatusResponsePacket} for {@code ping}, encoded for {@code version} and
+   * starting with its packet ID, so that it can be written to a connection in the
+   * {@code STATUS} state as-is.
+   *
+   * @param ping the ping to respond with
+   * @param version the protocol version of the client
+   * @return the encoded packet
+   */
+  ByteBuf encode(ServerPing ping, ProtocolVersion version) {
+    Gson serializer = VelocityServer.getPingGsonInstance(version);
+    int packetId = StateRegistry.STATUS
+        .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, version)
+        .getPacketId(TEMPLATE);
+    ByteBuf encoded = responses.get(new Key(serializer, packetId, ping), key -> {
+      StringBuilder json = new StringBuilder();
+      serializer.toJson(ping, json);
+      ByteBuf buf = Unpooled.buffer();
+      ProtocolUtils.writeVarInt(buf, packetId);
+      new StatusResponsePacket(json).encode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+      // The cache may evict the buffer while it is still being written, leave it to the GC.
+      return Unpooled.unreleasableBuffer(buf);
+    });
+    return encoded.retainedDuplicate();
+  }
+
+  void invalidate() {
+    responses.invalidateAll();
+  }
+
+  private record Key(Gson serializer, int packetId, ServerPing ping) {
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.crypto;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.velocitypowered.api.proxy.metrics.ExecutorStatistics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the expensive cryptographic operations of the login process, such as decrypting the
+ * shared secret with the proxy's RSA key, away from the Netty event loops. Otherwise, a wave of
+ * players logging in would stall every other connection sharing an event loop with them.
+ *
+ * <p>The number of queued tasks is bounded, so that logins are rejected early when the proxy is
+ * overloaded instead of piling up until they time out anyway.
+ */
+public final class LoginCryptoExecutor {
+
+  private static final int THREADS = Integer.getInteger("velocity.login-crypto-threads",
+      Runtime.getRuntime().availableProcessors());
+  private static final int MAXIMUM_QUEUED =
+      Integer.getInteger("velocity.login-crypto-max-queued", 1024);
+
+  private final ThreadPoolExecutor executor;
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+  private final LongAdder runNanos = new LongAdder();
+
+  public LoginCryptoExecutor() {
+    this(THREADS, MAXIMUM_QUEUED);
+  }
+
+  LoginCryptoExecutor(int threads, int maximumQueued) {
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(maximumQueued),
+        new ThreadFactoryBuilder()
+            .setNameFormat("Velocity Login Crypto #%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  /**
+   * Runs the specified {@code task} on one of the crypto threads. If too many tasks are already
+   * waiting to run, the returned future fails with a {@link RejectedExecutionException}.
+   *
+   * @param task the task to run
+   * @param <T> the type of the result of the task
+   * @return a future completed with the result of the task
+   */
+  public <T> CompletableFuture<T> submit(Callable<T> task) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    long queuedAt = System.nanoTime();
+    try {
+      executor.execute(() -> {
+        long start = System.nanoTime();
+        waitNanos.add(start - queuedAt);
+        T result = null;
+        Throwable failure = null;
+        try {
+          result = task.call();
+        } catch (Throwable e) {
+          failure = e;
+        }
+        // Record the task before completing the future, so its statistics are visible to whoever
+        // continues the login.
+        runNanos.add(System.nanoTime() - start);
+        completed.increment();
+        if (failure != null) {
+          future.completeExceptionally(failure);
+        } else {
+          future.complete(result);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Returns statistics about the tasks run by this executor.
+   *
+   * @return the executor statistics
+   */
+  public ExecutorStatistics snapshot() {
+    return new ExecutorStatistics(completed.sum(), rejected.sum(), waitNanos.sum(),
+        runNanos.sum(), executor.getQueue().size(), executor.getActiveCount());
+  }
+
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
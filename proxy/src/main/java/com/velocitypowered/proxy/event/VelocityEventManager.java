@@ -55,6 +55,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
@@ -98,8 +99,13 @@ public class VelocityEventManager implements EventManager {
 
   private final ListMultimap<Class<?>, HandlerRegistration> handlersByType =
       ArrayListMultimap.create();
-  private final LoadingCache<Class<?>, HandlersCache> handlersCache =
-      Caffeine.newBuilder().build(this::bakeHandlers);
+  private final ClassValue<BakedHandlers> handlersCache = new ClassValue<>() {
+    @Override
+    protected BakedHandlers computeValue(final Class<?> type) {
+      return new BakedHandlers();
+    }
+  };
+  private final AtomicInteger handlersVersion = new AtomicInteger();
 
   private final LoadingCache<Method, UntargetedEventHandler> untargetedMethodHandlers =
       Caffeine.newBuilder().weakValues().build(this::buildUntargetedMethodHandler);
@@ -143,6 +149,12 @@ public class VelocityEventManager implements EventManager {
     final EventHandler<Object> handler;
     final AsyncType asyncType;
 
+    /**
+     * Whether the handler always runs to completion on the thread that fired the event and never
+     * returns an {@link EventTask}.
+     */
+    final boolean synchronous;
+
     /**
      * The instance of the {@link EventHandler} or the listener instance that was registered.
      */
@@ -150,13 +162,14 @@ public class VelocityEventManager implements EventManager {
 
     public HandlerRegistration(final PluginContainer plugin, final short order,
         final Class<?> eventType, final Object instance, final EventHandler<Object> handler,
-        final AsyncType asyncType) {
+        final AsyncType asyncType, final boolean synchronous) {
       this.plugin = plugin;
       this.order = order;
       this.eventType = eventType;
       this.instance = instance;
       this.handler = handler;
       this.asyncType = asyncType;
+      this.synchronous = synchronous && asyncType == AsyncType.NEVER;
     }
   }
 
@@ -178,16 +191,54 @@ public class VelocityEventManager implements EventManager {
 
   static final class HandlersCache {
 
+    static final HandlersCache EMPTY = new HandlersCache(AsyncType.NEVER,
+        new HandlerRegistration[0], -1);
+
     final AsyncType asyncType;
     final HandlerRegistration[] handlers;
+    final int version;
+
+    /**
+     * Whether every handler is {@link HandlerRegistration#synchronous synchronous}, in which case
+     * the event can be dispatched without a future or any continuation tasks.
+     */
+    final boolean synchronous;
 
-    HandlersCache(AsyncType asyncType, final HandlerRegistration[] handlers) {
+    HandlersCache(AsyncType asyncType, final HandlerRegistration[] handlers, final int version) {
       this.asyncType = asyncType;
       this.handlers = handlers;
+      this.version = version;
+      boolean synchronous = true;
+      for (final HandlerRegistration registration : handlers) {
+        synchronous &= registration.synchronous;
+      }
+      this.synchronous = synchronous;
     }
   }
 
-  private @Nullable HandlersCache bakeHandlers(final Class<?> eventType) {
+  /**
+   * Holds the handlers baked for a single event type. The holder is attached to the event class
+   * through a {@link ClassValue}, so looking it up does not need to hash or lock anything.
+   */
+  static final class BakedHandlers {
+
+    volatile @Nullable HandlersCache handlers;
+  }
+
+  private HandlersCache getHandlers(final Class<?> eventType) {
+    final BakedHandlers baked = handlersCache.get(eventType);
+    // The version must be read before the handlers are baked: if a listener is registered while
+    // we bake, the stored snapshot is outdated and will be baked again on the next lookup.
+    final int version = handlersVersion.get();
+    HandlersCache handlers = baked.handlers;
+    if (handlers == null || handlers.version != version) {
+      handlers = bakeHandlers(eventType, version);
+      baked.handlers = handlers;
+    }
+    return handlers;
+  }
+
+  private HandlersCache bakeHandlers(final Class<?> eventType, final int version) {
     final List<HandlerRegistration> baked = new ArrayList<>();
     final Collection<Class<?>> types = eventTypeTracker.getFriendsOf(eventType);
 
@@ -201,7 +252,7 @@ public class VelocityEventManager implements EventManager {
     }
 
     if (baked.isEmpty()) {
-      return null;
+      return new HandlersCache(AsyncType.NEVER, HandlersCache.EMPTY.handlers, version);
     }
 
     baked.sort(handlerComparator);
@@ -213,7 +264,7 @@ public class VelocityEventManager implements EventManager {
       }
     }
 
-    return new HandlersCache(asyncType, baked.toArray(new HandlerRegistration[0]));
+    return new HandlersCache(asyncType, baked.toArray(new HandlerRegistration[0]), version);
   }
 
   /**
@@ -375,11 +426,8 @@ public class VelocityEventManager implements EventManager {
     } finally {
       lock.writeLock().unlock();
     }
-    // Invalidate all the affected event subtypes
-    handlersCache.invalidateAll(registrations.stream()
-        .flatMap(registration -> eventTypeTracker.getFriendsOf(registration.eventType).stream())
-        .distinct()
-        .collect(Collectors.toList()));
+    // Invalidate all the baked handlers, they will be baked again the next time they are used
+    handlersVersion.incrementAndGet();
   }
 
   @Override
@@ -418,7 +466,7 @@ public class VelocityEventManager implements EventManager {
 
     final HandlerRegistration registration = new HandlerRegistration(pluginContainer,
         postOrder, eventClass, handler, (EventHandler<Object>) handler,
-        AsyncType.ALWAYS);
+        AsyncType.ALWAYS, false);
     register(Collections.singletonList(registration));
   }
 
@@ -448,7 +496,8 @@ public class VelocityEventManager implements EventManager {
 
       final EventHandler<Object> handler = untargetedHandler.buildHandler(listener);
       registrations.add(new HandlerRegistration(pluginContainer, info.order,
-          info.eventType, listener, handler, info.asyncType));
+          info.eventType, listener, handler, info.asyncType,
+          untargetedHandler instanceof VoidHandler));
     }
 
     register(registrations);
@@ -489,11 +538,8 @@ public class VelocityEventManager implements EventManager {
       lock.writeLock().unlock();
     }
 
-    // Invalidate all the affected event subtypes
-    handlersCache.invalidateAll(removed.stream()
-        .flatMap(registration -> eventTypeTracker.getFriendsOf(registration.eventType).stream())
-        .distinct()
-        .collect(Collectors.toList()));
+    // Invalidate all the baked handlers, they will be baked again the next time they are used
+    handlersVersion.incrementAndGet();
   }
 
   /**
@@ -505,34 +551,58 @@ public class VelocityEventManager implements EventManager {
    */
   public boolean hasSubscribers(final Class<?> eventClass) {
     requireNonNull(eventClass, "eventClass");
-    final HandlersCache handlersCache = this.handlersCache.get(eventClass);
-    return handlersCache != null && handlersCache.handlers.length > 0;
+    return getHandlers(eventClass).handlers.length > 0;
   }
 
   @Override
   public void fireAndForget(final Object event) {
     requireNonNull(event, "event");
-    final HandlersCache handlersCache = this.handlersCache.get(event.getClass());
-    if (handlersCache == null || handlersCache.handlers.length == 0) {
+    final HandlersCache handlersCache = getHandlers(event.getClass());
+    if (handlersCache.handlers.length == 0) {
       // Optimization: nobody's listening.
       return;
     }
+    if (handlersCache.synchronous) {
+      fireSynchronously(event, handlersCache.handlers);
+      return;
+    }
     fire(null, event, handlersCache);
   }
 
   @Override
   public <E> CompletableFuture<E> fire(final E event) {
     requireNonNull(event, "event");
-    final HandlersCache handlersCache = this.handlersCache.get(event.getClass());
-    if (handlersCache == null || handlersCache.handlers.length == 0) {
+    final HandlersCache handlersCache = getHandlers(event.getClass());
+    if (handlersCache.handlers.length == 0) {
       // Optimization: nobody's listening.
       return CompletableFuture.completedFuture(event);
     }
+    if (handlersCache.synchronous) {
+      fireSynchronously(event, handlersCache.handlers);
+      return CompletableFuture.completedFuture(event);
+    }
     final CompletableFuture<E> future = new CompletableFuture<>();
     fire(future, event, handlersCache);
     return future;
   }
 
+  /**
+   * Runs handlers that are all {@link HandlerRegistration#synchronous synchronous} on the current
+   * thread. As none of them can suspend the event, no future has to be completed and no
+   * continuation has to be tracked.
+   */
+  private static void fireSynchronously(final Object event,
+      final HandlerRegistration[] registrations) {
+    for (final HandlerRegistration registration : registrations) {
+      try {
+        // Synchronous handlers wrap a void listener method, so they never return a task
+        registration.handler.executeAsync(event);
+      } catch (final Throwable t) {
+        logHandlerException(registration, t);
+      }
+    }
+  }
+
   private <E> void fire(final @Nullable CompletableFuture<E> future,
       final E event, final HandlersCache handlersCache) {
     final HandlerRegistration registration = handlersCache.handlers[0];
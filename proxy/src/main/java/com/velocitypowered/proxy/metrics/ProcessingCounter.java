@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.metrics;
+
+import com.velocitypowered.api.proxy.metrics.ProcessingStatistics;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the invocations of an operation applied to packets, such as compression, along with the
+ * amount of data it processed and the time it took.
+ */
+public final class ProcessingCounter {
+
+  private final LongAdder operations = new LongAdder();
+  private final LongAdder bytesIn = new LongAdder();
+  private final LongAdder bytesOut = new LongAdder();
+  private final LongAdder nanos = new LongAdder();
+
+  /**
+   * Records a single invocation of the operation.
+   *
+   * @param bytesIn the size of the input of the operation
+   * @param bytesOut the size of the output of the operation
+   * @param startNanos the value of {@link System#nanoTime()} when the operation started
+   */
+  public void record(int bytesIn, int bytesOut, long startNanos) {
+    this.nanos.add(System.nanoTime() - startNanos);
+    this.operations.increment();
+    this.bytesIn.add(bytesIn);
+    this.bytesOut.add(bytesOut);
+  }
+
+  public ProcessingStatistics snapshot() {
+    return new ProcessingStatistics(operations.sum(), bytesIn.sum(), bytesOut.sum(), nanos.sum());
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import com.velocitypowered.api.proxy.metrics.AuthenticationStatistics;
+import com.velocitypowered.api.proxy.metrics.CacheStatistics;
+import com.velocitypowered.api.proxy.metrics.ExecutorStatistics;
+import com.velocitypowered.api.proxy.metrics.PacketTraffic;
+import com.velocitypowered.api.proxy.metrics.ProcessingStatistics;
+import com.velocitypowered.api.proxy.metrics.ProxyMetrics;
+import com.velocitypowered.api.proxy.metrics.Traffic;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Serves the proxy's {@link ProxyMetrics} in the Prometheus text exposition format.
+ */
+public class PrometheusMetricsHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final ProxyMetrics metrics;
+
+  public PrometheusMetricsHandler(ProxyMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+    FullHttpResponse response;
+    if (request.method() != HttpMethod.GET) {
+      response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+          HttpResponseStatus.METHOD_NOT_ALLOWED);
+    } else if (!new QueryStringDecoder(request.uri()).path().equals("/metrics")) {
+      response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_FOUND);
+    } else {
+      ByteBuf content = ByteBufUtil.writeUtf8(ctx.alloc(), render(metrics));
+      response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+          content);
+      response.headers().set(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE);
+    }
+    response.headers()
+        .setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes())
+        .set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+    ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    ctx.close();
+  }
+
+  /**
+   * Renders the specified {@code metrics} in the Prometheus text exposition format.
+   *
+   * @param metrics the metrics to render
+   * @return the rendered metrics
+   */
+  public static String render(ProxyMetrics metrics) {
+    StringBuilder out = new StringBuilder(16384);
+
+    List<PacketTraffic> packets = List.copyOf(metrics.getPacketTraffic());
+    header(out, "velocity_packets_received_total", "counter",
+        "Packets received by the proxy, per packet type.");
+    for (PacketTraffic packet : packets) {
+      sample(out, "velocity_packets_received_total", packetLabels(packet),
+          packet.traffic().packetsReceived());
+    }
+    header(out, "velocity_packet_bytes_received_total", "counter",
+        "Uncompressed size of the packets received by the proxy, per packet type.");
+    for (PacketTraffic packet : packets) {
+      sample(out, "velocity_packet_bytes_received_total", packetLabels(packet),
+          packet.traffic().bytesReceived());
+    }
+    header(out, "velocity_packets_sent_total", "counter",
+        "Packets sent by the proxy, per packet type.");
+    for (PacketTraffic packet : packets) {
+      sample(out, "velocity_packets_sent_total", packetLabels(packet),
+          packet.traffic().packetsSent());
+    }
+    header(out, "velocity_packet_bytes_sent_total", "counter",
+        "Uncompressed size of the packets sent by the proxy, per packet type.");
+    for (PacketTraffic packet : packets) {
+      sample(out, "velocity_packet_bytes_sent_total", packetLabels(packet),
+          packet.traffic().bytesSent());
+    }
+
+    Map<String, Traffic> servers = metrics.getServerTraffic();
+    header(out, "velocity_server_packets_received_total", "counter",
+        "Packets received by the proxy from each backend server.");
+    servers.forEach((name, traffic) -> sample(out, "velocity_server_packets_received_total",
+        serverLabels(name), traffic.packetsReceived()));
+    header(out, "velocity_server_bytes_received_total", "counter",
+        "Uncompressed size of the packets received by the proxy from each backend server.");
+    servers.forEach((name, traffic) -> sample(out, "velocity_server_bytes_received_total",
+        serverLabels(name), traffic.bytesReceived()));
+    header(out, "velocity_server_packets_sent_total", "counter",
+        "Packets sent by the proxy to each backend server.");
+    servers.forEach((name, traffic) -> sample(out, "velocity_server_packets_sent_total",
+        serverLabels(name), traffic.packetsSent()));
+    header(out, "velocity_server_bytes_sent_total", "counter",
+        "Uncompressed size of the packets sent by the proxy to each backend server.");
+    servers.forEach((name, traffic) -> sample(out, "velocity_server_bytes_sent_total",
+        serverLabels(name), traffic.bytesSent()));
+
+    Map<String, ProcessingStatistics> processing = ImmutableMap.of(
+        "compression", metrics.getCompression(),
+        "decompression", metrics.getDecompression(),
+        "encryption", metrics.getEncryption(),
+        "decryption", metrics.getDecryption());
+    header(out, "velocity_processing_operations_total", "counter",
+        "Invocations of each operation applied to packets.");
+    processing.forEach((operation, stats) -> sample(out, "velocity_processing_operations_total",
+        operationLabels(operation), stats.operations()));
+    header(out, "velocity_processing_bytes_in_total", "counter",
+        "Bytes passed to each operation applied to packets.");
+    processing.forEach((operation, stats) -> sample(out, "velocity_processing_bytes_in_total",
+        operationLabels(operation), stats.bytesIn()));
+    header(out, "velocity_processing_bytes_out_total", "counter",
+        "Bytes produced by each operation applied to packets.");
+    processing.forEach((operation, stats) -> sample(out, "velocity_processing_bytes_out_total",
+        operationLabels(operation), stats.bytesOut()));
+    header(out, "velocity_processing_seconds_total", "counter",
+        "Time spent in each operation applied to packets.");
+    processing.forEach((operation, stats) -> sample(out, "velocity_processing_seconds_total",
+        operationLabels(operation), stats.nanos() / NANOS_PER_SECOND));
+
+    AuthenticationStatistics authentication = metrics.getAuthentication();
+    header(out, "velocity_authentication_requests_total", "counter",
+        "Requests sent to the session server to authenticate players.");
+    sample(out, "velocity_authentication_requests_total", null, authentication.requests());
+    header(out, "velocity_authentication_failures_total", "counter",
+        "Authentication requests that failed for a reason other than a timeout.");
+    sample(out, "velocity_authentication_failures_total", null, authentication.failures());
+    header(out, "velocity_authentication_timeouts_total", "counter",
+        "Authentication requests that timed out.");
+    sample(out, "velocity_authentication_timeouts_total", null, authentication.timeouts());
+    header(out, "velocity_authentication_rejected_total", "counter",
+        "Authentication requests rejected because too many requests were queued.");
+    sample(out, "velocity_authentication_rejected_total", null, authentication.rejected());
+    header(out, "velocity_authentication_seconds_total", "counter",
+        "Time spent waiting for the session server.");
+    sample(out, "velocity_authentication_seconds_total", null,
+        authentication.nanos() / NANOS_PER_SECOND);
+    header(out, "velocity_authentication_in_flight", "gauge",
+        "Authentication requests waiting for a response.");
+    sample(out, "velocity_authentication_in_flight", null, authentication.inFlight());
+    header(out, "velocity_authentication_queued", "gauge",
+        "Authentication requests waiting to be sent.");
+    sample(out, "velocity_authentication_queued", null, authentication.queued());
+
+    ExecutorStatistics loginCrypto = metrics.getLoginCrypto();
+    header(out, "velocity_login_crypto_completed_total", "counter",
+        "Login encryption tasks that finished running.");
+    sample(out, "velocity_login_crypto_completed_total", null, loginCrypto.completed());
+    header(out, "velocity_login_crypto_rejected_total", "counter",
+        "Login encryption tasks rejected because too many tasks were queued.");
+    sample(out, "velocity_login_crypto_rejected_total", null, loginCrypto.rejected());
+    header(out, "velocity_login_crypto_wait_seconds_total", "counter",
+        "Time login encryption tasks spent waiting to run.");
+    sample(out, "velocity_login_crypto_wait_seconds_total", null,
+        loginCrypto.waitNanos() / NANOS_PER_SECOND);
+    header(out, "velocity_login_crypto_run_seconds_total", "counter",
+        "Time spent running login encryption tasks.");
+    sample(out, "velocity_login_crypto_run_seconds_total", null,
+        loginCrypto.runNanos() / NANOS_PER_SECOND);
+    header(out, "velocity_login_crypto_queued", "gauge",
+        "Login encryption tasks waiting to run.");
+    sample(out, "velocity_login_crypto_queued", null, loginCrypto.queued());
+    header(out, "velocity_login_crypto_active", "gauge",
+        "Login encryption tasks currently running.");
+    sample(out, "velocity_login_crypto_active", null, loginCrypto.active());
+
+    CacheStatistics configurationData = metrics.getConfigurationDataCache();
+    header(out, "velocity_configuration_data_cache_hits_total", "counter",
+        "Registry and tag data sent to players from the cache.");
+    sample(out, "velocity_configuration_data_cache_hits_total", null, configurationData.hits());
+    header(out, "velocity_configuration_data_cache_misses_total", "counter",
+        "Registry and tag data compressed because it was not cached.");
+    sample(out, "velocity_configuration_data_cache_misses_total", null,
+        configurationData.misses());
+    header(out, "velocity_configuration_data_cache_entries", "gauge",
+        "Registry and tag data currently cached.");
+    sample(out, "velocity_configuration_data_cache_entries", null, configurationData.entries());
+    header(out, "velocity_configuration_data_cache_bytes", "gauge",
+        "Memory used by the cached registry and tag data.");
+    sample(out, "velocity_configuration_data_cache_bytes", null, configurationData.bytes());
+
+    List<Integer> queueDepths = metrics.getEventLoopQueueDepths();
+    header(out, "velocity_event_loop_pending_tasks", "gauge",
+        "Tasks waiting to be run by each network thread.");
+    for (int i = 0; i < queueDepths.size(); i++) {
+      sample(out, "velocity_event_loop_pending_tasks", "loop=\"" + i + '"', queueDepths.get(i));
+    }
+
+    header(out, "velocity_backend_flushes_total", "counter",
+        "Flushes of the packets forwarded from backend servers to players.");
+    sample(out, "velocity_backend_flushes_total", null, metrics.getBackendFlushes());
+    header(out, "velocity_backend_batch_limit_flushes_total", "counter",
+        "Flushes caused by reaching the maximum number of packets per flush.");
+    sample(out, "velocity_backend_batch_limit_flushes_total", null,
+        metrics.getBackendBatchLimitFlushes());
+    return out.toString();
+  }
+
+  private static void header(StringBuilder out, String name, String type, String help) {
+    out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void sample(StringBuilder out, String name, @Nullable String labels,
+      long value) {
+    appendName(out, name, labels).append(value).append('\n');
+  }
+
+  private static void sample(StringBuilder out, String name, @Nullable String labels,
+      double value) {
+    appendName(out, name, labels).append(value).append('\n');
+  }
+
+  private static StringBuilder appendName(StringBuilder out, String name,
+      @Nullable String labels) {
+    out.append(name);
+    if (labels != null) {
+      out.append('{').append(labels).append('}');
+    }
+    return out.append(' ');
+  }
+
+  private static String packetLabels(PacketTraffic packet) {
+    return "direction=\"" + packet.direction().name().toLowerCase(Locale.ROOT)
+        + "\",state=\"" + packet.state().name().toLowerCase(Locale.ROOT)
+        + "\",packet_id=\"0x" + String.format(Locale.ROOT, "%02X", packet.packetId()) + '"';
+  }
+
+  private static String serverLabels(String server) {
+    return "server=\"" + escape(server) + '"';
+  }
+
+  private static String operationLabels(String operation) {
+    return "operation=\"" + operation + '"';
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
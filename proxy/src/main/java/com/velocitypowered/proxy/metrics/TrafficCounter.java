@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.metrics;
+
+import com.velocitypowered.api.proxy.metrics.Traffic;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the packets received and sent over one or more connections.
+ */
+public final class TrafficCounter {
+
+  private final LongAdder packetsReceived = new LongAdder();
+  private final LongAdder bytesReceived = new LongAdder();
+  private final LongAdder packetsSent = new LongAdder();
+  private final LongAdder bytesSent = new LongAdder();
+
+  public void recordReceived(int bytes) {
+    packetsReceived.increment();
+    bytesReceived.add(bytes);
+  }
+
+  public void recordSent(int bytes) {
+    packetsSent.increment();
+    bytesSent.add(bytes);
+  }
+
+  public Traffic snapshot() {
+    return new Traffic(packetsReceived.sum(), bytesReceived.sum(), packetsSent.sum(),
+        bytesSent.sum());
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import com.velocitypowered.api.proxy.metrics.AuthenticationStatistics;
+import com.velocitypowered.api.proxy.metrics.CacheStatistics;
+import com.velocitypowered.api.proxy.metrics.ExecutorStatistics;
+import com.velocitypowered.api.proxy.metrics.PacketTraffic;
+import com.velocitypowered.api.proxy.metrics.ProcessingStatistics;
+import com.velocitypowered.api.proxy.metrics.ProxyMetrics;
+import com.velocitypowered.api.proxy.metrics.Traffic;
+import com.velocitypowered.proxy.connection.backend.ConfigurationDataCache;
+import com.velocitypowered.proxy.crypto.LoginCryptoExecutor;
+import com.velocitypowered.proxy.network.ConnectionManager;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Collects metrics about the network traffic handled by the proxy. The counters are updated from
+ * the network threads, so they are striped to avoid contention between them.
+ */
+public final class VelocityProxyMetrics implements ProxyMetrics {
+
+  // No state uses packet IDs anywhere near this high, anything above it is not counted per packet.
+  private static final int MAXIMUM_PACKET_ID = 0xFF;
+  private static final ProtocolUtils.Direction[] DIRECTIONS = ProtocolUtils.Direction.values();
+  private static final StateRegistry[] STATES = StateRegistry.values();
+
+  private final ConnectionManager connectionManager;
+  private final LoginCryptoExecutor loginCryptoExecutor;
+  private final ConfigurationDataCache configurationDataCache;
+  private final AtomicReferenceArray<TrafficCounter> packets =
+      new AtomicReferenceArray<>(DIRECTIONS.length * STATES.length * (MAXIMUM_PACKET_ID + 1));
+  private final Map<String, TrafficCounter> servers = new ConcurrentHashMap<>();
+  private final ProcessingCounter compression = new ProcessingCounter();
+  private final ProcessingCounter decompression = new ProcessingCounter();
+  private final ProcessingCounter encryption = new ProcessingCounter();
+  private final ProcessingCounter decryption = new ProcessingCounter();
+  private final LongAdder backendFlushes = new LongAdder();
+  private final LongAdder backendBatchLimitFlushes = new LongAdder();
+
+  /**
+   * Creates the metrics of the proxy.
+   *
+   * @param connectionManager the connection manager of the proxy
+   * @param loginCryptoExecutor the executor handling login cryptography
+   * @param configurationDataCache the cache of configuration data sent by backend servers
+   */
+  public VelocityProxyMetrics(ConnectionManager connectionManager,
+      LoginCryptoExecutor loginCryptoExecutor, ConfigurationDataCache configurationDataCache) {
+    this.connectionManager = connectionManager;
+    this.loginCryptoExecutor = loginCryptoExecutor;
+    this.configurationDataCache = configurationDataCache;
+  }
+
+  private static int index(ProtocolUtils.Direction direction, StateRegistry state, int packetId) {
+    return ((direction.ordinal() * STATES.length) + state.ordinal()) * (MAXIMUM_PACKET_ID + 1)
+        + packetId;
+  }
+
+  private @Nullable TrafficCounter getPacketCounter(ProtocolUtils.Direction direction,
+      StateRegistry state, int packetId) {
+    if (packetId < 0 || packetId > MAXIMUM_PACKET_ID) {
+      return null;
+    }
+    int index = index(direction, state, packetId);
+    TrafficCounter counter = packets.get(index);
+    if (counter == null) {
+      TrafficCounter created = new TrafficCounter();
+      counter = packets.compareAndExchange(index, null, created);
+      if (counter == null) {
+        counter = created;
+      }
+    }
+    return counter;
+  }
+
+  /**
+   * Records a packet received by the proxy.
+   *
+   * @param direction the direction the packet is bound to
+   * @param state the state the connection was in
+   * @param packetId the ID of the packet
+   * @param bytes the size of the packet, including its ID
+   */
+  public void recordPacketReceived(ProtocolUtils.Direction direction, StateRegistry state,
+      int packetId, int bytes) {
+    TrafficCounter counter = getPacketCounter(direction, state, packetId);
+    if (counter != null) {
+      counter.recordReceived(bytes);
+    }
+  }
+
+  /**
+   * Records a packet sent by the proxy.
+   *
+   * @param direction the direction the packet is bound to
+   * @param state the state the connection was in
+   * @param packetId the ID of the packet
+   * @param bytes the size of the packet, including its ID
+   */
+  public void recordPacketSent(ProtocolUtils.Direction direction, StateRegistry state,
+      int packetId, int bytes) {
+    TrafficCounter counter = getPacketCounter(direction, state, packetId);
+    if (counter != null) {
+      counter.recordSent(bytes);
+    }
+  }
+
+  /**
+   * Records that the packets forwarded from a backend server to a player were flushed.
+   *
+   * @param batchLimit whether the flush happened because the maximum number of packets per flush
+   *                   was reached
+   */
+  public void recordBackendFlush(boolean batchLimit) {
+    backendFlushes.increment();
+    if (batchLimit) {
+      backendBatchLimitFlushes.increment();
+    }
+  }
+
+  public TrafficCounter getServerTrafficCounter(String serverName) {
+    return servers.computeIfAbsent(serverName, name -> new TrafficCounter());
+  }
+
+  /**
+   * Stops reporting the traffic of a backend server that was unregistered.
+   *
+   * @param serverName the name of the server
+   */
+  public void removeServerTrafficCounter(String serverName) {
+    servers.remove(serverName);
+  }
+
+  public ProcessingCounter getCompressionCounter() {
+    return compression;
+  }
+
+  public ProcessingCounter getDecompressionCounter() {
+    return decompression;
+  }
+
+  public ProcessingCounter getEncryptionCounter() {
+    return encryption;
+  }
+
+  public ProcessingCounter getDecryptionCounter() {
+    return decryption;
+  }
+
+  @Override
+  public Collection<PacketTraffic> getPacketTraffic() {
+    List<PacketTraffic> traffic = new ArrayList<>();
+    for (ProtocolUtils.Direction direction : DIRECTIONS) {
+      PacketTraffic.Direction apiDirection = direction == ProtocolUtils.Direction.SERVERBOUND
+          ? PacketTraffic.Direction.SERVERBOUND : PacketTraffic.Direction.CLIENTBOUND;
+      for (StateRegistry state : STATES) {
+        for (int packetId = 0; packetId <= MAXIMUM_PACKET_ID; packetId++) {
+          TrafficCounter counter = packets.get(index(direction, state, packetId));
+          if (counter != null) {
+            traffic.add(new PacketTraffic(apiDirection, state.toProtocolState(), packetId,
+                counter.snapshot()));
+          }
+        }
+      }
+    }
+    return traffic;
+  }
+
+  @Override
+  public Map<String, Traffic> getServerTraffic() {
+    ImmutableMap.Builder<String, Traffic> traffic = ImmutableMap.builder();
+    for (Map.Entry<String, TrafficCounter> entry : servers.entrySet()) {
+      traffic.put(entry.getKey(), entry.getValue().snapshot());
+    }
+    return traffic.build();
+  }
+
+  @Override
+  public ProcessingStatistics getCompression() {
+    return compression.snapshot();
+  }
+
+  @Override
+  public ProcessingStatistics getDecompression() {
+    return decompression.snapshot();
+  }
+
+  @Override
+  public ProcessingStatistics getEncryption() {
+    return encryption.snapshot();
+  }
+
+  @Override
+  public ProcessingStatistics getDecryption() {
+    return decryption.snapshot();
+  }
+
+  @Override
+  public AuthenticationStatistics getAuthentication() {
+    return connectionManager.getAuthenticationClient().snapshot();
+  }
+
+  @Override
+  public ExecutorStatistics getLoginCrypto() {
+    return loginCryptoExecutor.snapshot();
+  }
+
+  @Override
+  public CacheStatistics getConfigurationDataCache() {
+    return configurationDataCache.snapshot();
+  }
+
+  @Override
+  public List<Integer> getEventLoopQueueDepths() {
+    return connectionManager.getWorkerQueueDepths();
+  }
+
+  @Override
+  public long getBackendFlushes() {
+    return backendFlushes.sum();
+  }
+
+  @Override
+  public long getBackendBatchLimitFlushes() {
+    return backendBatchLimitFlushes.sum();
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network;
+
+import static com.google.common.net.UrlEscapers.urlFormParameterEscaper;
+
+import com.velocitypowered.api.proxy.metrics.AuthenticationStatistics;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Sends the requests used to authenticate players with the session server. All requests share a
+ * single {@link HttpClient}, so connections to the session server are kept alive and reused
+ * between logins. The number of concurrent requests is limited, and requests over the limit are
+ * queued until an earlier request completes, so that a burst of logins (for instance right after
+ * a restart) does not open thousands of connections at once.
+ */
+public final class AuthenticationClient {
+
+  private static final Logger logger = LogManager.getLogger(AuthenticationClient.class);
+  private static final String SESSION_SERVER_URL = System.getProperty("mojang.sessionserver",
+      "https://sessionserver.mojang.com/session/minecraft/hasJoined");
+  private static final int MAXIMUM_IN_FLIGHT =
+      Integer.getInteger("velocity.auth.max-concurrent-requests", 64);
+  private static final int MAXIMUM_QUEUED =
+      Integer.getInteger("velocity.auth.max-queued-requests", 4096);
+  private static final Duration TIMEOUT =
+      Duration.ofMillis(Long.getLong("velocity.auth.timeout", 10_000));
+
+  private final Executor executor;
+  private final String userAgent;
+  private final String hasJoinedUrl;
+  private final int maximumInFlight;
+  private final int maximumQueued;
+  private final Duration timeout;
+  private final Object lock = new Object();
+  private final Deque<PendingRequest> queue = new ArrayDeque<>();
+  private int inFlight;
+  private volatile @MonotonicNonNull HttpClient client;
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder nanos = new LongAdder();
+
+  /**
+   * Creates a new authentication client.
+   *
+   * @param executor the executor the HTTP client runs its tasks on
+   * @param userAgent the user agent to send with each request
+   */
+  public AuthenticationClient(Executor executor, String userAgent) {
+    this(executor, userAgent, SESSION_SERVER_URL, MAXIMUM_IN_FLIGHT, MAXIMUM_QUEUED, TIMEOUT);
+  }
+
+  AuthenticationClient(Executor executor, String userAgent, String sessionServerUrl,
+      int maximumInFlight, int maximumQueued, Duration timeout) {
+    this.executor = executor;
+    this.userAgent = userAgent;
+    this.hasJoinedUrl = sessionServerUrl.concat("?username=%s&serverId=%s");
+    this.maximumInFlight = maximumInFlight;
+    this.maximumQueued = maximumQueued;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Asks the session server whether the player with the specified {@code username} has joined the
+   * server identified by {@code serverId}.
+   *
+   * @param username the username of the player
+   * @param serverId the server ID sent to the player
+   * @param playerIp the IP address of the player, if the session server should check it
+   * @return the response of the session server
+   */
+  public CompletableFuture<HttpResponse<String>> hasJoined(String username, String serverId,
+      @Nullable String playerIp) {
+    String url = String.format(hasJoinedUrl, urlFormParameterEscaper().escape(username),
+        serverId);
+    if (playerIp != null) {
+      url += "&ip=" + urlFormParameterEscaper().escape(playerIp);
+    }
+
+    HttpRequest request = HttpRequest.newBuilder()
+        .setHeader("User-Agent", userAgent)
+        .uri(URI.create(url))
+        .timeout(timeout)
+        .build();
+    CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+    synchronized (lock) {
+      if (inFlight >= maximumInFlight) {
+        if (queue.size() >= maximumQueued) {
+          rejected.increment();
+          result.completeExceptionally(
+              new RejectedExecutionException("Too many pending authentication requests"));
+        } else {
+          queue.add(new PendingRequest(request, result, System.nanoTime()));
+        }
+        return result;
+      }
+      inFlight++;
+    }
+    dispatch(request, result);
+    return result;
+  }
+
+  private void dispatch(HttpRequest request, CompletableFuture<HttpResponse<String>> result) {
+    requests.increment();
+    long start = System.nanoTime();
+    CompletableFuture<HttpResponse<String>> response;
+    try {
+      response = getClient().sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    } catch (RuntimeException e) {
+      response = CompletableFuture.failedFuture(e);
+    }
+
+    // If the player disconnects while we wait for the session server, there is no need to wait
+    // for the response anymore.
+    CompletableFuture<HttpResponse<String>> finalResponse = response;
+    result.whenComplete((ignored, throwable) -> finalResponse.cancel(true));
+
+    response.whenComplete((value, throwable) -> {
+      nanos.add(System.nanoTime() - start);
+      dispatchNext();
+      if (throwable == null) {
+        result.complete(value);
+      } else {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause() : throwable;
+        if (cause instanceof HttpTimeoutException) {
+          timeouts.increment();
+        } else if (!result.isDone()) {
+          failures.increment();
+        }
+        result.completeExceptionally(cause);
+      }
+    });
+  }
+
+  private void dispatchNext() {
+    while (true) {
+      PendingRequest next;
+      synchronized (lock) {
+        next = queue.poll();
+        if (next == null) {
+          inFlight--;
+          return;
+        }
+      }
+
+      if (next.result.isDone()) {
+        // The player disconnected while the request was queued.
+        continue;
+      }
+      if (System.nanoTime() - next.queuedAt >= timeout.toNanos()) {
+        timeouts.increment();
+        next.result.completeExceptionally(
+            new HttpTimeoutException("Timed out waiting to contact the session server"));
+        continue;
+      }
+      dispatch(next.request, next.result);
+      return;
+    }
+  }
+
+  private HttpClient getClient() {
+    HttpClient client = this.client;
+    if (client == null) {
+      synchronized (lock) {
+        client = this.client;
+        if (client == null) {
+          client = HttpClient.newBuilder()
+              .version(HttpClient.Version.HTTP_2)
+              .connectTimeout(timeout)
+              .executor(executor)
+              .build();
+          this.client = client;
+        }
+      }
+    }
+    return client;
+  }
+
+  /**
+   * Returns statistics about the requests sent by this client.
+   *
+   * @return the authentication statistics
+   */
+  public AuthenticationStatistics snapshot() {
+    int inFlight;
+    int queued;
+    synchronized (lock) {
+      inFlight = this.inFlight;
+      queued = this.queue.size();
+    }
+    return new AuthenticationStatistics(requests.sum(), failures.sum(), timeouts.sum(),
+        rejected.sum(), nanos.sum(), inFlight, queued);
+  }
+
+  /**
+   * Releases the resources held by the HTTP client, if it was created.
+   */
+  public void close() {
+    HttpClient client = this.client;
+    if (client instanceof final AutoCloseable closeable) {
+      try {
+        closeable.close();
+      } catch (Exception e) {
+        // In Java 21, the HttpClient does not throw any Exception
+        // when trying to clean its resources, so this should not happen
+        logger.error("An unknown error occurred while trying to close an HttpClient", e);
+      }
+    }
+  }
+
+  private record PendingRequest(HttpRequest request,
+                                CompletableFuture<HttpResponse<String>> result,
+                                long queuedAt) {
+  }
+}
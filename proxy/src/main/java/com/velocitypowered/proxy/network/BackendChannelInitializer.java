@@ -57,9 +57,9 @@ public class BackendChannelInitializer extends ChannelInitializer<Channel> {
                 TimeUnit.MILLISECONDS))
         .addLast(FRAME_ENCODER, MinecraftVarintLengthEncoder.INSTANCE)
         .addLast(MINECRAFT_DECODER,
-            new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND))
+            new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND, server.getTrafficMetrics()))
         .addLast(FLOW_HANDLER, new AutoReadHolderHandler())
         .addLast(MINECRAFT_ENCODER,
-            new MinecraftEncoder(ProtocolUtils.Direction.SERVERBOUND));
+            new MinecraftEncoder(ProtocolUtils.Direction.SERVERBOUND, server.getTrafficMetrics()));
   }
 }
@@ -23,20 +23,34 @@ import com.velocitypowered.api.event.proxy.ListenerCloseEvent;
 import com.velocitypowered.api.network.ListenerType;
 import com.velocitypowered.natives.util.Natives;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.metrics.PrometheusMetricsHandler;
 import com.velocitypowered.proxy.network.netty.SeparatePoolInetNameResolver;
 import com.velocitypowered.proxy.protocol.netty.GameSpyQueryHandler;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.unix.UnixChannelOption;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
 import java.net.InetSocketAddress;
 import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -48,6 +62,7 @@ public final class ConnectionManager {
 
   private static final WriteBufferWaterMark SERVER_WRITE_MARK = new WriteBufferWaterMark(1 << 20,
       1 << 21);
+  private static final int MAXIMUM_METRICS_REQUEST_SIZE = 8192;
   private static final Logger LOGGER = LogManager.getLogger(ConnectionManager.class);
   private final Map<InetSocketAddress, Endpoint> endpoints = new HashMap<>();
   private final TransportType transportType;
@@ -62,6 +77,7 @@ public final class ConnectionManager {
   public final BackendChannelInitializerHolder backendChannelInitializer;
 
   private final SeparatePoolInetNameResolver resolver;
+  private final AuthenticationClient authenticationClient;
 
   /**
    * Initializes the {@code ConnectionManager}.
@@ -78,9 +94,19 @@ public final class ConnectionManager {
     this.backendChannelInitializer = new BackendChannelInitializerHolder(
         new BackendChannelInitializer(this.server));
     this.resolver = new SeparatePoolInetNameResolver(GlobalEventExecutor.INSTANCE);
+    this.authenticationClient = new AuthenticationClient(this.workerGroup,
+        server.getVersion().getName() + "/" + server.getVersion().getVersion());
   }
 
+  /**
+   * Logs the transport, compression and cipher implementations in use.
+   */
   public void logChannelInformation() {
+    if (TransportType.isIoUringRequested() && this.transportType != TransportType.IO_URING
+        && !IOUring.isAvailable()) {
+      LOGGER.warn("The io_uring transport was requested, but it is not available on this "
+          + "system. Falling back to {}.", this.transportType, IOUring.unavailabilityCause());
+    }
     LOGGER.info("Connections will use {} channels, {} compression, {} ciphers", this.transportType,
         Natives.compress.getLoadedVariant(), Natives.cipher.getLoadedVariant());
   }
@@ -91,9 +117,70 @@ public final class ConnectionManager {
    * @param address the address to bind to
    */
   public void bind(final InetSocketAddress address) {
+    final int listenerSockets = this.getListenerSocketCount();
+    if (listenerSockets > 1) {
+      this.bindReusePort(address, listenerSockets);
+      return;
+    }
+
+    final ServerBootstrap bootstrap = this.createMinecraftBootstrap(address)
+        .group(this.bossGroup, this.workerGroup);
+    bootstrap.bind()
+        .addListener((ChannelFutureListener) future -> {
+          final Channel channel = future.channel();
+          if (future.isSuccess()) {
+            this.onMinecraftBound(address, new Endpoint(channel, ListenerType.MINECRAFT));
+          } else {
+            LOGGER.error("Can't bind to {}", address, future.cause());
+          }
+        });
+  }
+
+  /**
+   * Binds {@code count} listener sockets to the same {@code address} with {@code SO_REUSEPORT},
+   * so that the kernel balances incoming connections between them. Each socket is registered to
+   * its own worker event loop, which accepts the connections and then keeps handling them, so no
+   * single boss thread has to accept every connection.
+   */
+  private void bindReusePort(final InetSocketAddress address, final int count) {
+    final List<EventLoop> loops = new ArrayList<>();
+    for (EventExecutor executor : this.workerGroup) {
+      loops.add((EventLoop) executor);
+    }
+
+    final Channel[] channels = new Channel[count];
+    final AtomicInteger remaining = new AtomicInteger(count);
+    final AtomicBoolean failed = new AtomicBoolean();
+    for (int i = 0; i < count; i++) {
+      final int index = i;
+      final EventLoop loop = loops.get(i % loops.size());
+      this.createMinecraftBootstrap(address)
+          .group(loop, loop)
+          .option(UnixChannelOption.SO_REUSEPORT, true)
+          .bind()
+          .addListener((ChannelFutureListener) future -> {
+            channels[index] = future.channel();
+            if (!future.isSuccess() && failed.compareAndSet(false, true)) {
+              LOGGER.error("Can't bind to {}", address, future.cause());
+            }
+            if (remaining.decrementAndGet() != 0) {
+              return;
+            }
+            if (failed.get()) {
+              for (Channel channel : channels) {
+                channel.close();
+              }
+            } else {
+              this.onMinecraftBound(address,
+                  new Endpoint(Arrays.asList(channels), ListenerType.MINECRAFT));
+            }
+          });
+    }
+  }
+
+  private ServerBootstrap createMinecraftBootstrap(final InetSocketAddress address) {
     final ServerBootstrap bootstrap = new ServerBootstrap()
         .channelFactory(this.transportType.serverSocketChannelFactory)
-        .group(this.bossGroup, this.workerGroup)
         .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, SERVER_WRITE_MARK)
         .childHandler(this.serverChannelInitializer.get())
         .childOption(ChannelOption.TCP_NODELAY, true)
@@ -103,27 +190,49 @@ public final class ConnectionManager {
     if (server.getConfiguration().useTcpFastOpen()) {
       bootstrap.option(ChannelOption.TCP_FASTOPEN, 3);
     }
+    return bootstrap;
+  }
 
-    bootstrap.bind()
-        .addListener((ChannelFutureListener) future -> {
-          final Channel channel = future.channel();
-          if (future.isSuccess()) {
-            this.endpoints.put(address, new Endpoint(channel, ListenerType.MINECRAFT));
-            
-            // Warn people with console access that HAProxy is in use, see PR: #1436
-            if (this.server.getConfiguration().isProxyProtocol()) {
-              LOGGER.warn("Using HAProxy and listening on {}, please ensure this listener is adequately firewalled.", channel.localAddress());
-            }
+  private void onMinecraftBound(final InetSocketAddress address, final Endpoint endpoint) {
+    final Channel channel = endpoint.getChannel();
+    this.endpoints.put(address, endpoint);
 
-            LOGGER.info("Listening on {}", channel.localAddress());
+    // Warn people with console access that HAProxy is in use, see PR: #1436
+    if (this.server.getConfiguration().isProxyProtocol()) {
+      LOGGER.warn("Using HAProxy and listening on {}, please ensure this listener is adequately firewalled.", channel.localAddress());
+    }
 
-            // Fire the proxy bound event after the socket is bound
-            server.getEventManager().fireAndForget(
-                new ListenerBoundEvent(address, ListenerType.MINECRAFT));
-          } else {
-            LOGGER.error("Can't bind to {}", address, future.cause());
-          }
-        });
+    if (endpoint.getChannels().size() > 1) {
+      LOGGER.info("Listening on {} with {} sockets", channel.localAddress(),
+          endpoint.getChannels().size());
+    } else {
+      LOGGER.info("Listening on {}", channel.localAddress());
+    }
+
+    // Fire the proxy bound event after the socket is bound
+    server.getEventManager().fireAndForget(
+        new ListenerBoundEvent(address, ListenerType.MINECRAFT));
+  }
+
+  private int getListenerSocketCount() {
+    final int configured = this.server.getConfiguration().getListenerSockets();
+    if (configured == 1) {
+      return 1;
+    }
+    if (this.transportType != TransportType.EPOLL
+        && this.transportType != TransportType.IO_URING) {
+      LOGGER.warn("Binding multiple listener sockets requires the epoll or io_uring transport, "
+          + "but {} is in use. A single listener socket will be used.", this.transportType);
+      return 1;
+    }
+    if (configured <= 0) {
+      int loops = 0;
+      for (EventExecutor ignored : this.workerGroup) {
+        loops++;
+      }
+      return loops;
+    }
+    return configured;
   }
 
   /**
@@ -155,6 +264,42 @@ public final class ConnectionManager {
         });
   }
 
+  /**
+   * Binds a listener serving the proxy's metrics in the Prometheus text format to the specified
+   * {@code address}.
+   *
+   * @param address the address to bind to
+   */
+  public void metricsBind(final InetSocketAddress address) {
+    final ServerBootstrap bootstrap = new ServerBootstrap()
+        .channelFactory(this.transportType.serverSocketChannelFactory)
+        .group(this.bossGroup, this.workerGroup)
+        .childHandler(new ChannelInitializer<>() {
+          @Override
+          protected void initChannel(Channel ch) {
+            ch.pipeline()
+                .addLast(new HttpServerCodec())
+                .addLast(new HttpObjectAggregator(MAXIMUM_METRICS_REQUEST_SIZE))
+                .addLast(new PrometheusMetricsHandler(server.getMetrics()));
+          }
+        })
+        .localAddress(address);
+    bootstrap.bind()
+        .addListener((ChannelFutureListener) future -> {
+          final Channel channel = future.channel();
+          if (future.isSuccess()) {
+            this.endpoints.put(address, new Endpoint(channel, ListenerType.METRICS));
+            LOGGER.info("Serving metrics on {}", channel.localAddress());
+
+            // Fire the proxy bound event after the socket is bound
+            server.getEventManager().fireAndForget(
+                new ListenerBoundEvent(address, ListenerType.METRICS));
+          } else {
+            LOGGER.error("Can't bind to {}", address, future.cause());
+          }
+        });
+  }
+
   /**
    * Creates a TCP {@link Bootstrap} using Velocity's event loops.
    *
@@ -182,16 +327,16 @@ public final class ConnectionManager {
    */
   public void close(InetSocketAddress oldBind) {
     Endpoint endpoint = endpoints.remove(oldBind);
+    Preconditions.checkState(endpoint != null, "Endpoint %s not registered", oldBind);
 
     // Fire proxy close event to notify plugins of socket close. We block since plugins
     // should have a chance to be notified before the server stops accepting connections.
     server.getEventManager().fire(new ListenerCloseEvent(oldBind, endpoint.getType())).join();
 
-    Channel serverChannel = endpoint.getChannel();
-
-    Preconditions.checkState(serverChannel != null, "Endpoint %s not registered", oldBind);
-    LOGGER.info("Closing endpoint {}", serverChannel.localAddress());
-    serverChannel.close().syncUninterruptibly();
+    LOGGER.info("Closing endpoint {}", endpoint.getChannel().localAddress());
+    for (Channel serverChannel : endpoint.getChannels()) {
+      serverChannel.close().syncUninterruptibly();
+    }
   }
 
   /**
@@ -209,15 +354,18 @@ public final class ConnectionManager {
       server.getEventManager().fire(new ListenerCloseEvent(address, endpoint.getType())).join();
 
       LOGGER.info("Closing endpoint {}", address);
-      if (interrupt) {
-        try {
-          endpoint.getChannel().close().sync();
-        } catch (final InterruptedException e) {
-          LOGGER.info("Interrupted whilst closing endpoint", e);
-          Thread.currentThread().interrupt();
+      for (final Channel channel : endpoint.getChannels()) {
+        if (interrupt) {
+          try {
+            channel.close().sync();
+          } catch (final InterruptedException e) {
+            LOGGER.info("Interrupted whilst closing endpoint", e);
+            Thread.currentThread().interrupt();
+            break;
+          }
+        } else {
+          channel.close().syncUninterruptibly();
         }
-      } else {
-        endpoint.getChannel().close().syncUninterruptibly();
       }
     }
     this.endpoints.clear();
@@ -230,6 +378,22 @@ public final class ConnectionManager {
     this.closeEndpoints(true);
 
     this.resolver.shutdown();
+    this.authenticationClient.close();
+  }
+
+  /**
+   * Returns the number of tasks waiting to be run by each worker event loop.
+   *
+   * @return the number of pending tasks per worker event loop
+   */
+  public List<Integer> getWorkerQueueDepths() {
+    List<Integer> depths = new ArrayList<>();
+    for (EventExecutor executor : this.workerGroup) {
+      if (executor instanceof SingleThreadEventExecutor eventLoop) {
+        depths.add(eventLoop.pendingTasks());
+      }
+    }
+    return depths;
   }
 
   public EventLoopGroup getBossGroup() {
@@ -247,6 +411,10 @@ public final class ConnectionManager {
             .build();
   }
 
+  public AuthenticationClient getAuthenticationClient() {
+    return this.authenticationClient;
+  }
+
   public BackendChannelInitializerHolder getBackendChannelInitializer() {
     return this.backendChannelInitializer;
   }
@@ -20,22 +20,39 @@ package com.velocitypowered.proxy.network;
 import com.google.common.base.Preconditions;
 import com.velocitypowered.api.network.ListenerType;
 import io.netty.channel.Channel;
+import java.util.List;
 
 /**
- * Represents a listener endpoint.
+ * Represents a listener endpoint. An endpoint usually has a single channel, but Minecraft
+ * listeners may bind several sockets to the same address with {@code SO_REUSEPORT}.
  */
 public final class Endpoint {
 
-  private final Channel channel;
+  private final List<Channel> channels;
   private final ListenerType type;
 
   public Endpoint(Channel channel, ListenerType type) {
-    this.channel = Preconditions.checkNotNull(channel, "channel");
+    this(List.of(Preconditions.checkNotNull(channel, "channel")), type);
+  }
+
+  /**
+   * Creates an endpoint made up of several channels bound to the same address.
+   *
+   * @param channels the channels of the endpoint
+   * @param type the type of the listener
+   */
+  public Endpoint(List<Channel> channels, ListenerType type) {
+    Preconditions.checkArgument(!channels.isEmpty(), "channels must not be empty");
+    this.channels = List.copyOf(channels);
     this.type = Preconditions.checkNotNull(type, "type");
   }
 
   public Channel getChannel() {
-    return channel;
+    return channels.get(0);
+  }
+
+  public List<Channel> getChannels() {
+    return channels;
   }
 
   public ListenerType getType() {
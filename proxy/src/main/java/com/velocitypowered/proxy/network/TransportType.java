@@ -37,6 +37,11 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringDatagramChannel;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.BiFunction;
 
@@ -52,6 +57,10 @@ public enum TransportType {
       EpollSocketChannel::new,
       EpollDatagramChannel::new,
       (name, type) -> new EpollEventLoopGroup(0, createThreadFactory(name, type))),
+  IO_URING("io_uring", IOUringServerSocketChannel::new,
+      IOUringSocketChannel::new,
+      IOUringDatagramChannel::new,
+      (name, type) -> new IOUringEventLoopGroup(0, createThreadFactory(name, type))),
   KQUEUE("kqueue", KQueueServerSocketChannel::new,
       KQueueSocketChannel::new,
       KQueueDatagramChannel::new,
@@ -84,6 +93,38 @@ public enum TransportType {
     return this.eventLoopGroupFactory.apply(this.name, type);
   }
 
+  public ChannelFactory<? extends ServerSocketChannel> getServerSocketChannelFactory() {
+    return this.serverSocketChannelFactory;
+  }
+
+  public ChannelFactory<? extends SocketChannel> getSocketChannelFactory() {
+    return this.socketChannelFactory;
+  }
+
+  /**
+   * Determines whether this transport can be used on this system.
+   *
+   * @return {@code true} if the transport is available
+   */
+  public boolean isAvailable() {
+    return switch (this) {
+      case NIO -> true;
+      case EPOLL -> Epoll.isAvailable();
+      case IO_URING -> IOUring.isAvailable();
+      case KQUEUE -> KQueue.isAvailable();
+    };
+  }
+
+  /**
+   * Determines whether the io_uring transport was requested with the
+   * {@code velocity.enable-io-uring} system property.
+   *
+   * @return {@code true} if io_uring should be used when it is available
+   */
+  public static boolean isIoUringRequested() {
+    return Boolean.getBoolean("velocity.enable-io-uring");
+  }
+
   private static ThreadFactory createThreadFactory(final String name, final Type type) {
     return new VelocityNettyThreadFactory("Netty " + name + ' ' + type.toString() + " #%d");
   }
@@ -98,6 +139,12 @@ public enum TransportType {
       return NIO;
     }
 
+    // io_uring is still incubating in Netty, so it must be enabled explicitly. If the kernel
+    // does not support it, we fall back to epoll.
+    if (isIoUringRequested() && IOUring.isAvailable()) {
+      return IO_URING;
+    }
+
     if (Epoll.isAvailable()) {
       return EPOLL;
     }
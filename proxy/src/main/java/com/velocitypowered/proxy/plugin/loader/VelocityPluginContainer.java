@@ -20,6 +20,8 @@ package com.velocitypowered.proxy.plugin.loader;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginDescription;
+import com.velocitypowered.proxy.util.concurrent.BoundedTaskExecutor;
+import com.velocitypowered.proxy.util.concurrent.VirtualThreads;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -29,6 +31,9 @@ import java.util.concurrent.Executors;
  */
 public class VelocityPluginContainer implements PluginContainer {
 
+  private static final int MAX_VIRTUAL_THREAD_CONCURRENCY =
+      Integer.getInteger("velocity.virtual-threads.plugin-concurrency", 256);
+
   private final PluginDescription description;
   private Object instance;
   private volatile ExecutorService service;
@@ -57,14 +62,7 @@ public class VelocityPluginContainer implements PluginContainer {
       synchronized (this) {
         if (this.service == null) {
           String name = this.description.getName().orElse(this.description.getId());
-          this.service = Executors.unconfigurableExecutorService(
-              Executors.newCachedThreadPool(
-                new ThreadFactoryBuilder().setDaemon(true)
-                    .setNameFormat(name + " - Task Executor #%d")
-                    .setDaemon(true)
-                    .build()
-              )
-          );
+          this.service = Executors.unconfigurableExecutorService(createExecutorService(name));
         }
       }
     }
@@ -72,6 +70,25 @@ public class VelocityPluginContainer implements PluginContainer {
     return this.service;
   }
 
+  private static ExecutorService createExecutorService(String name) {
+    if (VirtualThreads.isEnabled()) {
+      // Virtual threads are cheap, but a plugin blocking on a slow database during a login wave
+      // could still start an unbounded number of them, so limit how many run at once.
+      ExecutorService delegate = VirtualThreads.newThreadPerTaskExecutor(
+          name + " - Task Executor #");
+      return MAX_VIRTUAL_THREAD_CONCURRENCY > 0
+          ? new BoundedTaskExecutor(delegate, "Task executor of " + name,
+              MAX_VIRTUAL_THREAD_CONCURRENCY)
+          : delegate;
+    }
+    return Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat(name + " - Task Executor #%d")
+            .setDaemon(true)
+            .build()
+    );
+  }
+
   public boolean hasExecutorService() {
     return this.service != null;
   }
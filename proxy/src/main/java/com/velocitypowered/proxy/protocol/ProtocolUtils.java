@@ -448,6 +448,76 @@ public enum ProtocolUtils {
     }
   }
 
+  /**
+   * Reads a {@link net.kyori.adventure.nbt.CompoundBinaryTag} from the {@code buf} without parsing
+   * it, returning its raw bytes instead. The tag is only scanned to find where it ends, so no tag
+   * objects are allocated. The bytes can be written back to a buffer as they are, or parsed with
+   * {@link #readCompoundTag(ByteBuf, ProtocolVersion, BinaryTagIO.Reader)}.
+   *
+   * @param buf      the buffer to read from
+   * @param version  the protocol version the tag is encoded for
+   * @param maxBytes the maximum size of the tag
+   * @return the raw bytes of the tag, including its type and (if any) name
+   */
+  public static byte[] readRawCompoundTag(ByteBuf buf, ProtocolVersion version, int maxBytes) {
+    int start = buf.readerIndex();
+    byte type = buf.readByte();
+    if (type != BinaryTagTypes.COMPOUND.id()) {
+      throw new DecoderException("Expected root tag to be CompoundTag, but is of type " + type);
+    }
+    if (version.lessThan(ProtocolVersion.MINECRAFT_1_20_2)) {
+      buf.skipBytes(buf.readUnsignedShort());
+    }
+    skipBinaryTagPayload(buf, type, 0);
+
+    int length = buf.readerIndex() - start;
+    if (length > maxBytes) {
+      throw new DecoderException("BinaryTag is too large (" + length + " > " + maxBytes + ")");
+    }
+    byte[] raw = new byte[length];
+    buf.getBytes(start, raw);
+    return raw;
+  }
+
+  private static void skipBinaryTagPayload(ByteBuf buf, byte type, int depth) {
+    if (depth > 512) {
+      throw new DecoderException("BinaryTag is nested too deeply");
+    }
+    switch (type) {
+      case 1 -> buf.skipBytes(Byte.BYTES);
+      case 2 -> buf.skipBytes(Short.BYTES);
+      case 3, 5 -> buf.skipBytes(Integer.BYTES);
+      case 4, 6 -> buf.skipBytes(Long.BYTES);
+      case 7 -> buf.skipBytes(readBinaryTagArrayLength(buf, Byte.BYTES));
+      case 8 -> buf.skipBytes(buf.readUnsignedShort());
+      case 9 -> {
+        byte elementType = buf.readByte();
+        int size = buf.readInt();
+        for (int i = 0; i < size; i++) {
+          skipBinaryTagPayload(buf, elementType, depth + 1);
+        }
+      }
+      case 10 -> {
+        byte entryType;
+        while ((entryType = buf.readByte()) != 0) {
+          buf.skipBytes(buf.readUnsignedShort());
+          skipBinaryTagPayload(buf, entryType, depth + 1);
+        }
+      }
+      case 11 -> buf.skipBytes(readBinaryTagArrayLength(buf, Integer.BYTES));
+      case 12 -> buf.skipBytes(readBinaryTagArrayLength(buf, Long.BYTES));
+      default -> throw new DecoderException("Unknown BinaryTag type " + type);
+    }
+  }
+
+  private static int readBinaryTagArrayLength(ByteBuf buf, int elementSize) {
+    int length = buf.readInt();
+    if (length < 0 || length > buf.readableBytes() / elementSize) {
+      throw new DecoderException("BinaryTag array length " + length + " is out of bounds");
+    }
+    return length * elementSize;
+  }
+
   /**
    * Writes a {@link net.kyori.adventure.nbt.BinaryTag} to the {@code buf}.
    *
@@ -904,6 +904,17 @@ public enum StateRegistry {
         return supplier.get();
       }
 
+      /**
+       * Checks if a packet would be created by {@link #createPacket(int)} for the specified
+       * {@code id}, without creating it.
+       *
+       * @param id the packet ID
+       * @return {@code true} if the ID is registered for decoding, {@code false} otherwise
+       */
+      public boolean canCreatePacket(final int id) {
+        return this.packetIdToSupplier.containsKey(id);
+      }
+
       /**
        * Attempts to look up the packet ID for an {@code packet}.
        *
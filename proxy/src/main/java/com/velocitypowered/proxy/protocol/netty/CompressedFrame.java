@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static com.velocitypowered.natives.util.MoreByteBufUtils.ensureCompatible;
+import static com.velocitypowered.natives.util.MoreByteBufUtils.preferredBuffer;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.natives.compression.VelocityCompressor;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.DefaultByteBufHolder;
+import java.util.zip.DataFormatException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A packet that is still in its compressed form, as it was received from the remote end of a
+ * connection. Frames like these are only produced for packets Velocity does not need to decode,
+ * so that they can be forwarded to the other side of the proxy without being inflated and then
+ * deflated again.
+ *
+ * <p>Connections which use a higher compression threshold inflate the frame with their own
+ * compressor. A frame received from a connection also retains a reference to the compressor of
+ * that connection, so that connections which do not compress their packets at all can still
+ * inflate it. As such, such a frame must only be written from the event loop it was received on.
+ * Frames that are not tied to a connection, such as cached ones, have no compressor of their own
+ * and may only be written to connections that compress their packets.
+ */
+public final class CompressedFrame extends DefaultByteBufHolder {
+
+  private final int packetId;
+  private final int uncompressedSize;
+  private final @Nullable VelocityCompressor compressor;
+
+  /**
+   * Creates a new compressed frame.
+   *
+   * @param data the deflated packet data, without the uncompressed length prefix
+   * @param packetId the ID of the compressed packet
+   * @param uncompressedSize the size of the packet once inflated
+   * @param compressor the compressor of the connection the frame was received on, or
+   *     {@code null} if the frame was not received from a connection
+   */
+  public CompressedFrame(ByteBuf data, int packetId, int uncompressedSize,
+      @Nullable VelocityCompressor compressor) {
+    super(data);
+    this.packetId = packetId;
+    this.uncompressedSize = uncompressedSize;
+    this.compressor = compressor;
+  }
+
+  public int getPacketId() {
+    return packetId;
+  }
+
+  public int getUncompressedSize() {
+    return uncompressedSize;
+  }
+
+  /**
+   * Inflates the frame into a newly-allocated buffer with the compressor of the connection it was
+   * received on. The frame itself is not released.
+   *
+   * @param alloc the allocator to use
+   * @return the inflated packet, including its packet ID
+   * @throws DataFormatException if the frame could not be inflated
+   * @throws IllegalStateException if the frame was not received from a connection
+   */
+  public ByteBuf inflate(ByteBufAllocator alloc) throws DataFormatException {
+    Preconditions.checkState(compressor != null,
+        "frame was not received from a connection and can't be inflated on its own");
+    return inflate(alloc, compressor);
+  }
+
+  /**
+   * Inflates the frame into a newly-allocated buffer with the specified {@code compressor}. The
+   * frame itself is not released.
+   *
+   * @param alloc the allocator to use
+   * @param compressor the compressor to inflate the frame with
+   * @return the inflated packet, including its packet ID
+   * @throws DataFormatException if the frame could not be inflated
+   */
+  public ByteBuf inflate(ByteBufAllocator alloc, VelocityCompressor compressor)
+      throws DataFormatException {
+    ByteBuf compatibleIn = ensureCompatible(alloc, compressor, content().duplicate());
+    ByteBuf uncompressed = preferredBuffer(alloc, compressor, uncompressedSize);
+    try {
+      compressor.inflate(compatibleIn, uncompressed, uncompressedSize);
+      return uncompressed;
+    } catch (DataFormatException | RuntimeException e) {
+      uncompressed.release();
+      throw e;
+    } finally {
+      compatibleIn.release();
+    }
+  }
+
+  @Override
+  public CompressedFrame replace(ByteBuf content) {
+    return new CompressedFrame(content, packetId, uncompressedSize, compressor);
+  }
+
+  @Override
+  public CompressedFrame copy() {
+    return (CompressedFrame) super.copy();
+  }
+
+  @Override
+  public CompressedFrame duplicate() {
+    return (CompressedFrame) super.duplicate();
+  }
+
+  @Override
+  public CompressedFrame retainedDuplicate() {
+    return (CompressedFrame) super.retainedDuplicate();
+  }
+
+  @Override
+  public CompressedFrame retain() {
+    super.retain();
+    return this;
+  }
+
+  @Override
+  public CompressedFrame retain(int increment) {
+    super.retain(increment);
+    return this;
+  }
+
+  @Override
+  public CompressedFrame touch() {
+    super.touch();
+    return this;
+  }
+
+  @Override
+  public CompressedFrame touch(Object hint) {
+    super.touch(hint);
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "CompressedFrame{"
+        + "packetId=" + packetId
+        + ", uncompressedSize=" + uncompressedSize
+        + ", content=" + content()
+        + '}';
+  }
+}
@@ -31,10 +31,12 @@ import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.server.QueryResponse;
 import com.velocitypowered.proxy.VelocityServer;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.socket.DatagramPacket;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.ArrayList;
@@ -47,9 +49,15 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.apache.logging.log4j.LogManager;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Implements the GameSpy protocol for Velocity.
+ *
+ * <p>Query responses are cached for {@code query.cache-ttl} milliseconds, so that the player and
+ * plugin lists are gathered at most once in that time. The stat responses are also kept encoded as
+ * long as nobody listens to {@link ProxyQueryEvent}, or as long as listeners leave them unchanged.
+ * The cache is only accessed from the event loop of the query channel.
  */
 public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPacket> {
 
@@ -78,6 +86,10 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
       .build();
   private final SecureRandom random;
   private final VelocityServer server;
+  private @Nullable QueryResponse cachedResponse;
+  private long cachedResponseTime;
+  private @Nullable ByteBuf cachedBasicBody;
+  private @Nullable ByteBuf cachedFullBody;
 
   public GameSpyQueryHandler(VelocityServer server) {
     this.server = server;
@@ -103,6 +115,48 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
         .build();
   }
 
+  private QueryResponse getResponse() {
+    long now = System.nanoTime();
+    long ttl = TimeUnit.MILLISECONDS.toNanos(server.getConfiguration().getQueryCacheTtl());
+    if (cachedResponse == null || now - cachedResponseTime >= ttl) {
+      releaseCachedBodies();
+      cachedResponse = createInitialResponse();
+      cachedResponseTime = now;
+    }
+    return cachedResponse;
+  }
+
+  private ByteBuf getCachedBody(QueryResponse response, boolean isBasic) {
+    ByteBuf body = isBasic ? cachedBasicBody : cachedFullBody;
+    if (body == null) {
+      body = Unpooled.buffer();
+      writeStatBody(body, response, isBasic);
+      if (isBasic) {
+        cachedBasicBody = body;
+      } else {
+        cachedFullBody = body;
+      }
+    }
+    return body;
+  }
+
+  private void releaseCachedBodies() {
+    if (cachedBasicBody != null) {
+      cachedBasicBody.release();
+      cachedBasicBody = null;
+    }
+    if (cachedFullBody != null) {
+      cachedFullBody.release();
+      cachedFullBody = null;
+    }
+  }
+
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+    releaseCachedBodies();
+    cachedResponse = null;
+  }
+
   @Override
   protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket msg) throws Exception {
     ByteBuf queryMessage = msg.content();
@@ -148,43 +202,18 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
           return;
         }
 
-        // Build initial query response
-        QueryResponse response = createInitialResponse();
+        QueryResponse response = getResponse();
         boolean isBasic = !queryMessage.isReadable();
+        if (!server.getEventManager().hasSubscribers(ProxyQueryEvent.class)) {
+          writeStatResponse(ctx, msg.sender(), sessionId, response, isBasic);
+          break;
+        }
 
         // Call event and write response
         server.getEventManager()
             .fire(new ProxyQueryEvent(isBasic ? BASIC : FULL, senderAddress, response))
-            .thenAcceptAsync((event) -> {
-              // Packet header
-              ByteBuf queryResponse = ctx.alloc().buffer();
-              queryResponse.writeByte(QUERY_TYPE_STAT);
-              queryResponse.writeInt(sessionId);
-
-              // Start writing the response
-              ResponseWriter responseWriter = new ResponseWriter(queryResponse, isBasic);
-              responseWriter.write("hostname", event.getResponse().getHostname());
-              responseWriter.write("gametype", "SMP");
-
-              responseWriter.write("game_id", "MINECRAFT");
-              responseWriter.write("version", event.getResponse().getGameVersion());
-              responseWriter.writePlugins(event.getResponse().getProxyVersion(),
-                  event.getResponse().getPlugins());
-
-              responseWriter.write("map", event.getResponse().getMap());
-              responseWriter.write("numplayers", event.getResponse().getCurrentPlayers());
-              responseWriter.write("maxplayers", event.getResponse().getMaxPlayers());
-              responseWriter.write("hostport", event.getResponse().getProxyPort());
-              responseWriter.write("hostip", event.getResponse().getProxyHost());
-
-              if (!responseWriter.isBasic) {
-                responseWriter.writePlayers(event.getResponse().getPlayers());
-              }
-
-              // Send the response
-              DatagramPacket responsePacket = new DatagramPacket(queryResponse, msg.sender());
-              ctx.writeAndFlush(responsePacket, ctx.voidPromise());
-            }, ctx.channel().eventLoop())
+            .thenAcceptAsync((event) -> writeStatResponse(ctx, msg.sender(), sessionId,
+                event.getResponse(), isBasic), ctx.channel().eventLoop())
             .exceptionally((ex) -> {
               LogManager.getLogger(getClass()).error(
                   "Exception while writing GS4 response for query from {}", senderAddress, ex);
@@ -197,6 +226,47 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
     }
   }
 
+  private void writeStatResponse(ChannelHandlerContext ctx, InetSocketAddress sender,
+      int sessionId, QueryResponse response, boolean isBasic) {
+    ByteBuf queryResponse;
+    if (response == cachedResponse) {
+      ByteBuf body = getCachedBody(response, isBasic);
+      queryResponse = ctx.alloc().buffer(5 + body.readableBytes());
+      queryResponse.writeByte(QUERY_TYPE_STAT);
+      queryResponse.writeInt(sessionId);
+      queryResponse.writeBytes(body, body.readerIndex(), body.readableBytes());
+    } else {
+      // A listener replaced the response, so it has to be written out for this query alone.
+      queryResponse = ctx.alloc().buffer();
+      queryResponse.writeByte(QUERY_TYPE_STAT);
+      queryResponse.writeInt(sessionId);
+      writeStatBody(queryResponse, response, isBasic);
+    }
+
+    DatagramPacket responsePacket = new DatagramPacket(queryResponse, sender);
+    ctx.writeAndFlush(responsePacket, ctx.voidPromise());
+  }
+
+  private static void writeStatBody(ByteBuf buf, QueryResponse response, boolean isBasic) {
+    ResponseWriter responseWriter = new ResponseWriter(buf, isBasic);
+    responseWriter.write("hostname", response.getHostname());
+    responseWriter.write("gametype", "SMP");
+
+    responseWriter.write("game_id", "MINECRAFT");
+    responseWriter.write("version", response.getGameVersion());
+    responseWriter.writePlugins(response.getProxyVersion(), response.getPlugins());
+
+    responseWriter.write("map", response.getMap());
+    responseWriter.write("numplayers", response.getCurrentPlayers());
+    responseWriter.write("maxplayers", response.getMaxPlayers());
+    responseWriter.write("hostport", response.getProxyPort());
+    responseWriter.write("hostip", response.getProxyHost());
+
+    if (!responseWriter.isBasic) {
+      responseWriter.writePlayers(response.getPlayers());
+    }
+  }
+
   private static void writeString(ByteBuf buf, String string) {
     buf.writeCharSequence(string, StandardCharsets.ISO_8859_1);
     buf.writeByte(0x00);
@@ -20,10 +20,12 @@ package com.velocitypowered.proxy.protocol.netty;
 import com.google.common.base.Preconditions;
 import com.velocitypowered.natives.encryption.VelocityCipher;
 import com.velocitypowered.natives.util.MoreByteBufUtils;
+import com.velocitypowered.proxy.metrics.ProcessingCounter;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Handler for decrypting Minecraft packets.
@@ -31,16 +33,34 @@ import java.util.List;
 public class MinecraftCipherDecoder extends MessageToMessageDecoder<ByteBuf> {
 
   private final VelocityCipher cipher;
+  private final @Nullable ProcessingCounter counter;
 
   public MinecraftCipherDecoder(VelocityCipher cipher) {
+    this(cipher, null);
+  }
+
+  /**
+   * Creates a new {@code MinecraftCipherDecoder} recording the data it decrypts to the specified
+   * {@code counter}.
+   *
+   * @param cipher the cipher to use
+   * @param counter the counter to record processed data to
+   */
+  public MinecraftCipherDecoder(VelocityCipher cipher, @Nullable ProcessingCounter counter) {
     this.cipher = Preconditions.checkNotNull(cipher, "cipher");
+    this.counter = counter;
   }
 
   @Override
   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
     ByteBuf compatible = MoreByteBufUtils.ensureCompatible(ctx.alloc(), cipher, in).slice();
     try {
+      int size = compatible.readableBytes();
+      long start = counter != null ? System.nanoTime() : 0;
       cipher.process(compatible);
+      if (counter != null) {
+        counter.record(size, size, start);
+      }
       out.add(compatible);
     } catch (Exception e) {
       compatible.release(); // compatible will never be used if we throw an exception
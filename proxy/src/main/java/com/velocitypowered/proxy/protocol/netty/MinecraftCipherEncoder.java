@@ -20,10 +20,12 @@ package com.velocitypowered.proxy.protocol.netty;
 import com.google.common.base.Preconditions;
 import com.velocitypowered.natives.encryption.VelocityCipher;
 import com.velocitypowered.natives.util.MoreByteBufUtils;
+import com.velocitypowered.proxy.metrics.ProcessingCounter;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageEncoder;
 import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Encrypts Minecraft protocol packets using {@link VelocityCipher}.
@@ -31,16 +33,34 @@ import java.util.List;
 public class MinecraftCipherEncoder extends MessageToMessageEncoder<ByteBuf> {
 
   private final VelocityCipher cipher;
+  private final @Nullable ProcessingCounter counter;
 
   public MinecraftCipherEncoder(VelocityCipher cipher) {
+    this(cipher, null);
+  }
+
+  /**
+   * Creates a new {@code MinecraftCipherEncoder} recording the data it encrypts to the specified
+   * {@code counter}.
+   *
+   * @param cipher the cipher to use
+   * @param counter the counter to record processed data to
+   */
+  public MinecraftCipherEncoder(VelocityCipher cipher, @Nullable ProcessingCounter counter) {
     this.cipher = Preconditions.checkNotNull(cipher, "cipher");
+    this.counter = counter;
   }
 
   @Override
   protected void encode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) throws Exception {
     ByteBuf compatible = MoreByteBufUtils.ensureCompatible(ctx.alloc(), cipher, msg);
     try {
+      int size = compatible.readableBytes();
+      long start = counter != null ? System.nanoTime() : 0;
       cipher.process(compatible);
+      if (counter != null) {
+        counter.record(size, size, start);
+      }
       out.add(compatible);
     } catch (Exception e) {
       compatible.release(); // compatible will never be used if we throw an exception
@@ -22,30 +22,63 @@ import static com.velocitypowered.natives.util.MoreByteBufUtils.preferredBuffer;
 import static com.velocitypowered.proxy.protocol.util.NettyPreconditions.checkFrame;
 
 import com.velocitypowered.natives.compression.VelocityCompressor;
+import com.velocitypowered.proxy.metrics.ProcessingCounter;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Decompresses a Minecraft packet.
  */
 public class MinecraftCompressDecoder extends MessageToMessageDecoder<ByteBuf> {
 
-  private static final int VANILLA_MAXIMUM_UNCOMPRESSED_SIZE = 8 * 1024 * 1024; // 8MiB
+  static final int VANILLA_MAXIMUM_UNCOMPRESSED_SIZE = 8 * 1024 * 1024; // 8MiB
   private static final int HARD_MAXIMUM_UNCOMPRESSED_SIZE = 128 * 1024 * 1024; // 128MiB
 
   private static final int UNCOMPRESSED_CAP =
       Boolean.getBoolean("velocity.increased-compression-cap")
           ? HARD_MAXIMUM_UNCOMPRESSED_SIZE : VANILLA_MAXIMUM_UNCOMPRESSED_SIZE;
 
+  // Forwards compressed packets we don't decode as-is, instead of re-compressing them on the way
+  // out. This is opt-in, as it hides the uncompressed packet from handlers placed between this
+  // decoder and the MinecraftDecoder.
+  private static final boolean PASSTHROUGH = Boolean.getBoolean("velocity.compression-passthrough");
+  private static final int MAXIMUM_PACKET_ID_SIZE = 5; // the maximum size of a VarInt
+
   private int threshold;
   private final VelocityCompressor compressor;
+  private final @Nullable ProcessingCounter counter;
+  private @Nullable MinecraftDecoder minecraftDecoder;
+  private @Nullable ByteBuf packetIdBuffer;
 
   public MinecraftCompressDecoder(int threshold, VelocityCompressor compressor) {
+    this(threshold, compressor, null);
+  }
+
+  /**
+   * Creates a new {@code MinecraftCompressDecoder} recording the packets it inflates to the
+   * specified {@code counter}.
+   *
+   * @param threshold the compression threshold
+   * @param compressor the compressor to inflate packets with
+   * @param counter the counter to record inflated packets to
+   */
+  public MinecraftCompressDecoder(int threshold, VelocityCompressor compressor,
+      @Nullable ProcessingCounter counter) {
     this.threshold = threshold;
     this.compressor = compressor;
+    this.counter = counter;
+  }
+
+  @Override
+  public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+    if (PASSTHROUGH) {
+      this.minecraftDecoder = ctx.pipeline().get(MinecraftDecoder.class);
+      this.packetIdBuffer = ctx.alloc().heapBuffer(MAXIMUM_PACKET_ID_SIZE);
+    }
   }
 
   @Override
@@ -63,10 +96,26 @@ public class MinecraftCompressDecoder extends MessageToMessageDecoder<ByteBuf> {
         "Uncompressed size %s exceeds hard threshold of %s", claimedUncompressedSize,
         UNCOMPRESSED_CAP);
 
+    // The other end rejects packets larger than the vanilla maximum, so only pass through packets
+    // it would accept. Larger packets allowed by the increased cap are inflated as usual.
+    if (minecraftDecoder != null && claimedUncompressedSize <= VANILLA_MAXIMUM_UNCOMPRESSED_SIZE) {
+      int packetId = peekPacketId(in, claimedUncompressedSize);
+      if (minecraftDecoder.isForwardedUndecoded(packetId)) {
+        // Nothing will look at the contents of this packet, so keep it compressed.
+        out.add(new CompressedFrame(in.retain(), packetId, claimedUncompressedSize, compressor));
+        return;
+      }
+    }
+
+    int compressedSize = in.readableBytes();
+    long start = counter != null ? System.nanoTime() : 0;
     ByteBuf compatibleIn = ensureCompatible(ctx.alloc(), compressor, in);
     ByteBuf uncompressed = preferredBuffer(ctx.alloc(), compressor, claimedUncompressedSize);
     try {
       compressor.inflate(compatibleIn, uncompressed, claimedUncompressedSize);
+      if (counter != null) {
+        counter.record(compressedSize, claimedUncompressedSize, start);
+      }
       out.add(uncompressed);
     } catch (Exception e) {
       uncompressed.release();
@@ -76,9 +125,20 @@ public class MinecraftCompressDecoder extends MessageToMessageDecoder<ByteBuf> {
     }
   }
 
+  private int peekPacketId(ByteBuf in, int uncompressedSize) throws Exception {
+    // Only inflate as much as we need to read the packet ID.
+    packetIdBuffer.clear();
+    compressor.inflatePartial(in, packetIdBuffer,
+        Math.min(uncompressedSize, MAXIMUM_PACKET_ID_SIZE));
+    return ProtocolUtils.readVarInt(packetIdBuffer);
+  }
+
   @Override
   public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
     compressor.close();
+    if (packetIdBuffer != null) {
+      packetIdBuffer.release();
+    }
   }
 
   public void setThreshold(int threshold) {
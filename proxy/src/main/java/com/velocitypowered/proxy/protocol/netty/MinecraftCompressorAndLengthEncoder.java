@@ -17,15 +17,19 @@
 
 package com.velocitypowered.proxy.protocol.netty;
 
+import static com.velocitypowered.proxy.protocol.netty.MinecraftCompressDecoder.VANILLA_MAXIMUM_UNCOMPRESSED_SIZE;
 import static com.velocitypowered.proxy.protocol.netty.MinecraftVarintLengthEncoder.IS_JAVA_CIPHER;
 
 import com.velocitypowered.natives.compression.VelocityCompressor;
 import com.velocitypowered.natives.util.MoreByteBufUtils;
+import com.velocitypowered.proxy.metrics.ProcessingCounter;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.util.zip.DataFormatException;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Handler for compressing Minecraft packets.
@@ -34,10 +38,78 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
 
   private int threshold;
   private final VelocityCompressor compressor;
+  private final @Nullable ProcessingCounter counter;
 
   public MinecraftCompressorAndLengthEncoder(int threshold, VelocityCompressor compressor) {
+    this(threshold, compressor, null);
+  }
+
+  /**
+   * Creates a new {@code MinecraftCompressorAndLengthEncoder} recording the packets it deflates to
+   * the specified {@code counter}.
+   *
+   * @param threshold the compression threshold
+   * @param compressor the compressor to deflate packets with
+   * @param counter the counter to record deflated packets to
+   */
+  public MinecraftCompressorAndLengthEncoder(int threshold, VelocityCompressor compressor,
+      @Nullable ProcessingCounter counter) {
     this.threshold = threshold;
     this.compressor = compressor;
+    this.counter = counter;
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    if (msg instanceof CompressedFrame frame) {
+      writeCompressedFrame(ctx, frame, promise);
+    } else {
+      super.write(ctx, msg, promise);
+    }
+  }
+
+  private void writeCompressedFrame(ChannelHandlerContext ctx, CompressedFrame frame,
+      ChannelPromise promise) throws Exception {
+    ByteBuf out;
+    try {
+      if (frame.getUncompressedSize() <= 0
+          || frame.getUncompressedSize() > VANILLA_MAXIMUM_UNCOMPRESSED_SIZE) {
+        throw new DataFormatException("Compressed frame declares an uncompressed size of "
+            + frame.getUncompressedSize() + ", which is outside of the protocol limits");
+      }
+      if (frame.getUncompressedSize() < threshold) {
+        // The frame would be rejected by the remote end for not being compressed, so we have to
+        // inflate it again and send it like any other packet. Use our own compressor, as the
+        // frame may be shared with connections on other event loops.
+        ByteBuf uncompressed = frame.inflate(ctx.alloc(), compressor);
+        try {
+          out = allocateBuffer(ctx, uncompressed, true);
+          try {
+            encode(ctx, uncompressed, out);
+          } catch (Exception e) {
+            out.release();
+            throw e;
+          }
+        } finally {
+          uncompressed.release();
+        }
+      } else {
+        ByteBuf data = frame.content();
+        int packetLength = ProtocolUtils.varIntBytes(frame.getUncompressedSize())
+            + data.readableBytes();
+        int frameLength = ProtocolUtils.varIntBytes(packetLength) + packetLength;
+        out = IS_JAVA_CIPHER
+            ? ctx.alloc().heapBuffer(frameLength)
+            : ctx.alloc().directBuffer(frameLength);
+        ProtocolUtils.writeVarInt(out, packetLength);
+        ProtocolUtils.writeVarInt(out, frame.getUncompressedSize());
+        out.writeBytes(data, data.readerIndex(), data.readableBytes());
+      }
+    } finally {
+      frame.release();
+    }
+    ctx.write(out, promise);
   }
 
   @Override
@@ -62,12 +134,16 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
     ByteBuf compatibleIn = MoreByteBufUtils.ensureCompatible(ctx.alloc(), compressor, msg);
 
     int startCompressed = out.writerIndex();
+    long start = counter != null ? System.nanoTime() : 0;
     try {
       compressor.deflate(compatibleIn, out);
     } finally {
       compatibleIn.release();
     }
     int compressedLength = out.writerIndex() - startCompressed;
+    if (counter != null) {
+      counter.record(uncompressed, compressedLength, start);
+    }
     if (compressedLength >= 1 << 21) {
       throw new DataFormatException("The server sent a very large (over 2MiB compressed) packet.");
     }
@@ -101,6 +177,10 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
     compressor.close();
   }
 
+  public int getThreshold() {
+    return threshold;
+  }
+
   public void setThreshold(int threshold) {
     this.threshold = threshold;
   }
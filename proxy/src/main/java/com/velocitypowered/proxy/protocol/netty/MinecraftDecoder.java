@@ -19,6 +19,8 @@ package com.velocitypowered.proxy.protocol.netty;
 
 import com.google.common.base.Preconditions;
 import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.metrics.TrafficCounter;
+import com.velocitypowered.proxy.metrics.VelocityProxyMetrics;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.StateRegistry;
@@ -27,6 +29,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.CorruptedFrameException;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Decodes Minecraft packets.
@@ -39,6 +42,8 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
           + "information, launch Velocity with -Dvelocity.packet-decode-logging=true to see more.");
 
   private final ProtocolUtils.Direction direction;
+  private final @Nullable VelocityProxyMetrics metrics;
+  private @Nullable TrafficCounter traffic;
   private StateRegistry state;
   private StateRegistry.PacketRegistry.ProtocolRegistry registry;
 
@@ -48,7 +53,20 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
    * @param direction the direction from which we decode from
    */
   public MinecraftDecoder(ProtocolUtils.Direction direction) {
+    this(direction, null);
+  }
+
+  /**
+   * Creates a new {@code MinecraftDecoder} decoding packets from the specified {@code direction}
+   * and recording the packets it receives to {@code metrics}.
+   *
+   * @param direction the direction from which we decode from
+   * @param metrics the metrics to record received packets to
+   */
+  public MinecraftDecoder(ProtocolUtils.Direction direction,
+      @Nullable VelocityProxyMetrics metrics) {
     this.direction = Preconditions.checkNotNull(direction, "direction");
+    this.metrics = metrics;
     this.registry = StateRegistry.HANDSHAKE.getProtocolRegistry(
         direction, ProtocolVersion.MINIMUM_VERSION);
     this.state = StateRegistry.HANDSHAKE;
@@ -59,6 +77,9 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
     if (msg instanceof ByteBuf buf) {
       tryDecode(ctx, buf);
     } else {
+      if (msg instanceof CompressedFrame frame) {
+        recordReceived(frame.getPacketId(), frame.getUncompressedSize());
+      }
       ctx.fireChannelRead(msg);
     }
   }
@@ -70,7 +91,9 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
     }
 
     int originalReaderIndex = buf.readerIndex();
+    int packetSize = buf.readableBytes();
     int packetId = ProtocolUtils.readVarInt(buf);
+    recordReceived(packetId, packetSize);
     MinecraftPacket packet = this.registry.createPacket(packetId);
     if (packet == null) {
       buf.readerIndex(originalReaderIndex);
@@ -95,6 +118,15 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
     }
   }
 
+  private void recordReceived(int packetId, int packetSize) {
+    if (metrics != null) {
+      metrics.recordPacketReceived(direction, state, packetId, packetSize);
+    }
+    if (traffic != null) {
+      traffic.recordReceived(packetSize);
+    }
+  }
+
   private void doLengthSanityChecks(ByteBuf buf, MinecraftPacket packet) throws Exception {
     int expectedMinLen = packet.expectedMinLength(buf, direction, registry.version);
     int expectedMaxLen = packet.expectedMaxLength(buf, direction, registry.version);
@@ -138,6 +170,18 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
         + " ID " + Integer.toHexString(packetId);
   }
 
+  /**
+   * Determines whether a packet with the specified {@code packetId} would be forwarded without
+   * being decoded. Only packets received in the {@code PLAY} state are considered, as that is the
+   * only state in which session handlers forward compressed frames.
+   *
+   * @param packetId the packet ID to check
+   * @return {@code true} if the packet can be forwarded as-is
+   */
+  public boolean isForwardedUndecoded(int packetId) {
+    return state == StateRegistry.PLAY && !registry.canCreatePacket(packetId);
+  }
+
   public void setProtocolVersion(ProtocolVersion protocolVersion) {
     this.registry = state.getProtocolRegistry(direction, protocolVersion);
   }
@@ -147,6 +191,10 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
     this.setProtocolVersion(registry.version);
   }
 
+  public void setTrafficCounter(@Nullable TrafficCounter traffic) {
+    this.traffic = traffic;
+  }
+
   public ProtocolUtils.Direction getDirection() {
     return direction;
   }
@@ -19,19 +19,27 @@ package com.velocitypowered.proxy.protocol.netty;
 
 import com.google.common.base.Preconditions;
 import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.metrics.TrafficCounter;
+import com.velocitypowered.proxy.metrics.VelocityProxyMetrics;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Encodes {@link MinecraftPacket} instances.
  */
 public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
 
+  private static final int MAXIMUM_PACKET_ID_SIZE = 5; // the maximum size of a VarInt
+
   private final ProtocolUtils.Direction direction;
+  private final @Nullable VelocityProxyMetrics metrics;
+  private @Nullable TrafficCounter traffic;
   private StateRegistry state;
   private StateRegistry.PacketRegistry.ProtocolRegistry registry;
 
@@ -41,28 +49,85 @@ public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
    * @param direction the direction to encode to
    */
   public MinecraftEncoder(ProtocolUtils.Direction direction) {
+    this(direction, null);
+  }
+
+  /**
+   * Creates a new {@code MinecraftEncoder} encoding packets for the specified {@code direction}
+   * and recording the packets it sends to {@code metrics}.
+   *
+   * @param direction the direction to encode to
+   * @param metrics the metrics to record sent packets to
+   */
+  public MinecraftEncoder(ProtocolUtils.Direction direction,
+      @Nullable VelocityProxyMetrics metrics) {
     this.direction = Preconditions.checkNotNull(direction, "direction");
+    this.metrics = metrics;
     this.registry = StateRegistry.HANDSHAKE.getProtocolRegistry(
         direction, ProtocolVersion.MINIMUM_VERSION);
     this.state = StateRegistry.HANDSHAKE;
   }
 
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    // Packets forwarded without being decoded skip encode(), so count them here instead.
+    if (msg instanceof ByteBuf buf) {
+      recordSent(metrics != null ? peekPacketId(buf) : -1, buf.readableBytes());
+    } else if (msg instanceof CompressedFrame frame) {
+      recordSent(frame.getPacketId(), frame.getUncompressedSize());
+    }
+    super.write(ctx, msg, promise);
+  }
+
   @Override
   protected void encode(ChannelHandlerContext ctx, MinecraftPacket msg, ByteBuf out) {
+    int start = out.writerIndex();
     int packetId = this.registry.getPacketId(msg);
     ProtocolUtils.writeVarInt(out, packetId);
     msg.encode(out, direction, registry.version);
+    recordSent(packetId, out.writerIndex() - start);
+  }
+
+  private void recordSent(int packetId, int packetSize) {
+    if (metrics != null) {
+      metrics.recordPacketSent(direction, state, packetId, packetSize);
+    }
+    if (traffic != null) {
+      traffic.recordSent(packetSize);
+    }
+  }
+
+  private static int peekPacketId(ByteBuf buf) {
+    int packetId = 0;
+    int maxRead = Math.min(MAXIMUM_PACKET_ID_SIZE, buf.readableBytes());
+    for (int i = 0; i < maxRead; i++) {
+      byte b = buf.getByte(buf.readerIndex() + i);
+      packetId |= (b & 0x7F) << (i * 7);
+      if ((b & 0x80) == 0) {
+        return packetId;
+      }
+    }
+    return -1;
   }
 
   public void setProtocolVersion(final ProtocolVersion protocolVersion) {
     this.registry = state.getProtocolRegistry(direction, protocolVersion);
   }
 
+  public StateRegistry getState() {
+    return state;
+  }
+
   public void setState(StateRegistry state) {
     this.state = state;
     this.setProtocolVersion(registry.version);
   }
 
+  public void setTrafficCounter(@Nullable TrafficCounter traffic) {
+    this.traffic = traffic;
+  }
+
   public ProtocolUtils.Direction getDirection() {
     return direction;
   }
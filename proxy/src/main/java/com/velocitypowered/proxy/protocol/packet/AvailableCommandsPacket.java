@@ -42,8 +42,11 @@ import com.velocitypowered.proxy.protocol.ProtocolUtils.Direction;
 import com.velocitypowered.proxy.protocol.packet.brigadier.ArgumentPropertyRegistry;
 import com.velocitypowered.proxy.util.collect.IdentityHashStrategy;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenCustomHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Deque;
@@ -67,21 +70,46 @@ public class AvailableCommandsPacket implements MinecraftPacket {
   private static final byte FLAG_HAS_SUGGESTIONS = 0x10;
 
   private @MonotonicNonNull RootCommandNode<CommandSource> rootNode;
+  private byte @Nullable [] encoded;
+  private @MonotonicNonNull ProtocolVersion encodedVersion;
 
   /**
-   * Returns the root node.
+   * Returns the root node. The received command graph is only deserialized when this method is
+   * first called.
    *
    * @return the root node
    */
   public RootCommandNode<CommandSource> getRootNode() {
     if (rootNode == null) {
-      throw new IllegalStateException("Packet not yet deserialized");
+      if (encoded == null) {
+        throw new IllegalStateException("Packet not yet deserialized");
+      }
+      rootNode = decodeGraph(Unpooled.wrappedBuffer(encoded), encodedVersion);
+      encoded = null;
     }
     return rootNode;
   }
 
+  /**
+   * Returns the command graph as it was received, if it has not been deserialized yet.
+   *
+   * @return the received command graph, or {@code null} if {@link #getRootNode()} was called
+   */
+  public @Nullable ByteBuffer getEncodedGraph() {
+    return encoded == null ? null : ByteBuffer.wrap(encoded).asReadOnlyBuffer();
+  }
+
   @Override
   public void decode(ByteBuf buf, Direction direction, ProtocolVersion protocolVersion) {
+    // Deserializing the graph is expensive and not needed if the encoded packet is cached already,
+    // so only keep the data around for now.
+    encoded = ByteBufUtil.getBytes(buf);
+    encodedVersion = protocolVersion;
+    buf.skipBytes(buf.readableBytes());
+  }
+
+  private static RootCommandNode<CommandSource> decodeGraph(ByteBuf buf,
+      ProtocolVersion protocolVersion) {
     int commands = ProtocolUtils.readVarInt(buf);
     WireNode[] wireNodes = new WireNode[commands];
     for (int i = 0; i < commands; i++) {
@@ -109,11 +137,18 @@ public class AvailableCommandsPacket implements MinecraftPacket {
     }
 
     int rootIdx = ProtocolUtils.readVarInt(buf);
-    rootNode = (RootCommandNode<CommandSource>) wireNodes[rootIdx].built;
+    return (RootCommandNode<CommandSource>) wireNodes[rootIdx].built;
   }
 
   @Override
   public void encode(ByteBuf buf, Direction direction, ProtocolVersion protocolVersion) {
+    if (encoded != null && protocolVersion == encodedVersion) {
+      // Nobody looked at the graph, so send it as it was received.
+      buf.writeBytes(encoded);
+      return;
+    }
+
+    RootCommandNode<CommandSource> rootNode = getRootNode();
     // Assign all the children an index.
     Deque<CommandNode<CommandSource>> childrenQueue = new ArrayDeque<>(ImmutableList.of(rootNode));
     Object2IntMap<CommandNode<CommandSource>> idMappings = new Object2IntLinkedOpenCustomHashMap<>(
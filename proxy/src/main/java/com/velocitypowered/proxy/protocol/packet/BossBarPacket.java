@@ -24,6 +24,8 @@ import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
 import com.velocitypowered.proxy.util.collect.Enum2IntMap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import java.util.Set;
 import java.util.UUID;
 import net.kyori.adventure.bossbar.BossBar;
@@ -69,6 +71,8 @@ public class BossBarPacket implements MinecraftPacket {
   private int color;
   private int overlay;
   private short flags;
+  private byte @Nullable [] body;
+  private @Nullable ProtocolVersion bodyVersion;
 
   public static BossBarPacket createAddPacket(
       final UUID id,
@@ -146,51 +150,63 @@ public class BossBarPacket implements MinecraftPacket {
   }
 
   public void setAction(int action) {
+    materialize();
     this.action = action;
   }
 
   public @Nullable ComponentHolder getName() {
+    materialize();
     return name;
   }
 
   public void setName(ComponentHolder name) {
+    materialize();
     this.name = name;
   }
 
   public float getPercent() {
+    materialize();
     return percent;
   }
 
   public void setPercent(float percent) {
+    materialize();
     this.percent = percent;
   }
 
   public int getColor() {
+    materialize();
     return color;
   }
 
   public void setColor(int color) {
+    materialize();
     this.color = color;
   }
 
   public int getOverlay() {
+    materialize();
     return overlay;
   }
 
   public void setOverlay(int overlay) {
+    materialize();
     this.overlay = overlay;
   }
 
   public short getFlags() {
+    materialize();
     return flags;
   }
 
   public void setFlags(short flags) {
+    materialize();
     this.flags = flags;
   }
 
   @Override
   public String toString() {
+    materialize();
     return "BossBar{"
         + "uuid=" + uuid
         + ", action=" + action
@@ -206,6 +222,26 @@ public class BossBarPacket implements MinecraftPacket {
   public void decode(ByteBuf buf, ProtocolUtils.Direction direction, ProtocolVersion version) {
     this.uuid = ProtocolUtils.readUuid(buf);
     this.action = ProtocolUtils.readVarInt(buf);
+    if (action == ADD || action == UPDATE_NAME) {
+      // The proxy only needs to know the boss bar and action of the packets it forwards, so don't
+      // deserialize the name unless somebody asks for it.
+      this.body = ByteBufUtil.getBytes(buf);
+      this.bodyVersion = version;
+      buf.skipBytes(buf.readableBytes());
+    } else {
+      decodeBody(buf, version);
+    }
+  }
+
+  private void materialize() {
+    if (body != null) {
+      ByteBuf buf = Unpooled.wrappedBuffer(body);
+      body = null;
+      decodeBody(buf, bodyVersion);
+    }
+  }
+
+  private void decodeBody(ByteBuf buf, ProtocolVersion version) {
     switch (action) {
       case ADD:
         this.name = ComponentHolder.read(buf, version);
@@ -241,6 +277,11 @@ public class BossBarPacket implements MinecraftPacket {
     }
     ProtocolUtils.writeUuid(buf, uuid);
     ProtocolUtils.writeVarInt(buf, action);
+    if (body != null && version == bodyVersion) {
+      buf.writeBytes(body);
+      return;
+    }
+    materialize();
     switch (action) {
       case ADD:
         if (name == null) {
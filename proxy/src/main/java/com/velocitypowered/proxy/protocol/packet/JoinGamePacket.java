@@ -23,6 +23,7 @@ import com.velocitypowered.proxy.connection.MinecraftSessionHandler;
 import com.velocitypowered.proxy.connection.registry.DimensionInfo;
 import com.velocitypowered.proxy.protocol.*;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.Pair;
 import net.kyori.adventure.nbt.BinaryTagIO;
 import net.kyori.adventure.nbt.CompoundBinaryTag;
@@ -30,7 +31,9 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class JoinGamePacket implements MinecraftPacket {
 
-  private static final BinaryTagIO.Reader JOINGAME_READER = BinaryTagIO.reader(4 * 1024 * 1024);
+  private static final int MAXIMUM_REGISTRY_SIZE = 4 * 1024 * 1024;
+  private static final BinaryTagIO.Reader JOINGAME_READER =
+      BinaryTagIO.reader(MAXIMUM_REGISTRY_SIZE);
   private int entityId;
   private short gamemode;
   private int dimension;
@@ -44,7 +47,9 @@ public class JoinGamePacket implements MinecraftPacket {
   private boolean showRespawnScreen;
   private boolean doLimitedCrafting; // 1.20.2+
   private ImmutableSet<String> levelNames; // 1.16+
-  private CompoundBinaryTag registry; // 1.16+
+  private byte @Nullable [] rawRegistry; // 1.16 - 1.20.1
+  private @Nullable ProtocolVersion registryVersion;
+  private @Nullable CompoundBinaryTag registry;
   private DimensionInfo dimensionInfo; // 1.16+
   private CompoundBinaryTag currentDimensionData; // 1.16.2+
   private short previousGamemode; // 1.16+
@@ -198,7 +203,17 @@ public class JoinGamePacket implements MinecraftPacket {
     this.enforcesSecureChat = enforcesSecureChat;
   }
 
-  public CompoundBinaryTag getRegistry() {
+  /**
+   * Returns the registry sent by 1.16 to 1.20.1 servers. The registry is kept in its serialized
+   * form and only parsed the first time this method is called.
+   *
+   * @return the registry, or {@code null} if the packet did not contain one
+   */
+  public @Nullable CompoundBinaryTag getRegistry() {
+    if (registry == null && rawRegistry != null) {
+      registry = ProtocolUtils.readCompoundTag(Unpooled.wrappedBuffer(rawRegistry),
+          registryVersion, JOINGAME_READER);
+    }
     return registry;
   }
 
@@ -209,7 +224,9 @@ public class JoinGamePacket implements MinecraftPacket {
         ", isHardcore=" + isHardcore + ", maxPlayers=" + maxPlayers + ", levelType='" + levelType +
         '\'' + ", viewDistance=" + viewDistance + ", reducedDebugInfo=" + reducedDebugInfo +
         ", showRespawnScreen=" + showRespawnScreen + ", doLimitedCrafting=" + doLimitedCrafting +
-        ", levelNames=" + levelNames + ", registry='" + registry + '\'' + ", dimensionInfo='" +
+        ", levelNames=" + levelNames +
+        ", registry=" + (rawRegistry == null ? "null" : rawRegistry.length + " bytes") +
+        ", dimensionInfo='" +
         dimensionInfo + '\'' + ", currentDimensionData='" + currentDimensionData + '\'' +
         ", previousGamemode=" + previousGamemode + ", simulationDistance=" + simulationDistance +
         ", lastDeathPosition='" + lastDeathPosition + '\'' + ", portalCooldown=" + portalCooldown +
@@ -274,7 +291,10 @@ public class JoinGamePacket implements MinecraftPacket {
     this.previousGamemode = buf.readByte();
 
     this.levelNames = ImmutableSet.copyOf(ProtocolUtils.readStringArray(buf));
-    this.registry = ProtocolUtils.readCompoundTag(buf, version, JOINGAME_READER);
+    // Velocity has no use for the registry itself, so it is only scanned, not parsed.
+    this.rawRegistry = ProtocolUtils.readRawCompoundTag(buf, version, MAXIMUM_REGISTRY_SIZE);
+    this.registryVersion = version;
+    this.registry = null;
     String dimensionIdentifier;
     String levelName = null;
     if (version.noLessThan(ProtocolVersion.MINECRAFT_1_16_2)
@@ -423,7 +443,7 @@ public class JoinGamePacket implements MinecraftPacket {
     buf.writeByte(previousGamemode);
 
     ProtocolUtils.writeStringArray(buf, levelNames.toArray(String[]::new));
-    ProtocolUtils.writeBinaryTag(buf, version, this.registry);
+    buf.writeBytes(this.rawRegistry);
     if (version.noLessThan(ProtocolVersion.MINECRAFT_1_16_2) && version.lessThan(ProtocolVersion.MINECRAFT_1_19)) {
       ProtocolUtils.writeBinaryTag(buf, version, currentDimensionData);
       ProtocolUtils.writeString(buf, dimensionInfo.getRegistryIdentifier());
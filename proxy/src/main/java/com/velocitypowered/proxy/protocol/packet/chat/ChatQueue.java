@@ -20,24 +20,37 @@ package com.velocitypowered.proxy.protocol.packet.chat;
 import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
-import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import io.netty.util.internal.PlatformDependent;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import java.time.Instant;
 import java.util.BitSet;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 /**
  * A precisely ordered queue which allows for outside entries into the ordered queue through
  * piggybacking timestamps.
+ *
+ * <p>Entries may be queued from any thread, but are only ever run on the event loop of the
+ * player's connection, which backend connections share. The {@link ChatState} is therefore
+ * confined to that event loop. When an entry is waiting for an asynchronous packet (for instance
+ * the result of a chat event), the queue stops draining until the packet is available, without
+ * blocking the event loop.
  */
 public class ChatQueue {
 
-  private final Object internalLock = new Object();
   private final ConnectedPlayer player;
   private final ChatState chatState = new ChatState();
-  private CompletableFuture<Void> head = CompletableFuture.completedFuture(null);
+  private final Queue<Task> tasks = PlatformDependent.newMpscQueue();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  private final Runnable drainTask = this::drain;
+
+  // Only accessed from the event loop
+  private boolean draining;
+  private boolean awaitingPacket;
 
   /**
    * Instantiates a {@link ChatQueue} for a specific {@link ConnectedPlayer}.
@@ -48,23 +61,73 @@ public class ChatQueue {
     this.player = player;
   }
 
+  private EventLoop eventLoop() {
+    return player.getConnection().eventLoop();
+  }
+
   private void queueTask(Task task) {
-    synchronized (internalLock) {
-      MinecraftConnection smc = player.ensureAndGetCurrentServer().ensureConnected();
-      head = head.thenCompose(v -> {
+    tasks.offer(task);
+    EventLoop eventLoop = eventLoop();
+    if (eventLoop.inEventLoop()) {
+      drain();
+    } else if (drainScheduled.compareAndSet(false, true)) {
+      eventLoop.execute(drainTask);
+    }
+  }
+
+  private void drain() {
+    drainScheduled.set(false);
+    if (draining) {
+      // A task queued another one, which the outer drain will pick up.
+      return;
+    }
+    draining = true;
+    try {
+      Task task;
+      while (!awaitingPacket && (task = tasks.poll()) != null) {
         try {
-          return task.update(chatState, smc).exceptionally(ignored -> null);
+          task.run(chatState);
         } catch (Throwable ignored) {
-          return CompletableFuture.completedFuture(null);
+          // A failing entry must not hold up the rest of the queue.
         }
-      });
+      }
+    } finally {
+      draining = false;
+    }
+  }
+
+  private void awaitPacket(CompletableFuture<MinecraftPacket> future, MinecraftConnection smc) {
+    if (future.isDone()) {
+      if (!future.isCompletedExceptionally()) {
+        writePacket(future.join(), smc);
+      }
+      return;
+    }
+
+    awaitingPacket = true;
+    future.whenComplete((packet, throwable) -> {
+      EventLoop eventLoop = eventLoop();
+      if (eventLoop.inEventLoop()) {
+        resume(packet, throwable, smc);
+      } else {
+        eventLoop.execute(() -> resume(packet, throwable, smc));
+      }
+    });
+  }
+
+  private void resume(@Nullable MinecraftPacket packet, @Nullable Throwable throwable,
+      MinecraftConnection smc) {
+    awaitingPacket = false;
+    if (throwable == null) {
+      writePacket(packet, smc);
     }
+    drain();
   }
 
   /**
    * Queues a packet sent from the player - all packets must wait until this processes to send their
    * packets. This maintains order on the server-level for the client insertions of commands
-   * and messages. All entries are locked through an internal object lock.
+   * and messages.
    *
    * @param nextPacket       a function mapping {@link LastSeenMessages} state to a {@link CompletableFuture} that will
    *                         provide the next-processed packet. This should include the fixed {@link LastSeenMessages}.
@@ -72,9 +135,10 @@ public class ChatQueue {
    * @param lastSeenMessages the new {@link LastSeenMessages} last seen messages to update the internal chat state.
    */
   public void queuePacket(Function<LastSeenMessages, CompletableFuture<MinecraftPacket>> nextPacket, @Nullable Instant timestamp, @Nullable LastSeenMessages lastSeenMessages) {
-    queueTask((chatState, smc) -> {
+    MinecraftConnection smc = player.ensureAndGetCurrentServer().ensureConnected();
+    queueTask(chatState -> {
       LastSeenMessages newLastSeenMessages = chatState.updateFromMessage(timestamp, lastSeenMessages);
-      return nextPacket.apply(newLastSeenMessages).thenCompose(packet -> writePacket(packet, smc));
+      awaitPacket(nextPacket.apply(newLastSeenMessages), smc);
     });
   }
 
@@ -86,35 +150,28 @@ public class ChatQueue {
    * @param <T>            the type of packet to send.
    */
   public <T extends MinecraftPacket> void queuePacket(Function<ChatState, T> packetFunction) {
-    queueTask((chatState, smc) -> {
-      T packet = packetFunction.apply(chatState);
-      return writePacket(packet, smc);
-    });
+    MinecraftConnection smc = player.ensureAndGetCurrentServer().ensureConnected();
+    queueTask(chatState -> writePacket(packetFunction.apply(chatState), smc));
   }
 
   public void handleAcknowledgement(int offset) {
-    queueTask((chatState, smc) -> {
+    MinecraftConnection smc = player.ensureAndGetCurrentServer().ensureConnected();
+    queueTask(chatState -> {
       int ackCountToForward = chatState.accumulateAckCount(offset);
       if (ackCountToForward > 0) {
-        return writePacket(new ChatAcknowledgementPacket(ackCountToForward), smc);
+        writePacket(new ChatAcknowledgementPacket(ackCountToForward), smc);
       }
-      return CompletableFuture.completedFuture(null);
     });
   }
 
-  private static <T extends MinecraftPacket> CompletableFuture<Void> writePacket(T packet, MinecraftConnection smc) {
-    return CompletableFuture.runAsync(() -> {
-      if (!smc.isClosed()) {
-        ChannelFuture future = smc.write(packet);
-        if (future != null) {
-          future.awaitUninterruptibly();
-        }
-      }
-    }, smc.eventLoop());
+  private static void writePacket(@Nullable MinecraftPacket packet, MinecraftConnection smc) {
+    if (packet != null && !smc.isClosed()) {
+      smc.write(packet);
+    }
   }
 
   private interface Task {
-    CompletableFuture<Void> update(ChatState chatState, MinecraftConnection smc);
+    void run(ChatState chatState);
   }
 
   /**
@@ -135,14 +192,16 @@ public class ChatQueue {
    *
    * Note that this is effectively unused for 1.20.5+ clients, as commands without any signature do not send 'last seen'
    * updates.
+   *
+   * <p>The state is only accessed from the event loop draining the {@link ChatQueue}.
    */
   public static class ChatState {
     private static final int MINIMUM_DELAYED_ACK_COUNT = LastSeenMessages.WINDOW_SIZE;
     private static final BitSet DUMMY_LAST_SEEN_MESSAGES = new BitSet();
 
-    public volatile Instant lastTimestamp = Instant.EPOCH;
-    private volatile BitSet lastSeenMessages = new BitSet();
-    private final AtomicInteger delayedAckCount = new AtomicInteger();
+    public Instant lastTimestamp = Instant.EPOCH;
+    private BitSet lastSeenMessages = new BitSet();
+    private int delayedAckCount;
 
     private ChatState() {
     }
@@ -154,7 +213,8 @@ public class ChatQueue {
       }
       if (lastSeenMessages != null) {
         // We held back some acknowledged messages, so flush that out now that we have a known 'last seen' state again
-        int delayedAckCount = this.delayedAckCount.getAndSet(0);
+        int delayedAckCount = this.delayedAckCount;
+        this.delayedAckCount = 0;
         this.lastSeenMessages = lastSeenMessages.getAcknowledged();
         return lastSeenMessages.offset(delayedAckCount);
       }
@@ -162,12 +222,12 @@ public class ChatQueue {
     }
 
     public int accumulateAckCount(int ackCount) {
-      int delayedAckCount = this.delayedAckCount.addAndGet(ackCount);
-      int ackCountToForward = delayedAckCount - MINIMUM_DELAYED_ACK_COUNT;
+      this.delayedAckCount += ackCount;
+      int ackCountToForward = this.delayedAckCount - MINIMUM_DELAYED_ACK_COUNT;
       if (ackCountToForward >= LastSeenMessages.WINDOW_SIZE) {
         // Because we only forward acknowledgements above the window size, we don't have to shift the previous 'last seen' state
         this.lastSeenMessages = DUMMY_LAST_SEEN_MESSAGES;
-        this.delayedAckCount.set(MINIMUM_DELAYED_ACK_COUNT);
+        this.delayedAckCount = MINIMUM_DELAYED_ACK_COUNT;
         return ackCountToForward;
       }
       return 0;
@@ -40,7 +40,8 @@ public class RegistrySyncPacket extends DeferredByteBufHolder implements Minecra
   @Override
   public void encode(ByteBuf buf, ProtocolUtils.Direction direction,
                      ProtocolVersion protocolVersion) {
-    buf.writeBytes(content());
+    ByteBuf content = content();
+    buf.writeBytes(content, content.readerIndex(), content.readableBytes());
   }
 
   @Override
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.scheduler;
+
+import com.velocitypowered.api.scheduler.TaskStatistics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the run times of scheduled tasks. Recording is lock-free, as the timings of a plugin
+ * are updated by all of its tasks at once.
+ */
+final class TaskTimings {
+
+  private final LongAdder runs = new LongAdder();
+  private final LongAdder overruns = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+  private final AtomicLongArray histogram =
+      new AtomicLongArray(TaskStatistics.HISTOGRAM_BUCKETS);
+
+  void recordRun(long nanos) {
+    runs.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulate(nanos);
+    histogram.incrementAndGet(bucket(nanos));
+  }
+
+  void recordOverrun() {
+    overruns.increment();
+  }
+
+  static int bucket(long nanos) {
+    long micros = nanos / 1000;
+    return Math.min(TaskStatistics.HISTOGRAM_BUCKETS - 1,
+        Long.SIZE - Long.numberOfLeadingZeros(micros));
+  }
+
+  TaskStatistics snapshot() {
+    List<Long> buckets = new ArrayList<>(TaskStatistics.HISTOGRAM_BUCKETS);
+    for (int i = 0; i < TaskStatistics.HISTOGRAM_BUCKETS; i++) {
+      buckets.add(histogram.get(i));
+    }
+    return new TaskStatistics(runs.sum(), overruns.sum(), Duration.ofNanos(totalNanos.sum()),
+        Duration.ofNanos(maxNanos.get()), buckets);
+  }
+}
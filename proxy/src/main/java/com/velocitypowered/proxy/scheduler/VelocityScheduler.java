@@ -20,30 +20,31 @@ package com.velocitypowered.proxy.scheduler;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginManager;
 import com.velocitypowered.api.scheduler.ScheduledTask;
 import com.velocitypowered.api.scheduler.Scheduler;
+import com.velocitypowered.api.scheduler.TaskStatistics;
 import com.velocitypowered.api.scheduler.TaskStatus;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -52,17 +53,23 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 /**
- * The Velocity "scheduler", which is actually a thin wrapper around
- * {@link ScheduledExecutorService} and a dynamically-sized {@link ExecutorService}.
- * Many plugins are accustomed to the Bukkit Scheduler model, although it is not relevant
- * in a proxy context.
+ * The Velocity "scheduler", which is actually a thin wrapper around a {@link HashedWheelTimer}
+ * and the {@link ExecutorService} of each plugin. Many plugins are accustomed to the Bukkit
+ * Scheduler model, although it is not relevant in a proxy context.
+ *
+ * <p>Plugins commonly schedule a repeating task for every player, and cancel it when the player
+ * disconnects. The hashed wheel timer makes scheduling and cancelling a task constant-time, and
+ * the tasks of each plugin are tracked in concurrent sets so that no global lock is involved.
  */
 public class VelocityScheduler implements Scheduler {
 
+  private static final long TICK_MILLIS = Long.getLong("velocity.scheduler-tick-millis", 5);
+
   private final PluginManager pluginManager;
-  private final ScheduledExecutorService timerExecutionService;
-  private final Multimap<Object, ScheduledTask> tasksByPlugin = Multimaps.synchronizedMultimap(
-      Multimaps.newSetMultimap(new IdentityHashMap<>(), HashSet::new));
+  private final HashedWheelTimer timer;
+  private final ConcurrentMap<Object, Set<VelocityTask>> tasksByPlugin =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<Object, TaskTimings> timingsByPlugin = new ConcurrentHashMap<>();
 
   /**
    * Initalizes the scheduler.
@@ -71,9 +78,9 @@ public class VelocityScheduler implements Scheduler {
    */
   public VelocityScheduler(PluginManager pluginManager) {
     this.pluginManager = pluginManager;
-    this.timerExecutionService = Executors
-        .newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
-            .setNameFormat("Velocity Task Scheduler Timer").build());
+    this.timer = new HashedWheelTimer(new ThreadFactoryBuilder().setDaemon(true)
+        .setNameFormat("Velocity Task Scheduler Timer").build(), TICK_MILLIS,
+        TimeUnit.MILLISECONDS, 512);
   }
 
   @Override
@@ -98,10 +105,16 @@ public class VelocityScheduler implements Scheduler {
   public @NonNull Collection<ScheduledTask> tasksByPlugin(@NonNull Object plugin) {
     checkNotNull(plugin, "plugin");
     checkArgument(pluginManager.fromInstance(plugin).isPresent(), "plugin is not registered");
-    final Collection<ScheduledTask> tasks = tasksByPlugin.get(plugin);
-    synchronized (tasksByPlugin) {
-      return Set.copyOf(tasks);
-    }
+    final Set<VelocityTask> tasks = tasksByPlugin.get(plugin);
+    return tasks == null ? Set.of() : Set.copyOf(tasks);
+  }
+
+  @Override
+  public @NonNull TaskStatistics statistics(@NonNull Object plugin) {
+    checkNotNull(plugin, "plugin");
+    checkArgument(pluginManager.fromInstance(plugin).isPresent(), "plugin is not registered");
+    final TaskTimings timings = timingsByPlugin.get(plugin);
+    return timings == null ? TaskStatistics.EMPTY : timings.snapshot();
   }
 
   /**
@@ -111,14 +124,12 @@ public class VelocityScheduler implements Scheduler {
    * @throws InterruptedException if the current thread was interrupted
    */
   public boolean shutdown() throws InterruptedException {
-    Collection<ScheduledTask> terminating;
-    synchronized (tasksByPlugin) {
-      terminating = ImmutableList.copyOf(tasksByPlugin.values());
-    }
-    for (ScheduledTask task : terminating) {
-      task.cancel();
+    for (final Set<VelocityTask> tasks : tasksByPlugin.values()) {
+      for (final VelocityTask task : tasks) {
+        task.cancel();
+      }
     }
-    timerExecutionService.shutdown();
+    timer.stop();
     final List<PluginContainer> plugins = new ArrayList<>(this.pluginManager.getPlugins());
     final Iterator<PluginContainer> pluginIterator = plugins.iterator();
     while (pluginIterator.hasNext()) {
@@ -203,39 +214,60 @@ public class VelocityScheduler implements Scheduler {
 
     @Override
     public ScheduledTask schedule() {
-      VelocityTask task = new VelocityTask(container, runnable, consumer, delay, repeat);
-      tasksByPlugin.put(container.getInstance().get(), task);
+      Object plugin = container.getInstance().get();
+      VelocityTask task = new VelocityTask(container, runnable, consumer, delay, repeat,
+          timingsByPlugin.computeIfAbsent(plugin, k -> new TaskTimings()));
+      tasksByPlugin.computeIfAbsent(plugin, k -> ConcurrentHashMap.newKeySet()).add(task);
       task.schedule();
       return task;
     }
   }
 
   @VisibleForTesting
-  class VelocityTask implements Runnable, ScheduledTask {
+  class VelocityTask implements TimerTask, ScheduledTask {
 
     private final PluginContainer container;
     private final Runnable runnable;
     private final Consumer<ScheduledTask> consumer;
     private final long delay;
     private final long repeat;
-    private @Nullable ScheduledFuture<?> future;
+    private final TaskTimings timings = new TaskTimings();
+    private final TaskTimings pluginTimings;
+    private final AtomicReference<TaskStatus> status =
+        new AtomicReference<>(TaskStatus.SCHEDULED);
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private long nextRunNanos;
+    private boolean overrunReported;
+    private volatile @Nullable Timeout timeout;
     private volatile @Nullable Thread currentTaskThread;
 
     private VelocityTask(PluginContainer container, Runnable runnable,
-        Consumer<ScheduledTask> consumer, long delay, long repeat) {
+        Consumer<ScheduledTask> consumer, long delay, long repeat, TaskTimings pluginTimings) {
       this.container = container;
       this.runnable = runnable;
       this.consumer = consumer;
       this.delay = delay;
       this.repeat = repeat;
+      this.pluginTimings = pluginTimings;
     }
 
     void schedule() {
-      if (repeat == 0) {
-        this.future = timerExecutionService.schedule(this, delay, TimeUnit.MILLISECONDS);
-      } else {
-        this.future = timerExecutionService
-            .scheduleAtFixedRate(this, delay, repeat, TimeUnit.MILLISECONDS);
+      nextRunNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+      if (delay == 0 && repeat == 0) {
+        // Nothing to wait for, skip the timer entirely
+        execute();
+        return;
+      }
+      scheduleTimeout(delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduleTimeout(long delay, TimeUnit unit) {
+      final Timeout timeout = timer.newTimeout(this, delay, unit);
+      this.timeout = timeout;
+      if (status.get() != TaskStatus.SCHEDULED) {
+        // The task was cancelled while the timeout was being scheduled
+        timeout.cancel();
       }
     }
 
@@ -247,28 +279,24 @@ public class VelocityScheduler implements Scheduler {
 
     @Override
     public TaskStatus status() {
-      if (future == null) {
-        return TaskStatus.SCHEDULED;
-      }
-
-      if (future.isCancelled()) {
-        return TaskStatus.CANCELLED;
-      }
-
-      if (future.isDone()) {
-        return TaskStatus.FINISHED;
-      }
+      return status.get();
+    }
 
-      return TaskStatus.SCHEDULED;
+    @Override
+    public TaskStatistics statistics() {
+      return timings.snapshot();
     }
 
     @Override
     public void cancel() {
-      if (future != null) {
-        future.cancel(false);
+      if (status.compareAndSet(TaskStatus.SCHEDULED, TaskStatus.CANCELLED)) {
+        final Timeout timeout = this.timeout;
+        if (timeout != null) {
+          timeout.cancel();
+        }
 
         Thread cur = currentTaskThread;
-        if (cur != null) {
+        if (cur != null && cur != Thread.currentThread()) {
           cur.interrupt();
         }
 
@@ -277,42 +305,93 @@ public class VelocityScheduler implements Scheduler {
     }
 
     @Override
-    public void run() {
-      container.getExecutorService().execute(() -> {
-        currentTaskThread = Thread.currentThread();
-        try {
-          if (runnable != null) {
-            runnable.run();
-          } else {
-            consumer.accept(this);
-          }
-        } catch (Throwable e) {
-          //noinspection ConstantConditions
-          if (e instanceof InterruptedException) {
-            Thread.currentThread().interrupt();
-          } else {
-            String friendlyPluginName = container.getDescription().getName()
-                .orElse(container.getDescription().getId());
-            Object unit = consumer == null ? runnable : consumer;
-            Log.logger.error("Exception in task {} by plugin {}", unit, friendlyPluginName,
-                e);
-          }
-        } finally {
-          if (repeat == 0) {
-            onFinish();
-          }
-          currentTaskThread = null;
+    public void run(Timeout timeout) {
+      if (status.get() != TaskStatus.SCHEDULED) {
+        return;
+      }
+      if (repeat != 0) {
+        // Repeat at a fixed rate, the timer thread is the only one touching nextRunNanos
+        nextRunNanos += TimeUnit.MILLISECONDS.toNanos(repeat);
+        scheduleTimeout(Math.max(0, nextRunNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+      }
+      execute();
+    }
+
+    private void execute() {
+      if (!running.compareAndSet(false, true)) {
+        // The previous run has not finished yet. Don't pile up runs on the plugin's executor.
+        recordOverrun();
+        return;
+      }
+      try {
+        container.getExecutorService().execute(this::runTask);
+      } catch (RuntimeException e) {
+        // The executor was shut down
+        running.set(false);
+        throw e;
+      }
+    }
+
+    private void runTask() {
+      currentTaskThread = Thread.currentThread();
+      final long start = System.nanoTime();
+      try {
+        if (runnable != null) {
+          runnable.run();
+        } else {
+          consumer.accept(this);
+        }
+      } catch (Throwable e) {
+        //noinspection ConstantConditions
+        if (e instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
+        } else {
+          String friendlyPluginName = container.getDescription().getName()
+              .orElse(container.getDescription().getId());
+          Object unit = consumer == null ? runnable : consumer;
+          Log.logger.error("Exception in task {} by plugin {}", unit, friendlyPluginName,
+              e);
+        }
+      } finally {
+        final long elapsed = System.nanoTime() - start;
+        timings.recordRun(elapsed);
+        pluginTimings.recordRun(elapsed);
+        currentTaskThread = null;
+        running.set(false);
+        if (repeat == 0 && status.compareAndSet(TaskStatus.SCHEDULED, TaskStatus.FINISHED)) {
+          onFinish();
         }
-      });
+      }
+    }
+
+    private void recordOverrun() {
+      timings.recordOverrun();
+      pluginTimings.recordOverrun();
+      if (!overrunReported) {
+        overrunReported = true;
+        String friendlyPluginName = container.getDescription().getName()
+            .orElse(container.getDescription().getId());
+        Object unit = consumer == null ? runnable : consumer;
+        Log.logger.warn("Task {} by plugin {} was still running when it was due to run again "
+            + "(it repeats every {} ms). Runs are skipped until it completes.", unit,
+            friendlyPluginName, repeat);
+      }
     }
 
     private void onFinish() {
-      tasksByPlugin.remove(plugin(), this);
+      final Set<VelocityTask> tasks = tasksByPlugin.get(plugin());
+      if (tasks != null) {
+        tasks.remove(this);
+      }
+      completion.complete(null);
     }
 
+    /**
+     * Waits until the task has finished or was cancelled.
+     */
     public void awaitCompletion() {
       try {
-        future.get();
+        completion.get();
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
       } catch (ExecutionException e) {
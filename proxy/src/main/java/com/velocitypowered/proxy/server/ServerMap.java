@@ -24,11 +24,13 @@ import com.velocitypowered.api.event.proxy.server.ServerUnregisteredEvent;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.util.collect.PrefixLookup;
 import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -37,7 +39,8 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class ServerMap {
 
   private final @Nullable VelocityServer server;
-  private final Map<String, RegisteredServer> servers = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<String, RegisteredServer> servers =
+      new ConcurrentSkipListMap<>();
 
   public ServerMap(@Nullable VelocityServer server) {
     this.server = server;
@@ -59,6 +62,17 @@ public class ServerMap {
     return ImmutableList.copyOf(servers.values());
   }
 
+  /**
+   * Returns the servers whose names start with the given partial name, ignoring case.
+   *
+   * @param partialName the partial name to look up
+   * @return the matching servers, ordered by name
+   */
+  public List<RegisteredServer> matchServer(String partialName) {
+    Preconditions.checkNotNull(partialName, "partialName");
+    return PrefixLookup.valuesWithPrefix(servers, partialName);
+  }
+
   /**
    * Creates a raw implementation of a {@link RegisteredServer} without tying it to the internal
    * server map.
@@ -115,6 +129,7 @@ public class ServerMap {
         "Server with name %s replaced whilst unregistering", serverInfo.getName());
 
     if (server != null) {
+      server.getMetrics().removeServerTrafficCounter(serverInfo.getName());
       server.getEventManager().fireAndForget(new ServerUnregisteredEvent(rs));
     }
   }
@@ -35,6 +35,7 @@ import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.api.proxy.server.ServerPing;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.adventure.BroadcastingAudience;
 import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
@@ -59,7 +60,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import net.kyori.adventure.audience.Audience;
-import net.kyori.adventure.audience.ForwardingAudience;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jetbrains.annotations.NotNull;
@@ -67,7 +67,7 @@ import org.jetbrains.annotations.NotNull;
 /**
  * Represents a server registered on the proxy.
  */
-public class VelocityRegisteredServer implements RegisteredServer, ForwardingAudience {
+public class VelocityRegisteredServer implements RegisteredServer, BroadcastingAudience {
 
   private final @Nullable VelocityServer server;
   private final ServerInfo serverInfo;
@@ -120,8 +120,12 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
                     ? server.getConfiguration().getReadTimeout()
                     : pingOptions.getTimeout(), TimeUnit.MILLISECONDS))
             .addLast(FRAME_ENCODER, MinecraftVarintLengthEncoder.INSTANCE)
-            .addLast(MINECRAFT_DECODER, new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND))
-            .addLast(MINECRAFT_ENCODER, new MinecraftEncoder(ProtocolUtils.Direction.SERVERBOUND));
+            .addLast(MINECRAFT_DECODER,
+                new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND,
+                    server.getTrafficMetrics()))
+            .addLast(MINECRAFT_ENCODER,
+                new MinecraftEncoder(ProtocolUtils.Direction.SERVERBOUND,
+                    server.getTrafficMetrics()));
 
         ch.pipeline().addLast(HANDLER, new MinecraftConnection(ch, server));
       }
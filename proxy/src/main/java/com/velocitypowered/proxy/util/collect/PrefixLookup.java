@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.collect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Looks up names by prefix in a sorted map keyed by names lower-cased with {@link Locale#US}, such
+ * as a {@link java.util.concurrent.ConcurrentSkipListMap}. As matching names are next to each other
+ * in the map, a lookup only costs a seek followed by a walk over the matches, however many other
+ * entries the map holds.
+ */
+public final class PrefixLookup {
+
+  private PrefixLookup() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Returns the values whose keys start with {@code prefix}, ignoring case, in key order.
+   *
+   * @param map the map to search, keyed by lower-cased names
+   * @param prefix the prefix to look for
+   * @param <V> the type of the values to return
+   * @return a mutable list of the matching values
+   */
+  public static <V> List<V> valuesWithPrefix(NavigableMap<String, ? extends V> map,
+      String prefix) {
+    String lowerPrefix = prefix.toLowerCase(Locale.US);
+    List<V> matches = new ArrayList<>();
+    for (Map.Entry<String, ? extends V> entry : map.tailMap(lowerPrefix, true).entrySet()) {
+      if (!entry.getKey().startsWith(lowerPrefix)) {
+        break;
+      }
+      matches.add(entry.getValue());
+    }
+    return matches;
+  }
+}
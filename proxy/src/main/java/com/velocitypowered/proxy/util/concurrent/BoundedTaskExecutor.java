@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.concurrent;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An executor that runs at most a fixed number of tasks at the same time on top of an executor
+ * that starts a thread for every task, such as one backed by virtual threads. Tasks submitted while
+ * the limit is reached are started right away, but wait for a running task to complete before they
+ * run.
+ *
+ * <p>Reaching the limit usually means that the submitted tasks block for a long time, so a warning
+ * is logged (at most once a minute) when it happens.
+ */
+public final class BoundedTaskExecutor extends AbstractExecutorService {
+
+  private static final Logger logger = LogManager.getLogger(BoundedTaskExecutor.class);
+  private static final long WARNING_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+  private final ExecutorService delegate;
+  private final String name;
+  private final int maxConcurrency;
+  private final Semaphore permits;
+  private final AtomicLong lastWarning;
+
+  /**
+   * Creates a new bounded executor.
+   *
+   * @param delegate the executor to run tasks on
+   * @param name the name used to identify the executor in warnings
+   * @param maxConcurrency the maximum number of tasks to run at once
+   */
+  public BoundedTaskExecutor(ExecutorService delegate, String name, int maxConcurrency) {
+    Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+    this.delegate = Preconditions.checkNotNull(delegate, "delegate");
+    this.name = Preconditions.checkNotNull(name, "name");
+    this.maxConcurrency = maxConcurrency;
+    this.permits = new Semaphore(maxConcurrency);
+    this.lastWarning = new AtomicLong(System.nanoTime() - WARNING_INTERVAL);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    Preconditions.checkNotNull(command, "command");
+    delegate.execute(() -> {
+      if (!permits.tryAcquire()) {
+        warnSaturated();
+        try {
+          permits.acquire();
+        } catch (InterruptedException e) {
+          // The executor is being shut down, don't start the task.
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+      try {
+        command.run();
+      } finally {
+        permits.release();
+      }
+    });
+  }
+
+  private void warnSaturated() {
+    long now = System.nanoTime();
+    long last = lastWarning.get();
+    if (now - last >= WARNING_INTERVAL && lastWarning.compareAndSet(last, now)) {
+      logger.warn("{} is running {} tasks at once, further tasks are waiting for them to "
+          + "complete. The tasks are likely blocking for a long time (for instance on a "
+          + "database or web request).", name, maxConcurrency);
+    }
+  }
+
+  /**
+   * Returns the number of tasks currently running.
+   *
+   * @return the number of running tasks
+   */
+  public int getActiveCount() {
+    return maxConcurrency - permits.availablePermits();
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Access to the virtual threads introduced in Java 21. Velocity is compiled against Java 17, so
+ * the API is looked up reflectively and only used when the runtime provides it.
+ *
+ * <p>Virtual threads are opt-in: they are only used when Velocity is launched with
+ * {@code -Dvelocity.virtual-threads=true} on a Java 21 or newer runtime.
+ */
+public final class VirtualThreads {
+
+  /**
+   * Whether virtual threads were requested with the {@code velocity.virtual-threads} property.
+   */
+  public static final boolean REQUESTED = Boolean.getBoolean("velocity.virtual-threads");
+
+  private static final @Nullable MethodHandle OF_VIRTUAL;
+  private static final @Nullable MethodHandle BUILDER_NAME;
+  private static final @Nullable MethodHandle BUILDER_FACTORY;
+  private static final @Nullable MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+  static {
+    MethodHandle ofVirtual = null;
+    MethodHandle builderName = null;
+    MethodHandle builderFactory = null;
+    MethodHandle newThreadPerTaskExecutor = null;
+    if (Runtime.version().feature() >= 21) {
+      try {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Class<?> builder = Class.forName("java.lang.Thread$Builder");
+        Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+        ofVirtual = lookup.findStatic(Thread.class, "ofVirtual",
+            MethodType.methodType(ofVirtualBuilder));
+        builderName = lookup.findVirtual(builder, "name",
+            MethodType.methodType(builder, String.class, long.class));
+        builderFactory = lookup.findVirtual(builder, "factory",
+            MethodType.methodType(ThreadFactory.class));
+        newThreadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+            MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+      } catch (ReflectiveOperationException e) {
+        ofVirtual = null;
+      }
+    }
+    OF_VIRTUAL = ofVirtual;
+    BUILDER_NAME = builderName;
+    BUILDER_FACTORY = builderFactory;
+    NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+  }
+
+  private VirtualThreads() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Determines whether the runtime supports virtual threads.
+   *
+   * @return {@code true} if virtual threads are available
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Determines whether virtual threads were requested and the runtime supports them.
+   *
+   * @return {@code true} if virtual threads should be used
+   */
+  public static boolean isEnabled() {
+    return REQUESTED && isSupported();
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread for each task. The threads are named
+   * {@code namePrefix} followed by an increasing counter.
+   *
+   * @param namePrefix the prefix of the thread names
+   * @return the new executor
+   * @throws UnsupportedOperationException if the runtime does not support virtual threads
+   */
+  public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+    if (!isSupported()) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+    }
+    try {
+      Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(), namePrefix, 0L);
+      ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+      return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(factory);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException("Unable to create virtual thread executor", e);
+    }
+  }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.net.InetAddresses;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Throttles new connections with token buckets kept per exact address and per subnet (/24 for
+ * IPv4, /64 for IPv6), so that a flood from rotating addresses in the same network is throttled
+ * as a whole.
+ *
+ * <p>Every {@link Action} has its own budget. {@link Action#CONNECT} is checked as soon as a
+ * connection is accepted, before its pipeline is set up, while the other actions are checked once
+ * the handshake reveals what the client wants to do. Logins from a single address are already
+ * limited by the {@code login-ratelimit} setting, so logins only have a subnet budget here, which
+ * is derived from that setting.
+ *
+ * <p>Loopback addresses, such as a Geyser instance running on the same machine, and the addresses
+ * listed in the {@code connection-throttle-exempt} setting are never throttled.
+ *
+ * <p>The buckets are implemented with the generic cell rate algorithm: each bucket is a single
+ * timestamp updated with compare-and-set, so acquiring a token never takes a lock. Buckets that
+ * have been refilled completely are removed periodically.
+ *
+ * <p>The budgets can be tuned with system properties named
+ * {@code velocity.throttle.<action>.address} and {@code velocity.throttle.<action>.subnet}, in the
+ * form {@code rate/burst} where the rate is in tokens per second. A rate of {@code 0} disables
+ * that budget.
+ */
+public final class ConnectionThrottle {
+
+  /**
+   * The actions that have separate budgets.
+   */
+  public enum Action {
+    CONNECT(Limit.of(10, 20), Limit.of(50, 200)),
+    STATUS(Limit.of(5, 10), Limit.of(25, 100)),
+    // The budgets of logins and transfers are derived from the login ratelimit
+    LOGIN(null, null),
+    TRANSFER(null, null);
+
+    private final @Nullable Limit defaultAddressLimit;
+    private final @Nullable Limit defaultSubnetLimit;
+
+    Action(@Nullable Limit defaultAddressLimit, @Nullable Limit defaultSubnetLimit) {
+      this.defaultAddressLimit = defaultAddressLimit;
+      this.defaultSubnetLimit = defaultSubnetLimit;
+    }
+  }
+
+  private static final Logger LOGGER = LogManager.getLogger(ConnectionThrottle.class);
+  private static final Action[] ACTIONS = Action.values();
+  private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+  private static final long LOG_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+  // How many logins a whole subnet may attempt in the time a single address may attempt one
+  private static final int SUBNET_LOGINS = 10;
+  private static final int SUBNET_LOGIN_BURST = 40;
+
+  private final @Nullable Limit[] addressLimits = new Limit[ACTIONS.length];
+  private final @Nullable Limit[] subnetLimits = new Limit[ACTIONS.length];
+  private final boolean enabled;
+  private final List<Exemption> exemptions;
+  private final boolean logAddresses;
+  private final LongSupplier ticker;
+  private final ConcurrentMap<InetAddress, Buckets> byAddress = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, Buckets> bySubnet4 = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, Buckets> bySubnet6 = new ConcurrentHashMap<>();
+  private final AtomicLong lastSweep;
+  private final AtomicLong lastLog;
+  private final AtomicInteger unloggedThrottles = new AtomicInteger();
+
+  /**
+   * Creates a connection throttle.
+   *
+   * @param enabled whether connections should be throttled at all
+   * @param loginRatelimit the login ratelimit in milliseconds, or {@code 0} to not throttle logins
+   * @param exemptions the addresses and subnets, in CIDR notation, that are never throttled
+   * @param logAddresses whether the addresses of throttled clients may be logged
+   * @throws IllegalArgumentException if one of the {@code exemptions} is invalid
+   */
+  public ConnectionThrottle(boolean enabled, int loginRatelimit, Collection<String> exemptions,
+      boolean logAddresses) {
+    this(enabled, parseExemptions(exemptions), logAddresses, System::nanoTime);
+    final @Nullable Limit loginSubnetLimit = loginRatelimit <= 0 ? null
+        : Limit.of(SUBNET_LOGINS * 1000.0 / loginRatelimit, SUBNET_LOGIN_BURST);
+    for (Action action : ACTIONS) {
+      final @Nullable Limit defaultSubnetLimit =
+          action == Action.LOGIN || action == Action.TRANSFER
+              ? loginSubnetLimit : action.defaultSubnetLimit;
+      String name = "velocity.throttle." + action.name().toLowerCase(Locale.ROOT);
+      addressLimits[action.ordinal()] = Limit.parse(System.getProperty(name + ".address"),
+          action.defaultAddressLimit);
+      subnetLimits[action.ordinal()] = Limit.parse(System.getProperty(name + ".subnet"),
+          defaultSubnetLimit);
+    }
+  }
+
+  @VisibleForTesting
+  ConnectionThrottle(boolean enabled, List<Exemption> exemptions, boolean logAddresses,
+      LongSupplier ticker) {
+    this.enabled = enabled;
+    this.exemptions = List.copyOf(exemptions);
+    this.logAddresses = logAddresses;
+    this.ticker = ticker;
+    final long now = ticker.getAsLong();
+    this.lastSweep = new AtomicLong(now);
+    this.lastLog = new AtomicLong(now - LOG_INTERVAL);
+  }
+
+  /**
+   * Checks that the {@code exemption} is an IP address or a subnet in CIDR notation.
+   *
+   * @param exemption the exemption to check
+   * @throws IllegalArgumentException if the exemption is invalid
+   */
+  public static void checkExemption(String exemption) {
+    Exemption.parse(exemption);
+  }
+
+  private static List<Exemption> parseExemptions(Collection<String> exemptions) {
+    final List<Exemption> parsed = new ArrayList<>(exemptions.size());
+    for (String exemption : exemptions) {
+      parsed.add(Exemption.parse(exemption));
+    }
+    return parsed;
+  }
+
+  @VisibleForTesting
+  void setLimits(Action action, @Nullable Limit address, @Nullable Limit subnet) {
+    addressLimits[action.ordinal()] = address;
+    subnetLimits[action.ordinal()] = subnet;
+  }
+
+  /**
+   * Attempts to take a token for the {@code action} from the buckets of the {@code address}.
+   *
+   * @param action the action the client attempts
+   * @param address the address of the client
+   * @return {@code true} if the client may proceed, {@code false} if it should be throttled
+   */
+  public boolean attempt(Action action, InetAddress address) {
+    Preconditions.checkNotNull(action, "action");
+    Preconditions.checkNotNull(address, "address");
+    if (!enabled || isExempt(address)) {
+      return true;
+    }
+
+    final long now = ticker.getAsLong();
+    maybeSweep(now);
+
+    final int slot = action.ordinal();
+    // Check the subnet first: an exact address entry is only created for connections that got
+    // past their subnet, so rotating addresses can't fill the map.
+    final Limit subnetLimit = subnetLimits[slot];
+    if (subnetLimit != null) {
+      final byte[] raw = address.getAddress();
+      final Buckets buckets;
+      if (address instanceof Inet4Address) {
+        long prefix = ((raw[0] & 0xFFL) << 16) | ((raw[1] & 0xFFL) << 8) | (raw[2] & 0xFFL);
+        buckets = bySubnet4.computeIfAbsent(prefix, k -> new Buckets());
+      } else {
+        long prefix = 0;
+        for (int i = 0; i < 8; i++) {
+          prefix = (prefix << 8) | (raw[i] & 0xFFL);
+        }
+        buckets = bySubnet6.computeIfAbsent(prefix, k -> new Buckets());
+      }
+      if (!buckets.tryAcquire(slot, now, subnetLimit)) {
+        logThrottled(action, address, now);
+        return false;
+      }
+    }
+
+    final Limit addressLimit = addressLimits[slot];
+    if (addressLimit != null && !byAddress.computeIfAbsent(address, k -> new Buckets())
+        .tryAcquire(slot, now, addressLimit)) {
+      logThrottled(action, address, now);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether the {@code address} is exempt from throttling, either because it is a
+   * loopback address or because it was configured to be.
+   *
+   * @param address the address of the client
+   * @return whether the client is never throttled
+   */
+  public boolean isExempt(InetAddress address) {
+    if (address.isLoopbackAddress()) {
+      return true;
+    }
+    for (Exemption exemption : exemptions) {
+      if (exemption.matches(address)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void logThrottled(Action action, InetAddress address, long now) {
+    if (!LOGGER.isDebugEnabled()) {
+      return;
+    }
+    // During a flood, log a single message every few seconds rather than one per connection
+    final long last = lastLog.get();
+    if (now - last >= LOG_INTERVAL && lastLog.compareAndSet(last, now)) {
+      LOGGER.debug("Throttled {} attempt from {} ({} more throttled since the last message)",
+          action.name().toLowerCase(Locale.ROOT), logAddresses ? address : "<ip address withheld>",
+          unloggedThrottles.getAndSet(0));
+    } else {
+      unloggedThrottles.incrementAndGet();
+    }
+  }
+
+  private void maybeSweep(long now) {
+    final long last = lastSweep.get();
+    if (now - last >= SWEEP_INTERVAL && lastSweep.compareAndSet(last, now)) {
+      byAddress.values().removeIf(buckets -> buckets.isFull(now));
+      bySubnet4.values().removeIf(buckets -> buckets.isFull(now));
+      bySubnet6.values().removeIf(buckets -> buckets.isFull(now));
+    }
+  }
+
+  @VisibleForTesting
+  int trackedBuckets() {
+    return byAddress.size() + bySubnet4.size() + bySubnet6.size();
+  }
+
+  /**
+   * The rate and burst size of a budget.
+   */
+  @VisibleForTesting
+  static final class Limit {
+
+    final long intervalNanos;
+    final long toleranceNanos;
+
+    private Limit(long intervalNanos, long toleranceNanos) {
+      this.intervalNanos = intervalNanos;
+      this.toleranceNanos = toleranceNanos;
+    }
+
+    static @Nullable Limit of(double perSecond, int burst) {
+      if (perSecond <= 0) {
+        return null;
+      }
+      Preconditions.checkArgument(burst > 0, "burst must be positive");
+      long interval = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+      return new Limit(interval, interval * (burst - 1));
+    }
+
+    static @Nullable Limit parse(@Nullable String value, @Nullable Limit defaultLimit) {
+      if (value == null) {
+        return defaultLimit;
+      }
+      int slash = value.indexOf('/');
+      try {
+        if (slash == -1) {
+          double rate = Double.parseDouble(value);
+          return of(rate, Math.max(1, (int) Math.ceil(rate)));
+        }
+        return of(Double.parseDouble(value.substring(0, slash)),
+            Integer.parseInt(value.substring(slash + 1)));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Invalid throttle budget " + value
+            + ", expected rate/burst", e);
+      }
+    }
+  }
+
+  /**
+   * An address or subnet that is never throttled.
+   */
+  @VisibleForTesting
+  static final class Exemption {
+
+    private final byte[] network;
+    private final int prefixLength;
+
+    private Exemption(byte[] network, int prefixLength) {
+      this.network = network;
+      this.prefixLength = prefixLength;
+    }
+
+    /**
+     * Parses an exemption given as an IP address, or as a subnet in CIDR notation such as
+     * {@code 10.0.0.0/8}.
+     *
+     * @param value the exemption to parse
+     * @return the parsed exemption
+     * @throws IllegalArgumentException if the exemption is invalid
+     */
+    static Exemption parse(String value) {
+      Preconditions.checkNotNull(value, "value");
+      final int slash = value.indexOf('/');
+      final byte[] network = InetAddresses.forString(slash == -1 ? value
+          : value.substring(0, slash)).getAddress();
+      final int maxPrefixLength = network.length * 8;
+      if (slash == -1) {
+        return new Exemption(network, maxPrefixLength);
+      }
+      final int prefixLength;
+      try {
+        prefixLength = Integer.parseInt(value.substring(slash + 1));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid prefix length in " + value, e);
+      }
+      Preconditions.checkArgument(prefixLength >= 0 && prefixLength <= maxPrefixLength,
+          "Invalid prefix length in %s", value);
+      return new Exemption(network, prefixLength);
+    }
+
+    boolean matches(InetAddress address) {
+      final byte[] raw = address.getAddress();
+      if (raw.length != network.length) {
+        return false;
+      }
+      final int fullBytes = prefixLength / 8;
+      for (int i = 0; i < fullBytes; i++) {
+        if (raw[i] != network[i]) {
+          return false;
+        }
+      }
+      final int remainingBits = prefixLength % 8;
+      if (remainingBits == 0) {
+        return true;
+      }
+      final int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+      return ((raw[fullBytes] ^ network[fullBytes]) & mask) == 0;
+    }
+  }
+
+  /**
+   * The buckets of a single address or subnet, one for each action. Each bucket stores the time
+   * at which it will be full again.
+   */
+  private static final class Buckets {
+
+    private final AtomicLongArray fullAt = new AtomicLongArray(ACTIONS.length);
+
+    Buckets() {
+      for (int i = 0; i < ACTIONS.length; i++) {
+        fullAt.set(i, Long.MIN_VALUE);
+      }
+    }
+
+    boolean tryAcquire(int slot, long now, Limit limit) {
+      for (;;) {
+        final long current = fullAt.get(slot);
+        final long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+        if (start - now > limit.toleranceNanos) {
+          return false;
+        }
+        if (fullAt.compareAndSet(slot, current, start + limit.intervalNanos)) {
+          return true;
+        }
+      }
+    }
+
+    boolean isFull(long now) {
+      for (int i = 0; i < ACTIONS.length; i++) {
+        long value = fullAt.get(i);
+        if (value != Long.MIN_VALUE && value - now > 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
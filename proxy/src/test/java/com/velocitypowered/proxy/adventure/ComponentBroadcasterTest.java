@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.adventure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.chat.SystemChatPacket;
+import com.velocitypowered.proxy.protocol.packet.chat.builder.ChatBuilderFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ComponentBroadcasterTest {
+
+  private static final Component MESSAGE = Component.text("Restarting in 5 minutes");
+
+  private final List<Object> written = new ArrayList<>();
+
+  @AfterEach
+  void releaseWritten() {
+    for (Object msg : written) {
+      if (msg instanceof ByteBuf buf) {
+        buf.release();
+      }
+    }
+  }
+
+  @Test
+  void encodesOncePerVersionAndLocale() {
+    MinecraftConnection first = connection(StateRegistry.PLAY);
+    MinecraftConnection second = connection(StateRegistry.PLAY);
+    MinecraftConnection other = connection(StateRegistry.PLAY);
+    Audience console = mock(Audience.class);
+
+    ComponentBroadcaster.sendMessage(List.of(
+        player(first, ProtocolVersion.MINECRAFT_1_20_3),
+        player(second, ProtocolVersion.MINECRAFT_1_20_3),
+        player(other, ProtocolVersion.MINECRAFT_1_12_2),
+        console), Identity.nil(), MESSAGE, null);
+
+    ByteBuf firstBuf = writtenTo(first, ByteBuf.class);
+    ByteBuf secondBuf = writtenTo(second, ByteBuf.class);
+    ByteBuf otherBuf = writtenTo(other, ByteBuf.class);
+    assertSame(firstBuf.unwrap(), secondBuf.unwrap());
+    assertEquals(ByteBufUtil.hexDump(firstBuf), ByteBufUtil.hexDump(secondBuf));
+    assertNotSame(firstBuf.unwrap(), otherBuf.unwrap());
+    verify(console).sendMessage(Identity.nil(), MESSAGE);
+  }
+
+  @Test
+  void writesPacketsToPlayersOutsideOfPlay() {
+    MinecraftConnection connection = connection(StateRegistry.CONFIG);
+
+    ComponentBroadcaster.sendMessage(List.of(player(connection, ProtocolVersion.MINECRAFT_1_20_3)),
+        Identity.nil(), MESSAGE, null);
+
+    SystemChatPacket packet = writtenTo(connection, SystemChatPacket.class);
+    assertEquals(MESSAGE, packet.getComponent().getComponent());
+  }
+
+  private MinecraftConnection connection(StateRegistry state) {
+    MinecraftConnection connection = mock(MinecraftConnection.class);
+    when(connection.getChannel()).thenReturn(new EmbeddedChannel());
+    when(connection.getState()).thenReturn(state);
+    return connection;
+  }
+
+  private ConnectedPlayer player(MinecraftConnection connection, ProtocolVersion version) {
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getConnection()).thenReturn(connection);
+    when(player.getProtocolVersion()).thenReturn(version);
+    when(player.getTranslationLocale()).thenReturn(Locale.US);
+    when(player.getChatBuilderFactory()).thenReturn(new ChatBuilderFactory(version));
+    when(player.createChatPacket(any(), any(), any())).thenCallRealMethod();
+    return player;
+  }
+
+  private <T> T writtenTo(MinecraftConnection connection, Class<T> type) {
+    ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+    verify(connection).delayedWrite(captor.capture());
+    written.add(captor.getValue());
+    return assertInstanceOf(type, captor.getValue());
+  }
+}
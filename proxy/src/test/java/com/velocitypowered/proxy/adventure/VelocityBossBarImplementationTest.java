@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.adventure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class VelocityBossBarImplementationTest {
+
+  private static final ProtocolVersion VERSION = ProtocolVersion.MINECRAFT_1_20_3;
+
+  @Test
+  void coalescesProgressUpdates() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    MinecraftConnection connection = mockConnection(channel);
+    BossBar bar = BossBar.bossBar(Component.empty(), 0.0f, BossBar.Color.RED,
+        BossBar.Overlay.PROGRESS);
+    VelocityBossBarImplementation impl = new VelocityBossBarImplementation(bar);
+    impl.viewerAdd(mockViewer(connection));
+
+    for (float progress = 0.1f; progress < 0.5f; progress += 0.1f) {
+      changeProgress(impl, bar, progress);
+    }
+    channel.runPendingTasks();
+
+    assertProgressSent(connection, bar.progress());
+  }
+
+  @Test
+  void schedulesProgressUpdatesAgainAfterRejection() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    Channel shutDown = mock(Channel.class);
+    EventLoop rejecting = mock(EventLoop.class);
+    when(shutDown.eventLoop()).thenReturn(rejecting);
+    doThrow(new RejectedExecutionException()).when(rejecting).execute(any());
+    MinecraftConnection connection = mockConnection(channel);
+    BossBar bar = BossBar.bossBar(Component.empty(), 0.0f, BossBar.Color.RED,
+        BossBar.Overlay.PROGRESS);
+    VelocityBossBarImplementation impl = new VelocityBossBarImplementation(bar);
+    impl.viewerAdd(mockViewer(connection));
+
+    when(connection.getChannel()).thenReturn(shutDown);
+    assertThrows(RejectedExecutionException.class, () -> changeProgress(impl, bar, 0.1f));
+
+    when(connection.getChannel()).thenReturn(channel);
+    changeProgress(impl, bar, 0.2f);
+    channel.runPendingTasks();
+
+    assertProgressSent(connection, 0.2f);
+  }
+
+  private static MinecraftConnection mockConnection(EmbeddedChannel channel) {
+    MinecraftConnection connection = mock(MinecraftConnection.class);
+    when(connection.getChannel()).thenReturn(channel);
+    when(connection.getState()).thenReturn(StateRegistry.PLAY);
+    return connection;
+  }
+
+  private static ConnectedPlayer mockViewer(MinecraftConnection connection) {
+    ConnectedPlayer viewer = mock(ConnectedPlayer.class);
+    when(viewer.getConnection()).thenReturn(connection);
+    when(viewer.getProtocolVersion()).thenReturn(VERSION);
+    when(viewer.getTranslationLocale()).thenReturn(Locale.US);
+    when(viewer.translateMessage(Component.empty())).thenReturn(Component.empty());
+    return viewer;
+  }
+
+  private static void changeProgress(VelocityBossBarImplementation impl, BossBar bar,
+      float progress) {
+    float old = bar.progress();
+    bar.progress(progress);
+    impl.bossBarProgressChanged(bar, old, progress);
+  }
+
+  private static void assertProgressSent(MinecraftConnection connection, float progress) {
+    ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+    verify(connection).delayedWrite(captor.capture());
+    ByteBuf buf = assertInstanceOf(ByteBuf.class, captor.getValue());
+    try {
+      ProtocolUtils.readVarInt(buf);
+      BossBarPacket packet = new BossBarPacket();
+      packet.decode(buf, ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+      assertEquals(BossBarPacket.UPDATE_PERCENT, packet.getAction());
+      assertEquals(progress, packet.getPercent());
+    } finally {
+      buf.release();
+    }
+  }
+}
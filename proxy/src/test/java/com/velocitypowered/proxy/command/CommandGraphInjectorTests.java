@@ -22,6 +22,9 @@ import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
 import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -32,6 +35,7 @@ import com.velocitypowered.api.command.BrigadierCommand;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.command.RawCommand;
 import com.velocitypowered.api.command.SimpleCommand;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -232,4 +236,96 @@ public class CommandGraphInjectorTests extends CommandTestSuite {
 
     assertEquals(registered, dest.getChild("foo"));
   }
+
+  @Test
+  void testInjectReflectsLaterRegistrations() {
+    manager.register(new BrigadierCommand(LiteralArgumentBuilder
+        .<CommandSource>literal("foo")
+        .build()));
+    manager.getInjector().inject(dest, source);
+    manager.register(new BrigadierCommand(LiteralArgumentBuilder
+        .<CommandSource>literal("bar")
+        .build()));
+    manager.unregister("foo");
+
+    final var next = new RootCommandNode<CommandSource>();
+    manager.getInjector().inject(next, source);
+
+    assertNull(next.getChild("foo"));
+    assertNotNull(next.getChild("bar"));
+  }
+
+  @Test
+  void testReusesFilteredNodesForSameRequirements() {
+    final var callCount = new AtomicInteger();
+    final var registered = LiteralArgumentBuilder
+        .<CommandSource>literal("hello")
+        .then(LiteralArgumentBuilder
+            .<CommandSource>literal("world")
+            .requires(source -> {
+              callCount.incrementAndGet();
+              return true;
+            }))
+        .build();
+    manager.register(new BrigadierCommand(registered));
+    manager.getInjector().inject(dest, source);
+
+    final var next = new RootCommandNode<CommandSource>();
+    manager.getInjector().inject(next, source);
+
+    // The requirements are checked again, but the nodes are filtered only once
+    assertEquals(2, callCount.get());
+    assertEquals(dest.getChild("hello"), next.getChild("hello"));
+    // Every source is given its own copy of the nodes, so they can be modified safely
+    assertNotSame(dest.getChild("hello"), next.getChild("hello"));
+    assertNotSame(dest.getChild("hello").getChild("world"),
+        next.getChild("hello").getChild("world"));
+  }
+
+  @Test
+  void testModifyingInjectedNodesDoesNotAffectOtherSources() {
+    manager.register(new BrigadierCommand(LiteralArgumentBuilder
+        .<CommandSource>literal("greet")
+        .then(LiteralArgumentBuilder
+            .<CommandSource>literal("world")
+            .then(literal("again")))
+        .build()));
+    manager.getInjector().inject(dest, source);
+
+    // As a listener of PlayerAvailableCommandsEvent would do for the first player
+    final var world = dest.getChild("greet").getChild("world");
+    world.addChild(LiteralArgumentBuilder.<CommandSource>literal("extra").build());
+    world.removeChildByName("again");
+
+    final var next = new RootCommandNode<CommandSource>();
+    manager.getInjector().inject(next, source);
+
+    final var expected = LiteralArgumentBuilder
+        .<CommandSource>literal("greet")
+        .then(LiteralArgumentBuilder
+            .<CommandSource>literal("world")
+            .then(literal("again")))
+        .build();
+    assertEquals(expected, next.getChild("greet"));
+  }
+
+  @Test
+  void testFiltersAgainForDifferentRequirements() {
+    final var permitted = new AtomicBoolean(true);
+    final var registered = LiteralArgumentBuilder
+        .<CommandSource>literal("hello")
+        .then(LiteralArgumentBuilder
+            .<CommandSource>literal("world")
+            .requires(source -> permitted.get()))
+        .build();
+    manager.register(new BrigadierCommand(registered));
+    manager.getInjector().inject(dest, source);
+    permitted.set(false);
+
+    final var next = new RootCommandNode<CommandSource>();
+    manager.getInjector().inject(next, source);
+
+    assertNotNull(dest.getChild("hello").getChild("world"));
+    assertNull(next.getChild("hello").getChild("world"));
+  }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.metrics.CacheStatistics;
+import com.velocitypowered.natives.compression.VelocityCompressor;
+import com.velocitypowered.natives.util.Natives;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.network.Connections;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
+import com.velocitypowered.proxy.protocol.netty.MinecraftCompressorAndLengthEncoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import com.velocitypowered.proxy.protocol.packet.config.RegistrySyncPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigurationDataCacheTest {
+
+  private static final ProtocolVersion VERSION = ProtocolVersion.MINECRAFT_1_20_3;
+
+  private final ConfigurationDataCache cache = new ConfigurationDataCache();
+  private EmbeddedChannel channel;
+  private MinecraftConnection connection;
+
+  @BeforeEach
+  void setUp() {
+    MinecraftEncoder encoder = new MinecraftEncoder(ProtocolUtils.Direction.CLIENTBOUND);
+    encoder.setState(StateRegistry.CONFIG);
+    encoder.setProtocolVersion(VERSION);
+    channel = new EmbeddedChannel();
+    channel.pipeline().addLast(Connections.COMPRESSION_ENCODER,
+        new MinecraftCompressorAndLengthEncoder(256, Natives.compress.get().create(6)));
+    channel.pipeline().addLast(Connections.MINECRAFT_ENCODER, encoder);
+    connection = mock(MinecraftConnection.class);
+    when(connection.getChannel()).thenReturn(channel);
+    when(connection.getProtocolVersion()).thenReturn(VERSION);
+  }
+
+  @AfterEach
+  void tearDown() {
+    channel.finishAndReleaseAll();
+    cache.shutdown();
+  }
+
+  @Test
+  void sharesCompressedData() throws Exception {
+    CompressedFrame first = cache.get(connection, registrySync(4096), 6);
+    CompressedFrame second = cache.get(connection, registrySync(4096), 6);
+    assertNotNull(first);
+    assertNotNull(second);
+    try {
+      assertSame(first.content().array(), second.content().array());
+      ByteBuf inflated;
+      try (VelocityCompressor compressor = Natives.compress.get().create(6)) {
+        inflated = second.inflate(ByteBufAllocator.DEFAULT, compressor);
+      }
+      try {
+        assertEquals(encode(registrySync(4096), second.getPacketId()),
+            ByteBufUtil.hexDump(inflated));
+      } finally {
+        inflated.release();
+      }
+    } finally {
+      first.release();
+      second.release();
+    }
+
+    CacheStatistics stats = cache.snapshot();
+    assertEquals(1, stats.hits());
+    assertEquals(1, stats.misses());
+    assertEquals(1, stats.entries());
+  }
+
+  @Test
+  void separatesCompressionLevels() throws Exception {
+    CompressedFrame fast = cache.get(connection, registrySync(4096), 1);
+    CompressedFrame best = cache.get(connection, registrySync(4096), 9);
+    assertNotNull(fast);
+    assertNotNull(best);
+    fast.release();
+    best.release();
+
+    CacheStatistics stats = cache.snapshot();
+    assertEquals(0, stats.hits());
+    assertEquals(2, stats.entries());
+  }
+
+  @Test
+  void inflatesFramesWithTheConnectionCompressor() throws Exception {
+    CompressedFrame frame = cache.get(connection, registrySync(4096), 6);
+    assertNotNull(frame);
+    assertThrows(IllegalStateException.class, () -> frame.inflate(ByteBufAllocator.DEFAULT));
+
+    // A connection with a higher threshold has to send the frame uncompressed
+    EmbeddedChannel uncompressed = new EmbeddedChannel(
+        new MinecraftCompressorAndLengthEncoder(8192, Natives.compress.get().create(6)));
+    try {
+      String expected = encode(registrySync(4096), frame.getPacketId());
+      uncompressed.writeOutbound(frame);
+      ByteBuf out = uncompressed.readOutbound();
+      try {
+        assertEquals(expected.length() / 2 + 1, ProtocolUtils.readVarInt(out));
+        assertEquals(0, ProtocolUtils.readVarInt(out));
+        assertEquals(expected, ByteBufUtil.hexDump(out));
+      } finally {
+        out.release();
+      }
+    } finally {
+      uncompressed.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  void skipsPacketsBelowThreshold() throws Exception {
+    assertNull(cache.get(connection, registrySync(16), 6));
+  }
+
+  @Test
+  void skipsConnectionsOutsideOfConfig() throws Exception {
+    channel.pipeline().get(MinecraftEncoder.class).setState(StateRegistry.PLAY);
+    assertNull(cache.get(connection, registrySync(4096), 6));
+  }
+
+  private static String encode(RegistrySyncPacket packet, int packetId) {
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      ProtocolUtils.writeVarInt(buf, packetId);
+      packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+      return ByteBufUtil.hexDump(buf);
+    } finally {
+      buf.release();
+    }
+  }
+
+  private static RegistrySyncPacket registrySync(int size) {
+    byte[] data = new byte[size];
+    Arrays.fill(data, (byte) 'r');
+    RegistrySyncPacket packet = new RegistrySyncPacket();
+    packet.replace(Unpooled.wrappedBuffer(data));
+    return packet;
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+class PingPassthroughCacheTest {
+
+  private static final PingPassthroughCache.Key KEY =
+      new PingPassthroughCache.Key(List.of("lobby"), ProtocolVersion.MINECRAFT_1_20_2);
+  private static final long TTL = TimeUnit.MINUTES.toNanos(1);
+
+  private final PingPassthroughCache cache = new PingPassthroughCache();
+  private final List<CompletableFuture<List<@Nullable ServerPing>>> pings = new ArrayList<>();
+
+  private CompletableFuture<List<@Nullable ServerPing>> ping() {
+    CompletableFuture<List<@Nullable ServerPing>> future = new CompletableFuture<>();
+    pings.add(future);
+    return future;
+  }
+
+  @Test
+  void coalescesConcurrentPings() {
+    CompletableFuture<List<@Nullable ServerPing>> first = cache.get(KEY, TTL, this::ping);
+    CompletableFuture<List<@Nullable ServerPing>> second = cache.get(KEY, TTL, this::ping);
+
+    assertEquals(1, pings.size());
+    assertSame(first, second);
+  }
+
+  @Test
+  void reusesFreshResponses() {
+    cache.get(KEY, TTL, this::ping);
+    List<@Nullable ServerPing> responses = new ArrayList<>();
+    responses.add(null);
+    pings.get(0).complete(responses);
+
+    CompletableFuture<List<@Nullable ServerPing>> cached = cache.get(KEY, TTL, this::ping);
+    assertTrue(cached.isDone());
+    assertSame(responses, cached.join());
+    assertEquals(1, pings.size());
+  }
+
+  @Test
+  void servesStaleResponsesWhileRefreshing() throws Exception {
+    long ttl = TimeUnit.MILLISECONDS.toNanos(500);
+    cache.get(KEY, ttl, this::ping);
+    List<@Nullable ServerPing> stale = List.of();
+    pings.get(0).complete(stale);
+    Thread.sleep(600);
+
+    CompletableFuture<List<@Nullable ServerPing>> result = cache.get(KEY, ttl, this::ping);
+    assertTrue(result.isDone());
+    assertSame(stale, result.join());
+    assertEquals(2, pings.size());
+  }
+
+  @Test
+  void waitsForRefreshWhenTooStale() throws Exception {
+    long ttl = TimeUnit.MILLISECONDS.toNanos(20);
+    cache.get(KEY, ttl, this::ping);
+    pings.get(0).complete(List.of());
+    Thread.sleep(60);
+
+    CompletableFuture<List<@Nullable ServerPing>> result = cache.get(KEY, ttl, this::ping);
+    assertFalse(result.isDone());
+    assertEquals(2, pings.size());
+  }
+
+  @Test
+  void disabledWithoutTtl() {
+    cache.get(KEY, 0, this::ping);
+    cache.get(KEY, 0, this::ping);
+
+    assertEquals(2, pings.size());
+  }
+
+  @Test
+  void invalidateDiscardsResponses() {
+    cache.get(KEY, TTL, this::ping);
+    pings.get(0).complete(List.of());
+    cache.invalidate();
+    cache.get(KEY, TTL, this::ping);
+
+    assertEquals(2, pings.size());
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.packet.StatusResponsePacket;
+import io.netty.buffer.ByteBuf;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+class StatusResponseCacheTest {
+
+  private final StatusResponseCache cache = new StatusResponseCache();
+
+  private static ServerPing ping(int online) {
+    return new ServerPing(new ServerPing.Version(765, "Velocity"),
+        new ServerPing.Players(online, 500, ImmutableList.of()),
+        Component.text("A Velocity Server"), null);
+  }
+
+  private static String decode(ByteBuf buf) {
+    try {
+      assertEquals(0x00, ProtocolUtils.readVarInt(buf));
+      StatusResponsePacket packet = new StatusResponsePacket();
+      packet.decode(buf, ProtocolUtils.Direction.CLIENTBOUND, ProtocolVersion.MINECRAFT_1_20_3);
+      return packet.getStatus();
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Test
+  void encodesStatusResponse() {
+    String status = decode(cache.encode(ping(10), ProtocolVersion.MINECRAFT_1_20_3));
+
+    assertTrue(status.contains("\"online\":10"), status);
+    assertTrue(status.contains("A Velocity Server"), status);
+  }
+
+  @Test
+  void reusesResponsesForEqualPings() {
+    ByteBuf first = cache.encode(ping(10), ProtocolVersion.MINECRAFT_1_20_3);
+    ByteBuf second = cache.encode(ping(10), ProtocolVersion.MINECRAFT_1_20_3);
+
+    // Reading one response must not consume the cached one
+    assertEquals(decode(first), decode(second));
+  }
+
+  @Test
+  void encodesChangedPings() {
+    String before = decode(cache.encode(ping(10), ProtocolVersion.MINECRAFT_1_20_3));
+    String after = decode(cache.encode(ping(11), ProtocolVersion.MINECRAFT_1_20_3));
+
+    assertNotEquals(before, after);
+    assertTrue(after.contains("\"online\":11"), after);
+  }
+}
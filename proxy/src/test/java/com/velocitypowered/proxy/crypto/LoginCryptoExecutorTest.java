@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.crypto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.velocitypowered.api.proxy.metrics.ExecutorStatistics;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoginCryptoExecutorTest {
+
+  private LoginCryptoExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = new LoginCryptoExecutor(1, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void completesWithTaskResult() throws Exception {
+    assertEquals("secret", executor.submit(() -> "secret").get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void propagatesTaskFailure() {
+    CompletableFuture<Object> future = executor.submit(() -> {
+      throw new IllegalStateException("bad verify token");
+    });
+
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> future.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalStateException.class, e.getCause());
+  }
+
+  @Test
+  void rejectsTasksOnceQueueIsFull() throws Exception {
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Boolean> blocked = executor.submit(() -> {
+      running.countDown();
+      return release.await(5, TimeUnit.SECONDS);
+    });
+    running.await(5, TimeUnit.SECONDS);
+    CompletableFuture<String> queued = executor.submit(() -> "queued");
+    CompletableFuture<String> rejected = executor.submit(() -> "rejected");
+
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> rejected.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(RejectedExecutionException.class, e.getCause());
+
+    release.countDown();
+    assertEquals(true, blocked.get(5, TimeUnit.SECONDS));
+    assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+
+    ExecutorStatistics statistics = executor.snapshot();
+    assertEquals(2, statistics.completed());
+    assertEquals(1, statistics.rejected());
+  }
+}
@@ -18,6 +18,8 @@
 package com.velocitypowered.proxy.event;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.reflect.TypeToken;
@@ -27,6 +29,7 @@ import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.proxy.testutil.FakePluginManager;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -140,6 +143,28 @@ public class EventTest {
     assertEquals(1, listener.result);
   }
 
+  @Test
+  void testSyncHandlersRebakedOnChange() throws Exception {
+    final AlwaysSyncListener listener = new AlwaysSyncListener();
+    final TestEvent event = new TestEvent();
+    assertFalse(eventManager.hasSubscribers(TestEvent.class));
+
+    eventManager.register(FakePluginManager.PLUGIN_A, listener);
+    try {
+      final CompletableFuture<TestEvent> future = eventManager.fire(event);
+      assertTrue(future.isDone());
+      assertSame(event, future.get());
+      eventManager.fireAndForget(event);
+      assertEquals(2, listener.result);
+    } finally {
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+    }
+
+    eventManager.fire(event).get();
+    assertEquals(2, listener.result);
+    assertFalse(eventManager.hasSubscribers(TestEvent.class));
+  }
+
   static final class AlwaysSyncListener {
 
     @MonotonicNonNull Thread thread;
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolState;
+import com.velocitypowered.api.proxy.metrics.CacheStatistics;
+import com.velocitypowered.api.proxy.metrics.ExecutorStatistics;
+import com.velocitypowered.api.proxy.metrics.PacketTraffic;
+import com.velocitypowered.api.proxy.metrics.Traffic;
+import com.velocitypowered.proxy.connection.backend.ConfigurationDataCache;
+import com.velocitypowered.proxy.crypto.LoginCryptoExecutor;
+import com.velocitypowered.proxy.network.AuthenticationClient;
+import com.velocitypowered.proxy.network.ConnectionManager;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VelocityProxyMetricsTest {
+
+  private VelocityProxyMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    ConnectionManager connectionManager = mock(ConnectionManager.class);
+    when(connectionManager.getWorkerQueueDepths()).thenReturn(List.of(3, 0));
+    when(connectionManager.getAuthenticationClient())
+        .thenReturn(new AuthenticationClient(Runnable::run, "Velocity/test"));
+    LoginCryptoExecutor loginCrypto = mock(LoginCryptoExecutor.class);
+    when(loginCrypto.snapshot()).thenReturn(new ExecutorStatistics(5, 1, 0, 0, 2, 1));
+    ConfigurationDataCache configurationData = mock(ConfigurationDataCache.class);
+    when(configurationData.snapshot()).thenReturn(new CacheStatistics(4, 1, 1, 2048));
+    metrics = new VelocityProxyMetrics(connectionManager, loginCrypto, configurationData);
+  }
+
+  @Test
+  void countsPacketsPerStateAndId() {
+    metrics.recordPacketReceived(ProtocolUtils.Direction.CLIENTBOUND, StateRegistry.PLAY, 0x25, 100);
+    metrics.recordPacketReceived(ProtocolUtils.Direction.CLIENTBOUND, StateRegistry.PLAY, 0x25, 50);
+    metrics.recordPacketSent(ProtocolUtils.Direction.CLIENTBOUND, StateRegistry.PLAY, 0x25, 150);
+    metrics.recordPacketSent(ProtocolUtils.Direction.SERVERBOUND, StateRegistry.CONFIG, 0x02, 10);
+
+    assertEquals(List.of(
+        new PacketTraffic(PacketTraffic.Direction.SERVERBOUND, ProtocolState.CONFIGURATION, 0x02,
+            new Traffic(0, 0, 1, 10)),
+        new PacketTraffic(PacketTraffic.Direction.CLIENTBOUND, ProtocolState.PLAY, 0x25,
+            new Traffic(2, 150, 1, 150))
+    ), List.copyOf(metrics.getPacketTraffic()));
+  }
+
+  @Test
+  void ignoresOutOfRangePacketIds() {
+    metrics.recordPacketReceived(ProtocolUtils.Direction.CLIENTBOUND, StateRegistry.PLAY, -1, 1);
+    metrics.recordPacketReceived(ProtocolUtils.Direction.CLIENTBOUND, StateRegistry.PLAY, 256, 1);
+
+    assertTrue(metrics.getPacketTraffic().isEmpty());
+  }
+
+  @Test
+  void forgetsRemovedServers() {
+    metrics.getServerTrafficCounter("lobby").recordReceived(10);
+    metrics.getServerTrafficCounter("factions").recordReceived(20);
+    metrics.removeServerTrafficCounter("lobby");
+
+    assertEquals(Map.of("factions", new Traffic(1, 20, 0, 0)), metrics.getServerTraffic());
+  }
+
+  @Test
+  void rendersPrometheusText() {
+    metrics.recordPacketReceived(ProtocolUtils.Direction.CLIENTBOUND, StateRegistry.PLAY, 0x0A, 42);
+    metrics.getServerTrafficCounter("lobby \"1\"").recordSent(7);
+    metrics.getCompressionCounter().record(1000, 250, System.nanoTime());
+    metrics.recordBackendFlush(true);
+    metrics.recordBackendFlush(false);
+
+    String text = PrometheusMetricsHandler.render(metrics);
+    assertTrue(text.contains("velocity_packet_bytes_received_total"
+        + "{direction=\"clientbound\",state=\"play\",packet_id=\"0x0A\"} 42\n"), text);
+    assertTrue(text.contains("velocity_server_bytes_sent_total{server=\"lobby \\\"1\\\"\"} 7\n"),
+        text);
+    assertTrue(text.contains(
+        "velocity_processing_bytes_out_total{operation=\"compression\"} 250\n"), text);
+    assertTrue(text.contains("velocity_event_loop_pending_tasks{loop=\"0\"} 3\n"), text);
+    assertTrue(text.contains("velocity_authentication_queued 0\n"), text);
+    assertTrue(text.contains("velocity_login_crypto_rejected_total 1\n"), text);
+    assertTrue(text.contains("velocity_login_crypto_queued 2\n"), text);
+    assertTrue(text.contains("velocity_configuration_data_cache_hits_total 4\n"), text);
+    assertTrue(text.contains("velocity_configuration_data_cache_bytes 2048\n"), text);
+    assertTrue(text.contains("velocity_backend_flushes_total 2\n"), text);
+    assertTrue(text.contains("velocity_backend_batch_limit_flushes_total 1\n"), text);
+  }
+}
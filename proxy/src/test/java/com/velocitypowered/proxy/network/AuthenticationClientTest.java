@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpServer;
+import com.velocitypowered.api.proxy.metrics.AuthenticationStatistics;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AuthenticationClientTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private ExecutorService executor;
+  private HttpServer sessionServer;
+  private String sessionServerUrl;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    executor = Executors.newCachedThreadPool();
+    sessionServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+        0);
+    sessionServer.setExecutor(executor);
+    sessionServer.createContext("/hasJoined", exchange -> {
+      String query = exchange.getRequestURI().getQuery();
+      if (query.contains("username=slow")) {
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      byte[] body = query.getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    sessionServer.start();
+    sessionServerUrl = "http://127.0.0.1:" + sessionServer.getAddress().getPort() + "/hasJoined";
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    sessionServer.stop(0);
+    executor.shutdownNow();
+  }
+
+  private AuthenticationClient createClient(int maximumInFlight, int maximumQueued) {
+    return new AuthenticationClient(executor, "Velocity/test", sessionServerUrl, maximumInFlight,
+        maximumQueued, Duration.ofSeconds(10));
+  }
+
+  @Test
+  void sendsRequestsToConfiguredSessionServer() throws Exception {
+    AuthenticationClient client = createClient(4, 4);
+    HttpResponse<String> response = client.hasJoined("Notch", "abc123", "127.0.0.1")
+        .get(10, TimeUnit.SECONDS);
+
+    assertEquals(200, response.statusCode());
+    assertEquals("username=Notch&serverId=abc123&ip=127.0.0.1", response.body());
+    assertEquals(new AuthenticationStatistics(1, 0, 0, 0, client.snapshot().nanos(), 0, 0),
+        client.snapshot());
+  }
+
+  @Test
+  void queuesAndRejectsRequestsOverTheLimit() throws Exception {
+    AuthenticationClient client = createClient(1, 1);
+    CompletableFuture<HttpResponse<String>> first = client.hasJoined("slow", "1", null);
+    CompletableFuture<HttpResponse<String>> second = client.hasJoined("queued", "2", null);
+    CompletableFuture<HttpResponse<String>> third = client.hasJoined("rejected", "3", null);
+
+    ExecutionException rejected = assertThrows(ExecutionException.class,
+        () -> third.get(10, TimeUnit.SECONDS));
+    assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+    assertFalse(second.isDone());
+    assertEquals(1, client.snapshot().inFlight());
+    assertEquals(1, client.snapshot().queued());
+
+    release.countDown();
+    assertEquals("username=slow&serverId=1", first.get(10, TimeUnit.SECONDS).body());
+    assertEquals("username=queued&serverId=2", second.get(10, TimeUnit.SECONDS).body());
+
+    AuthenticationStatistics statistics = client.snapshot();
+    assertEquals(2, statistics.requests());
+    assertEquals(1, statistics.rejected());
+    assertEquals(0, statistics.queued());
+  }
+}
@@ -19,10 +19,16 @@ package com.velocitypowered.proxy.protocol;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.velocitypowered.api.network.ProtocolVersion;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.kyori.adventure.nbt.BinaryTagIO;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -51,6 +57,34 @@ public class ProtocolUtilsTest {
     }
   }
 
+  @Test
+  void readsRawCompoundTag() {
+    CompoundBinaryTag tag = CompoundBinaryTag.builder()
+        .putString("name", "minecraft:overworld")
+        .putByteArray("bytes", new byte[] {1, 2, 3})
+        .putIntArray("ints", new int[] {4, 5})
+        .putLongArray("longs", new long[] {6L})
+        .put("list", ListBinaryTag.builder()
+            .add(CompoundBinaryTag.builder().putDouble("scale", 1.0).putFloat("light", 0.5f)
+                .build())
+            .build())
+        .put("nested", CompoundBinaryTag.builder().putShort("height", (short) 384)
+            .putLong("seed", 42L).putByte("natural", (byte) 1).build())
+        .build();
+    ByteBuf buf = Unpooled.buffer();
+    ProtocolUtils.writeBinaryTag(buf, ProtocolVersion.MINECRAFT_1_19, tag);
+    byte[] expected = ByteBufUtil.getBytes(buf);
+    buf.writeInt(0xCAFE);
+
+    byte[] raw = ProtocolUtils.readRawCompoundTag(buf, ProtocolVersion.MINECRAFT_1_19, 1024);
+    assertArrayEquals(expected, raw);
+    assertEquals(0xCAFE, buf.readInt());
+    assertEquals(tag, ProtocolUtils.readCompoundTag(Unpooled.wrappedBuffer(raw),
+        ProtocolVersion.MINECRAFT_1_19, BinaryTagIO.reader()));
+    assertThrows(DecoderException.class, () -> ProtocolUtils.readRawCompoundTag(
+        Unpooled.wrappedBuffer(raw), ProtocolVersion.MINECRAFT_1_19, raw.length - 1));
+  }
+
   @Test
   void testPositiveOld() {
     ByteBuf buf = Unpooled.buffer(5);
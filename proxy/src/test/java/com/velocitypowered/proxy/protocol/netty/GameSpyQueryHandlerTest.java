@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.event.query.ProxyQueryEvent;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.event.VelocityEventManager;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GameSpyQueryHandlerTest {
+
+  private static final InetSocketAddress PROXY = new InetSocketAddress(
+      InetAddress.getLoopbackAddress(), 25565);
+  private static final InetSocketAddress CLIENT = new InetSocketAddress(
+      InetAddress.getLoopbackAddress(), 50000);
+  private static final int SESSION_ID = 0x01020304;
+
+  private VelocityServer server;
+  private VelocityConfiguration configuration;
+  private EmbeddedChannel channel;
+
+  @BeforeEach
+  void setUp() {
+    configuration = mock(VelocityConfiguration.class);
+    when(configuration.getMotd()).thenReturn(Component.text("A Velocity Server"));
+    when(configuration.getQueryMap()).thenReturn("Velocity");
+    when(configuration.getShowMaxPlayers()).thenReturn(500);
+    when(configuration.getBind()).thenReturn(PROXY);
+    when(configuration.getQueryCacheTtl()).thenReturn(60_000);
+
+    Player player = mock(Player.class);
+    when(player.getUsername()).thenReturn("Notch");
+    server = mock(VelocityServer.class);
+    when(server.getConfiguration()).thenReturn(configuration);
+    when(server.getEventManager()).thenReturn(mock(VelocityEventManager.class));
+    when(server.getPlayerCount()).thenReturn(1);
+    when(server.getAllPlayers()).thenReturn(List.of(player));
+
+    channel = new EmbeddedChannel(new GameSpyQueryHandler(server));
+  }
+
+  @AfterEach
+  void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  private ByteBuf query(byte type, int... payload) {
+    ByteBuf request = Unpooled.buffer();
+    request.writeByte(0xFE);
+    request.writeByte(0xFD);
+    request.writeByte(type);
+    request.writeInt(SESSION_ID);
+    for (int value : payload) {
+      request.writeInt(value);
+    }
+    channel.writeInbound(new DatagramPacket(request, PROXY, CLIENT));
+    channel.runPendingTasks();
+    DatagramPacket response = channel.readOutbound();
+    assertEquals(CLIENT, response.recipient());
+    ByteBuf content = response.content();
+    assertEquals(type, content.readByte());
+    assertEquals(SESSION_ID, content.readInt());
+    return content;
+  }
+
+  private int handshake() {
+    ByteBuf response = query((byte) 0x09);
+    String token = response.toString(response.readerIndex(), response.readableBytes() - 1,
+        StandardCharsets.ISO_8859_1);
+    response.release();
+    return Integer.parseInt(token);
+  }
+
+  @Test
+  void reusesFullStatResponse() {
+    int token = handshake();
+    ByteBuf first = query((byte) 0x00, token, 0);
+    ByteBuf second = query((byte) 0x00, token, 0);
+    try {
+      assertTrue(ByteBufUtil.equals(first, second));
+      String body = first.toString(StandardCharsets.ISO_8859_1);
+      assertTrue(body.contains("A Velocity Server"));
+      assertTrue(body.contains("Notch"));
+    } finally {
+      first.release();
+      second.release();
+    }
+
+    // The basic response is built from the same cached data.
+    query((byte) 0x00, token).release();
+    verify(server, times(1)).getAllPlayers();
+  }
+
+  @Test
+  void rebuildsWithoutCache() {
+    when(configuration.getQueryCacheTtl()).thenReturn(0);
+    int token = handshake();
+    query((byte) 0x00, token, 0).release();
+    query((byte) 0x00, token, 0).release();
+    verify(server, times(2)).getAllPlayers();
+  }
+
+  @Test
+  void firesEventWhenSubscribed() {
+    when(server.getEventManager().hasSubscribers(ProxyQueryEvent.class)).thenReturn(true);
+    when(server.getEventManager().fire(any(ProxyQueryEvent.class)))
+        .thenAnswer(invocation -> {
+          ProxyQueryEvent event = invocation.getArgument(0);
+          event.setResponse(event.getResponse().toBuilder().map("Changed").build());
+          return CompletableFuture.completedFuture(event);
+        });
+    int token = handshake();
+    ByteBuf response = query((byte) 0x00, token);
+    try {
+      assertTrue(response.toString(StandardCharsets.ISO_8859_1).contains("Changed"));
+    } finally {
+      response.release();
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.packet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+class AvailableCommandsPacketTest {
+
+  private static final ProtocolVersion VERSION = ProtocolVersion.MINECRAFT_1_20_2;
+
+  private static ByteBuf graph() {
+    ByteBuf buf = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(buf, 2);
+    // The root node, with the literal as its only child
+    buf.writeByte(0x00);
+    ProtocolUtils.writeVarInt(buf, 1);
+    ProtocolUtils.writeVarInt(buf, 1);
+    // An executable literal without children
+    buf.writeByte(0x01 | 0x04);
+    ProtocolUtils.writeVarInt(buf, 0);
+    ProtocolUtils.writeString(buf, "hello");
+    // The index of the root node
+    ProtocolUtils.writeVarInt(buf, 0);
+    return buf;
+  }
+
+  private static AvailableCommandsPacket decode(ByteBuf buf) {
+    AvailableCommandsPacket packet = new AvailableCommandsPacket();
+    packet.decode(buf, ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+    assertEquals(0, buf.readableBytes());
+    return packet;
+  }
+
+  @Test
+  void forwardsUntouchedGraphAsReceived() {
+    ByteBuf received = graph();
+    AvailableCommandsPacket packet = decode(received.duplicate());
+    assertNotNull(packet.getEncodedGraph());
+
+    ByteBuf sent = Unpooled.buffer();
+    packet.encode(sent, ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+    assertEquals(ByteBufUtil.hexDump(received), ByteBufUtil.hexDump(sent));
+  }
+
+  @Test
+  void deserializesGraphOnDemand() {
+    AvailableCommandsPacket packet = decode(graph());
+
+    assertNotNull(packet.getRootNode().getChild("hello"));
+    assertNull(packet.getEncodedGraph());
+
+    ByteBuf sent = Unpooled.buffer();
+    packet.encode(sent, ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+    assertNotNull(decode(sent).getRootNode().getChild("hello"));
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.packet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.util.UUID;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+class BossBarPacketTest {
+
+  private static final ProtocolVersion VERSION = ProtocolVersion.MINECRAFT_1_20_3;
+  private static final UUID ID = new UUID(1, 2);
+  private static final Component NAME = Component.text("Event ends in 04:59");
+
+  private static ByteBuf encode(BossBarPacket packet) {
+    ByteBuf buf = Unpooled.buffer();
+    packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+    return buf;
+  }
+
+  private static BossBarPacket decode(ByteBuf buf) {
+    BossBarPacket packet = new BossBarPacket();
+    packet.decode(buf, ProtocolUtils.Direction.CLIENTBOUND, VERSION);
+    assertEquals(0, buf.readableBytes());
+    return packet;
+  }
+
+  private static BossBarPacket addPacket() {
+    return BossBarPacket.createAddPacket(ID,
+        BossBar.bossBar(NAME, 0.5f, BossBar.Color.RED, BossBar.Overlay.NOTCHED_10),
+        new ComponentHolder(VERSION, NAME));
+  }
+
+  @Test
+  void forwardsUntouchedPacketAsReceived() {
+    ByteBuf received = encode(addPacket());
+    BossBarPacket packet = decode(received.duplicate());
+
+    assertEquals(ID, packet.getUuid());
+    assertEquals(BossBarPacket.ADD, packet.getAction());
+    assertEquals(ByteBufUtil.hexDump(received), ByteBufUtil.hexDump(encode(packet)));
+  }
+
+  @Test
+  void decodesNameOnDemand() {
+    BossBarPacket packet = decode(encode(addPacket()));
+
+    assertEquals(NAME, packet.getName().getComponent());
+    assertEquals(0.5f, packet.getPercent());
+    assertEquals(2, packet.getColor());
+    assertEquals(2, packet.getOverlay());
+  }
+
+  @Test
+  void encodesModifiedPacket() {
+    BossBarPacket packet = decode(encode(addPacket()));
+    packet.setPercent(0.25f);
+
+    BossBarPacket reencoded = decode(encode(packet));
+    assertEquals(0.25f, reencoded.getPercent());
+    assertEquals(NAME, reencoded.getName().getComponent());
+  }
+}
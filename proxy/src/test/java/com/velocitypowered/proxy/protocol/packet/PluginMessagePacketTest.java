@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.packet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.velocitypowered.api.event.connection.PluginMessageEvent;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.messages.ChannelMessageSink;
+import com.velocitypowered.api.proxy.messages.ChannelMessageSource;
+import com.velocitypowered.api.proxy.messages.MinecraftChannelIdentifier;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class PluginMessagePacketTest {
+
+  private static final ProtocolVersion VERSION = ProtocolVersion.MINECRAFT_1_20_3;
+  private static final MinecraftChannelIdentifier CHANNEL =
+      MinecraftChannelIdentifier.create("velocity", "test");
+
+  private static ByteBuf received(int payload) {
+    ByteBuf buf = PooledByteBufAllocator.DEFAULT.heapBuffer();
+    ProtocolUtils.writeString(buf, CHANNEL.getId());
+    buf.writeInt(payload);
+    buf.writeInt(payload);
+    return buf;
+  }
+
+  @Test
+  void eventRejectsReadsOncePayloadSliceIsRecycled() {
+    ByteBuf first = received(1);
+    PluginMessagePacket packet = new PluginMessagePacket();
+    packet.decode(first, ProtocolUtils.Direction.SERVERBOUND, VERSION);
+    first.release();
+
+    AtomicBoolean released = new AtomicBoolean();
+    PluginMessageEvent event = new PluginMessageEvent(mock(ChannelMessageSource.class),
+        mock(ChannelMessageSink.class), CHANNEL, packet.content().nioBuffer(), released::get);
+    ByteArrayDataInput in = event.dataAsDataStream();
+    assertEquals(1, in.readInt());
+
+    released.set(true);
+    packet.release();
+
+    // The released slice goes back to the recycler, and the next retained slice may be the very
+    // same object with a fresh reference count.
+    ByteBuf second = received(2);
+    PluginMessagePacket next = new PluginMessagePacket();
+    next.decode(second, ProtocolUtils.Direction.SERVERBOUND, VERSION);
+    try {
+      IllegalStateException thrown = assertThrows(IllegalStateException.class, in::readInt);
+      assertTrue(thrown.getMessage().contains("released"));
+      assertThrows(IllegalStateException.class, event::dataAsDataStream);
+    } finally {
+      next.release();
+      second.release();
+    }
+  }
+}
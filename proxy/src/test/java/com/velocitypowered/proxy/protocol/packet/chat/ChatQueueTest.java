@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.packet.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChatQueueTest {
+
+  private final List<MinecraftPacket> written = new ArrayList<>();
+  private EmbeddedChannel channel;
+  private ChatQueue queue;
+
+  @BeforeEach
+  void setUp() {
+    channel = new EmbeddedChannel();
+    MinecraftConnection clientConnection = mock(MinecraftConnection.class);
+    when(clientConnection.eventLoop()).thenReturn(channel.eventLoop());
+    MinecraftConnection serverConnection = mock(MinecraftConnection.class);
+    when(serverConnection.write(any())).thenAnswer(invocation -> {
+      written.add(invocation.getArgument(0));
+      return null;
+    });
+    VelocityServerConnection server = mock(VelocityServerConnection.class);
+    when(server.ensureConnected()).thenReturn(serverConnection);
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getConnection()).thenReturn(clientConnection);
+    when(player.ensureAndGetCurrentServer()).thenReturn(server);
+    queue = new ChatQueue(player);
+  }
+
+  @AfterEach
+  void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void waitsForPendingPackets() {
+    CompletableFuture<MinecraftPacket> pending = new CompletableFuture<>();
+    MinecraftPacket first = new ChatAcknowledgementPacket(1);
+    MinecraftPacket second = new ChatAcknowledgementPacket(2);
+    queue.queuePacket(lastSeen -> pending, null, null);
+    queue.queuePacket(chatState -> second);
+    assertEquals(List.of(), written);
+
+    pending.complete(first);
+    assertEquals(List.of(first, second), written);
+  }
+
+  @Test
+  void skipsFailedPackets() {
+    MinecraftPacket packet = new ChatAcknowledgementPacket(1);
+    queue.queuePacket(lastSeen -> CompletableFuture.failedFuture(new IllegalStateException()),
+        null, null);
+    queue.queuePacket(lastSeen -> {
+      throw new IllegalStateException();
+    }, null, null);
+    queue.queuePacket(chatState -> packet);
+    assertEquals(List.of(packet), written);
+  }
+
+  @Test
+  void updatesChatStateInOrder() {
+    Instant timestamp = Instant.ofEpochSecond(1_700_000_000L);
+    CompletableFuture<MinecraftPacket> pending = new CompletableFuture<>();
+    List<Instant> timestamps = new ArrayList<>();
+    queue.queuePacket(lastSeen -> pending, timestamp, null);
+    queue.queuePacket(chatState -> {
+      timestamps.add(chatState.lastTimestamp);
+      return null;
+    });
+    pending.complete(null);
+    assertEquals(List.of(timestamp), timestamps);
+    assertEquals(List.of(), written);
+  }
+
+  @Test
+  void holdsBackAcknowledgements() {
+    queue.handleAcknowledgement(LastSeenMessages.WINDOW_SIZE);
+    queue.handleAcknowledgement(LastSeenMessages.WINDOW_SIZE - 1);
+    assertEquals(List.of(), written);
+
+    queue.handleAcknowledgement(1);
+    assertEquals(1, written.size());
+    ChatAcknowledgementPacket ack = (ChatAcknowledgementPacket) written.get(0);
+    assertEquals(LastSeenMessages.WINDOW_SIZE, ack.offset());
+
+    List<Integer> offsets = new ArrayList<>();
+    queue.queuePacket(lastSeen -> {
+      offsets.add(lastSeen.getOffset());
+      return CompletableFuture.completedFuture(null);
+    }, null, new LastSeenMessages(2, new BitSet()));
+    assertEquals(List.of(LastSeenMessages.WINDOW_SIZE + 2), offsets);
+  }
+}
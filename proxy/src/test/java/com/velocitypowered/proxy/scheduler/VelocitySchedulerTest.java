@@ -18,8 +18,10 @@
 package com.velocitypowered.proxy.scheduler;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.velocitypowered.api.scheduler.ScheduledTask;
+import com.velocitypowered.api.scheduler.TaskStatistics;
 import com.velocitypowered.api.scheduler.TaskStatus;
 import com.velocitypowered.proxy.scheduler.VelocityScheduler.VelocityTask;
 import com.velocitypowered.proxy.testutil.FakePluginManager;
@@ -133,4 +135,47 @@ class VelocitySchedulerTest {
 
   }
 
+  @Test
+  void recordsStatistics() throws Exception {
+    VelocityScheduler scheduler = new VelocityScheduler(new FakePluginManager());
+    ScheduledTask task = scheduler.buildTask(FakePluginManager.PLUGIN_A, () -> { })
+        .schedule();
+    ((VelocityTask) task).awaitCompletion();
+
+    TaskStatistics statistics = task.statistics();
+    assertEquals(1, statistics.runs());
+    assertEquals(0, statistics.overruns());
+    assertEquals(1, statistics.runTimeHistogram().stream().mapToLong(Long::longValue).sum());
+    assertEquals(1, scheduler.statistics(FakePluginManager.PLUGIN_A).runs());
+    assertEquals(TaskStatistics.EMPTY, scheduler.statistics(FakePluginManager.PLUGIN_B));
+  }
+
+  @Test
+  void detectsOverruns() throws Exception {
+    VelocityScheduler scheduler = new VelocityScheduler(new FakePluginManager());
+    CountDownLatch runningLatch = new CountDownLatch(1);
+    CountDownLatch endingLatch = new CountDownLatch(1);
+    AtomicInteger runs = new AtomicInteger();
+
+    ScheduledTask task = scheduler.buildTask(FakePluginManager.PLUGIN_A, () -> {
+      runs.incrementAndGet();
+      runningLatch.countDown();
+      try {
+        endingLatch.await();
+      } catch (InterruptedException ignored) {
+        Thread.currentThread().interrupt();
+      }
+    }).repeat(5, TimeUnit.MILLISECONDS)
+        .schedule();
+
+    runningLatch.await();
+    Thread.sleep(50);
+    task.cancel();
+    endingLatch.countDown();
+
+    assertEquals(1, runs.get());
+    assertTrue(task.statistics().overruns() > 0);
+    assertTrue(scheduler.statistics(FakePluginManager.PLUGIN_A).overruns() > 0);
+  }
+
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.proxy.server.ServerMap;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
@@ -61,4 +62,20 @@ class ServerMapTest {
     RegisteredServer connection = map.register(info);
     assertEquals(connection, map.register(info));
   }
-}
\ No newline at end of file
+
+  @Test
+  void matchesServersByPrefix() {
+    ServerMap map = new ServerMap(null);
+    RegisteredServer lobby = map.register(new ServerInfo("Lobby", TEST_ADDRESS));
+    RegisteredServer lobby2 = map.register(new ServerInfo("lobby2", TEST_ADDRESS));
+    RegisteredServer survival = map.register(new ServerInfo("Survival", TEST_ADDRESS));
+    map.register(new ServerInfo("Lob", TEST_ADDRESS));
+    map.register(new ServerInfo("Loc", TEST_ADDRESS));
+
+    assertEquals(List.of(lobby, lobby2), map.matchServer("LOBB"));
+    assertEquals(List.of(lobby2), map.matchServer("lobby2"));
+    assertEquals(List.of(survival), map.matchServer("s"));
+    assertEquals(List.of(), map.matchServer("lobby3"));
+    assertEquals(5, map.matchServer("").size());
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the proper functionality of {@code BoundedTaskExecutor}.
+ */
+public class BoundedTaskExecutorTest {
+
+  @Test
+  void limitsConcurrentTasks() throws Exception {
+    ExecutorService delegate = Executors.newCachedThreadPool();
+    BoundedTaskExecutor executor = new BoundedTaskExecutor(delegate, "Test executor", 2);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(2);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    AtomicInteger completed = new AtomicInteger();
+
+    try {
+      for (int i = 0; i < 6; i++) {
+        executor.execute(() -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          running.decrementAndGet();
+          completed.incrementAndGet();
+        });
+      }
+
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      assertEquals(2, executor.getActiveCount());
+      release.countDown();
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+      assertEquals(6, completed.get());
+      assertEquals(2, maxRunning.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void runsOnVirtualThreadsWhenSupported() throws Exception {
+    assumeTrue(VirtualThreads.isSupported(), "Virtual threads require Java 21");
+    ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("Test virtual #");
+    try {
+      Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+      assertTrue(thread.getName().startsWith("Test virtual #"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.proxy.util.ratelimit.ConnectionThrottle.Action;
+import com.velocitypowered.proxy.util.ratelimit.ConnectionThrottle.Exemption;
+import com.velocitypowered.proxy.util.ratelimit.ConnectionThrottle.Limit;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ConnectionThrottleTest {
+
+  private final AtomicLong time = new AtomicLong(System.nanoTime());
+
+  private ConnectionThrottle createThrottle(Limit address, Limit subnet) {
+    return createThrottle(address, subnet, List.of());
+  }
+
+  private ConnectionThrottle createThrottle(Limit address, Limit subnet,
+      List<Exemption> exemptions) {
+    ConnectionThrottle throttle = new ConnectionThrottle(true, exemptions, false, time::get);
+    for (Action action : Action.values()) {
+      throttle.setLimits(action, null, null);
+    }
+    throttle.setLimits(Action.LOGIN, address, subnet);
+    return throttle;
+  }
+
+  @Test
+  void allowsBurstThenRefills() throws UnknownHostException {
+    ConnectionThrottle throttle = createThrottle(Limit.of(1, 3), null);
+    InetAddress address = InetAddress.getByName("192.0.2.1");
+    assertTrue(throttle.attempt(Action.LOGIN, address));
+    assertTrue(throttle.attempt(Action.LOGIN, address));
+    assertTrue(throttle.attempt(Action.LOGIN, address));
+    assertFalse(throttle.attempt(Action.LOGIN, address));
+
+    time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertTrue(throttle.attempt(Action.LOGIN, address));
+    assertFalse(throttle.attempt(Action.LOGIN, address));
+  }
+
+  @Test
+  void budgetsAreSeparatePerAction() throws UnknownHostException {
+    ConnectionThrottle throttle = createThrottle(Limit.of(1, 1), null);
+    throttle.setLimits(Action.STATUS, Limit.of(1, 1), null);
+    InetAddress address = InetAddress.getByName("192.0.2.1");
+    assertTrue(throttle.attempt(Action.LOGIN, address));
+    assertFalse(throttle.attempt(Action.LOGIN, address));
+    assertTrue(throttle.attempt(Action.STATUS, address));
+    assertTrue(throttle.attempt(Action.TRANSFER, address));
+  }
+
+  @Test
+  void throttlesIpv4Subnets() throws UnknownHostException {
+    ConnectionThrottle throttle = createThrottle(Limit.of(1, 1), Limit.of(1, 2));
+    assertTrue(throttle.attempt(Action.LOGIN, InetAddress.getByName("192.0.2.1")));
+    assertTrue(throttle.attempt(Action.LOGIN, InetAddress.getByName("192.0.2.2")));
+    assertFalse(throttle.attempt(Action.LOGIN, InetAddress.getByName("192.0.2.3")));
+    assertTrue(throttle.attempt(Action.LOGIN, InetAddress.getByName("198.51.100.1")));
+  }
+
+  @Test
+  void throttlesRotatingIpv6Addresses() throws UnknownHostException {
+    ConnectionThrottle throttle = createThrottle(Limit.of(1, 1), Limit.of(1, 2));
+    assertTrue(throttle.attempt(Action.LOGIN, InetAddress.getByName("2001:db8:0:1::1")));
+    assertTrue(throttle.attempt(Action.LOGIN, InetAddress.getByName("2001:db8:0:1::2")));
+    for (int i = 3; i < 100; i++) {
+      assertFalse(throttle.attempt(Action.LOGIN,
+          InetAddress.getByName("2001:db8:0:1::" + Integer.toHexString(i))));
+    }
+    assertTrue(throttle.attempt(Action.LOGIN, InetAddress.getByName("2001:db8:0:2::1")));
+    // Only the addresses that got past their subnet are tracked
+    assertEquals(5, throttle.trackedBuckets());
+  }
+
+  @Test
+  void removesFullBuckets() throws UnknownHostException {
+    ConnectionThrottle throttle = createThrottle(Limit.of(1, 1), Limit.of(1, 1));
+    assertTrue(throttle.attempt(Action.LOGIN, InetAddress.getByName("192.0.2.1")));
+    assertEquals(2, throttle.trackedBuckets());
+
+    time.addAndGet(TimeUnit.MINUTES.toNanos(1));
+    assertTrue(throttle.attempt(Action.LOGIN, InetAddress.getByName("198.51.100.1")));
+    assertEquals(2, throttle.trackedBuckets());
+  }
+
+  @Test
+  void exemptsLoopbackAndConfiguredAddresses() throws UnknownHostException {
+    ConnectionThrottle throttle = createThrottle(Limit.of(1, 1), null,
+        List.of(Exemption.parse("198.51.100.0/22"), Exemption.parse("2001:db8::1")));
+    for (String exempt : List.of("127.0.0.1", "::1", "198.51.100.1", "198.51.103.255",
+        "2001:db8::1")) {
+      InetAddress address = InetAddress.getByName(exempt);
+      for (int i = 0; i < 10; i++) {
+        assertTrue(throttle.attempt(Action.LOGIN, address), exempt);
+      }
+    }
+
+    InetAddress outside = InetAddress.getByName("198.51.104.1");
+    assertTrue(throttle.attempt(Action.LOGIN, outside));
+    assertFalse(throttle.attempt(Action.LOGIN, outside));
+  }
+
+  @Test
+  void parsesExemptions() throws UnknownHostException {
+    assertTrue(Exemption.parse("10.0.0.0/8").matches(InetAddress.getByName("10.1.2.3")));
+    assertFalse(Exemption.parse("10.0.0.0/8").matches(InetAddress.getByName("11.0.0.1")));
+    assertTrue(Exemption.parse("0.0.0.0/0").matches(InetAddress.getByName("192.0.2.1")));
+    assertFalse(Exemption.parse("0.0.0.0/0").matches(InetAddress.getByName("2001:db8::1")));
+    assertThrows(IllegalArgumentException.class, () -> Exemption.parse("10.0.0.0/33"));
+    assertThrows(IllegalArgumentException.class, () -> Exemption.parse("10.0.0.0/x"));
+    assertThrows(IllegalArgumentException.class, () -> Exemption.parse("example.com"));
+  }
+
+  @Test
+  void loginBudgetFollowsLoginRatelimit() throws UnknownHostException {
+    InetAddress address = InetAddress.getByName("192.0.2.1");
+    ConnectionThrottle disabled = new ConnectionThrottle(true, 0, List.of(), false);
+    for (int i = 0; i < 100; i++) {
+      assertTrue(disabled.attempt(Action.LOGIN, address));
+    }
+
+    ConnectionThrottle throttle = new ConnectionThrottle(true, 3000, List.of(), false);
+    boolean throttled = false;
+    for (int i = 0; i < 100 && !throttled; i++) {
+      throttled = !throttle.attempt(Action.LOGIN, address);
+    }
+    assertTrue(throttled);
+  }
+
+  @Test
+  void parsesLimits() {
+    Limit limit = Limit.parse("4/10", null);
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(250), limit.intervalNanos);
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(250) * 9, limit.toleranceNanos);
+    assertNull(Limit.parse("0", Limit.of(1, 1)));
+    assertThrows(IllegalArgumentException.class, () -> Limit.parse("fast", null));
+  }
+}